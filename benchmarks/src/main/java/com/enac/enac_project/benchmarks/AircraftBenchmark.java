@@ -0,0 +1,100 @@
+package com.enac.enac_project.benchmarks;
+
+import com.enac.enac_project.model.Aircraft;
+import com.enac.enac_project.model.FleetState;
+import com.enac.enac_project.model.RunwayModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of moving aircraft by one physics step, one object at a time and in bulk.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AircraftBenchmark {
+    private static final double DT = 0.005;  // 200 Hz physics
+    private static final double LEG_LENGTH = 4000;  // Distance flown before the aircraft is put back at its start
+    private static final double TILE_MARGIN = 2000;  // Tiles preloaded around the leg, for the prefetch ahead
+
+    @Param({"1000"})
+    private int fleetSize;
+
+    private Aircraft aircraft;
+    private FleetState fleet;
+    private double startX;
+    private double startZ;
+
+    @Setup(Level.Trial)
+    public void createAircraft() {
+        aircraft = new Aircraft();
+        fleet = new FleetState(aircraft.getRunwayModel(), fleetSize);
+        startX = aircraft.getX();
+        startZ = aircraft.getZ();
+
+        // Loads the ground under the leg, so that iterations measure the physics rather than the tile generation
+        RunwayModel runway = aircraft.getRunwayModel();
+        double endX = startX + LEG_LENGTH * runway.getAxisX();
+        double endZ = startZ + LEG_LENGTH * runway.getAxisZ();
+        aircraft.getApproach().getGround().getHeightmap().preload(
+                Math.min(startX, endX) - TILE_MARGIN, Math.min(startZ, endZ) - TILE_MARGIN,
+                Math.max(startX, endX) + TILE_MARGIN, Math.max(startZ, endZ) + TILE_MARGIN);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetState() {
+        rewind();
+        fleet.clear();
+        for (int i = 0; i < fleetSize; i++) {
+            fleet.add(i * 10, -250, -7000 + i, 50, 0, 0, 0);
+        }
+    }
+
+    @Benchmark
+    public double updatePosition() {
+        aircraft.updatePosition(DT);
+        return rewindIfFar();
+    }
+
+    @Benchmark
+    public double updatePositionReferenceTick() {
+        aircraft.updatePosition();
+        return rewindIfFar();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public double fleetStep() {
+        fleet.step(DT);
+        return fleet.getZ(0);
+    }
+
+    // Keeps the aircraft airborne, at speed and over the preloaded ground for the whole iteration
+    private void rewind() {
+        aircraft.reset();
+        aircraft.setSpeed(50);
+    }
+
+    private double rewindIfFar() {
+        double z = aircraft.getZ();
+        if (Math.abs(aircraft.getX() - startX) + Math.abs(z - startZ) > LEG_LENGTH) {
+            rewind();
+        }
+        return z;
+    }
+}
@@ -0,0 +1,123 @@
+package com.enac.enac_project.benchmarks;
+
+import com.enac.enac_project.model.Aircraft;
+import com.enac.enac_project.model.GlidePath;
+import com.enac.enac_project.model.GuidanceResult;
+import com.enac.enac_project.model.ILS;
+import com.enac.enac_project.model.Localizer;
+import com.enac.enac_project.model.Markers;
+import com.enac.enac_project.model.Papi;
+import com.enac.enac_project.model.Vector3D;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the navigation aid computations evaluated on every tick, both one instrument at a time
+ * and for the whole per-tick guidance path.
+ * The {@code perTickPath} benchmark replays the sequence of calls the scene controller used to make on
+ * every tick, while {@code computeGuidance} is the fused path used by the simulation engine.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GuidanceBenchmark {
+    private Aircraft aircraft;
+    private ILS ils;
+    private GlidePath glidePath;
+    private Localizer localizer;
+    private Markers markers;
+    private Papi papi;
+    private Vector3D position;
+    private GuidanceResult guidance;
+
+    @Setup(Level.Trial)
+    public void createModels() {
+        // An aircraft established on the approach, slightly off the runway axis
+        aircraft = new Aircraft();
+        aircraft.setX(35);
+        aircraft.setY(-320);
+        aircraft.setZ(2200);
+        ils = aircraft.getILS();
+        glidePath = ils.getGlidePath();
+        localizer = ils.getLocalizer();
+        markers = ils.getMarkers();
+        papi = aircraft.getPapi();
+        position = new Vector3D(aircraft);
+        guidance = new GuidanceResult();
+    }
+
+    @Benchmark
+    public double glideSlopeAngle() {
+        return glidePath.calculateGlideSlopeAngle(aircraft);
+    }
+
+    @Benchmark
+    public double glideSlopeAngleVector() {
+        return glidePath.calculateGlideSlopeAngle(position);
+    }
+
+    @Benchmark
+    public double localizerAngle() {
+        return localizer.calculateLocalizerAngle(aircraft);
+    }
+
+    @Benchmark
+    public double localizerAngleVector() {
+        return localizer.calculateLocalizerAngle(position);
+    }
+
+    @Benchmark
+    public void markers(Blackhole blackhole) {
+        blackhole.consume(markers.hasPassedOuterMarker(aircraft));
+        blackhole.consume(markers.hasPassedMiddleMarker(aircraft));
+        blackhole.consume(markers.hasPassedInnerMarker(aircraft));
+    }
+
+    @Benchmark
+    public void markersVector(Blackhole blackhole) {
+        blackhole.consume(markers.hasPassedOuterMarker(position));
+        blackhole.consume(markers.hasPassedMiddleMarker(position));
+        blackhole.consume(markers.hasPassedInnerMarker(position));
+    }
+
+    @Benchmark
+    public int papiUpdate() {
+        papi.updatePapiState(aircraft);
+        return papi.getPapiLevel();
+    }
+
+    @Benchmark
+    public void perTickPath(Blackhole blackhole) {
+        blackhole.consume(ils.calculateGlidePathBar(aircraft));
+        blackhole.consume(ils.calculateLocalizerBar(aircraft));
+        blackhole.consume(aircraft.calculateAltitudeDifference());
+        blackhole.consume(ils.calculateDME(aircraft));
+        blackhole.consume(ils.hasPassedInnerMarker(aircraft));
+        blackhole.consume(ils.hasPassedMiddleMarker(aircraft));
+        blackhole.consume(ils.hasPassedOuterMarker(aircraft));
+        papi.updatePapiState(aircraft);
+        blackhole.consume(papi.getPapiLevel());
+    }
+
+    @Benchmark
+    public int computeGuidance() {
+        ils.computeGuidance(aircraft.getX(), aircraft.getY(), aircraft.getZ(), guidance);
+        papi.updatePapiState(guidance);
+        return papi.getPapiLevel();
+    }
+}
@@ -0,0 +1,71 @@
+package com.enac.enac_project.benchmarks;
+
+import com.enac.enac_project.model.Aircraft;
+import com.enac.enac_project.model.RunwayModel;
+import com.enac.enac_project.model.SimulationEngine;
+import com.enac.enac_project.model.SimulationSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a complete engine tick: physics, ILS and PAPI evaluation and snapshot publication.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SimulationEngineBenchmark {
+    private static final double FREQUENCY = 200;
+    private static final double LEG_LENGTH = 4000;  // Distance flown before the aircraft is put back at its start
+    private static final double TILE_MARGIN = 2000;  // Tiles preloaded around the leg, for the prefetch ahead
+
+    private SimulationEngine engine;
+    private double startX;
+    private double startZ;
+
+    @Setup(Level.Trial)
+    public void createEngine() {
+        Aircraft aircraft = new Aircraft();
+        engine = new SimulationEngine(aircraft, FREQUENCY);
+        startX = aircraft.getX();
+        startZ = aircraft.getZ();
+
+        // Loads the ground under the leg, so that iterations measure the tick rather than the tile generation
+        RunwayModel runway = aircraft.getRunwayModel();
+        double endX = startX + LEG_LENGTH * runway.getAxisX();
+        double endZ = startZ + LEG_LENGTH * runway.getAxisZ();
+        aircraft.getApproach().getGround().getHeightmap().preload(
+                Math.min(startX, endX) - TILE_MARGIN, Math.min(startZ, endZ) - TILE_MARGIN,
+                Math.max(startX, endX) + TILE_MARGIN, Math.max(startZ, endZ) + TILE_MARGIN);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetEngine() {
+        engine.reset();
+        engine.submit(aircraft -> aircraft.setSpeed(50));
+    }
+
+    @Benchmark
+    public SimulationSnapshot step() {
+        SimulationSnapshot snapshot = engine.step();
+        // Keeps the aircraft airborne, at speed and over the preloaded ground for the whole iteration
+        if (Math.abs(snapshot.getX() - startX) + Math.abs(snapshot.getZ() - startZ) > LEG_LENGTH) {
+            engine.submit(Aircraft::reset);
+            engine.submit(aircraft -> aircraft.setSpeed(50));
+        }
+        return snapshot;
+    }
+}
@@ -1,10 +1,21 @@
 package com.enac.enac_project;
 
+import com.enac.enac_project.controller.ReplayController;
 import com.enac.enac_project.controller.SceneController;
 import com.enac.enac_project.model.Aircraft;
+import com.enac.enac_project.model.AirportDatabase;
+import com.enac.enac_project.model.Approach;
+import com.enac.enac_project.model.ApproachDispersion;
+import com.enac.enac_project.model.BatchApproachRunner;
+import com.enac.enac_project.model.BatchStatistics;
 import com.enac.enac_project.model.Papi;
 import com.enac.enac_project.model.Point3DCustom;
 import com.enac.enac_project.model.RunwayModel;
+import com.enac.enac_project.telemetry.FlightRecordReader;
+import com.enac.enac_project.telemetry.FlightRecorder;
+import com.enac.enac_project.telemetry.CsvTelemetrySink;
+import com.enac.enac_project.telemetry.ReplayEngine;
+import com.enac.enac_project.telemetry.TelemetryFrame;
 import com.enac.enac_project.vue.MainView;
 import javafx.application.Application;
 import javafx.application.ConditionalFeature;
@@ -13,12 +24,19 @@ import javafx.stage.Stage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+
 /**
  * The Main class is the entry point of the flight simulation application.
  * It initializes and launches the user interface using JavaFX, checking for 3D feature support.
  */
 public class Main extends Application {
     private static final Logger logger = LoggerFactory.getLogger(Main.class);
+    private static final long REPLAY_FRAME_MILLIS = 20;  // Frame period of the headless replay
 
     /**
      * Starts the JavaFX application. This method configures and displays the main application window.
@@ -35,16 +53,50 @@ public class Main extends Application {
                 System.exit(1);
             }
 
-            // Create aircraft model
-            Aircraft aircraft = new Aircraft();
+            Map<String, String> options = getParameters().getNamed();
 
-            // Initialize main view and scene controller
-            MainView mainView = new MainView(aircraft);
-            SceneController sceneController = new SceneController(mainView, aircraft);
+            // A replay is shown at the approach named in the flight data file, if any
+            String replayFile = options.get("replay");
+            FlightRecordReader reader = replayFile != null ? new FlightRecordReader(Path.of(replayFile)) : null;
+            String approach = options.get("approach");
+            if (reader != null && reader.getApproach() != null) {
+                approach = reader.getApproach();
+            }
+
+            // Create aircraft model, on a ground whose tiles are kept on disk and shared with the view
+            Approach flown = findApproach(approach);
+            flown.getTerrain().getGround(MainView.terrainDirectory(flown));
+            Aircraft aircraft = new Aircraft(flown);
 
-            // Configure and display the main scene
+            // Initialize main view
+            MainView mainView = new MainView(aircraft);
             primaryStage.setScene(mainView.getScene());
             primaryStage.setTitle("Landing Simulator");
+
+            if (reader != null) {
+                // Replay a recorded flight instead of simulating one
+                new ReplayController(mainView, createReplay(reader, options.get("speed"), options.get("flight")));
+                primaryStage.setOnHidden(e -> {
+                    closeQuietly(reader);
+                    mainView.dispose();
+                });
+            } else {
+                SceneController sceneController = new SceneController(mainView, aircraft);
+                primaryStage.setOnHidden(e -> sceneController.shutdown());
+
+                // Record the flight when asked to with --record=<file>
+                String recordFile = options.get("record");
+                if (recordFile != null) {
+                    sceneController.startRecording(Path.of(recordFile));
+                }
+
+                // Write the telemetry when asked to with --telemetry[=<interval>]
+                String telemetryInterval = options.get("telemetry");
+                if (telemetryInterval != null || getParameters().getUnnamed().contains("--telemetry")) {
+                    sceneController.startTelemetry(CsvTelemetrySink.DEFAULT_PATH,
+                                                   telemetryInterval != null ? Integer.parseInt(telemetryInterval) : 1);
+                }
+            }
             primaryStage.show();
 
             // Request focus for user input handling
@@ -59,15 +111,154 @@ public class Main extends Application {
 
     /**
      * Main method to launch the application.
+     * With {@code --batch=<count>} (and optionally {@code --seed=<seed>}) a batch of approaches
+     * is flown headless instead and the statistics are logged; {@code --autopilot} has the approaches
+     * flown by the ILS-coupled autopilot and {@code --approach=<airport>/<runway>} chooses the approach
+     * in the airport database, both for the batch and the interactive flight. Adding {@code --record=<file>} records
+     * every tick of every approach of the batch, or of the interactive flight, to a binary flight data file, and
+     * {@code --telemetry[=<interval>]} writes one tick out of {@code interval} (every tick by default) of the
+     * interactive flight to the telemetry CSV file, replaced on each run.
+     * {@code --replay=<file>} plays a recorded flight back instead, at the approach named in the file (or the one given
+     * with {@code --approach} for files that do not name it), optionally with {@code --speed=<multiple>}
+     * and {@code --flight=<id>}; with {@code --headless} the replayed states are written to the telemetry log.
      *
      * @param args Command line arguments.
      */
     public static void main(String[] args) {
         try {
+            String replay = findOption(args, "--replay=");
+            if (replay != null && Arrays.asList(args).contains("--headless")) {
+                runReplay(replay, findOption(args, "--speed="), findOption(args, "--flight="));
+                return;
+            }
+            String batch = findOption(args, "--batch=");
+            if (batch != null) {
+                runBatch(findApproach(findOption(args, "--approach=")), Integer.parseInt(batch),
+                         Long.parseLong(findOption(args, "--seed=", "0")),
+                         findOption(args, "--record="), Arrays.asList(args).contains("--autopilot"));
+                return;
+            }
             launch(args);
         } catch (Exception e) {
             logger.error("Application failed to launch", e);
             System.exit(1);
         }
     }
+
+    /**
+     * Flies a batch of randomised approaches to a runway without any user interface.
+     *
+     * @param approach The approach flown.
+     * @param approaches The number of approaches to fly.
+     * @param seed The seed of the random perturbations.
+     * @param recordFile The flight data file in which to record the approaches, or null.
+     * @param autopilot Whether the approaches are flown by the autopilot.
+     * @throws IOException If the flight data file cannot be written.
+     */
+    private static void runBatch(Approach approach, int approaches, long seed, String recordFile, boolean autopilot)
+            throws IOException {
+        RunwayModel runway = approach.getRunway();
+        BatchApproachRunner runner = new BatchApproachRunner(approach, ApproachDispersion.DEFAULT, seed);
+        runner.setAutopilotEnabled(autopilot);
+        if (recordFile == null) {
+            logger.info("Batch results:{}{}", System.lineSeparator(), runner.run(approaches));
+            return;
+        }
+
+        // Recording is bound by the file anyway, so the approaches are flown in sequence, one flight after the other
+        BatchStatistics statistics = new BatchStatistics(runway);
+        try (FlightRecorder recorder = new FlightRecorder(Path.of(recordFile), approach.getIdent())) {
+            for (int i = 0; i < approaches; i++) {
+                int flight = i;
+                statistics.add(runner.runApproach(i, snapshot -> {
+                    try {
+                        recorder.record(flight, snapshot);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }));
+            }
+        }
+        logger.info("Batch results:{}{}", System.lineSeparator(), statistics);
+    }
+
+    /**
+     * Replays a recorded flight without any user interface, in real time scaled by the replay speed,
+     * writing the replayed states to the telemetry file.
+     *
+     * @param replayFile The flight data file to replay.
+     * @param speed The replay speed as a multiple of real time, or null for real time.
+     * @param flight The identifier of the flight to replay, or null for the first one.
+     * @throws Exception If the file cannot be read or the replay is interrupted.
+     */
+    private static void runReplay(String replayFile, String speed, String flight) throws Exception {
+        TelemetryFrame frame = new TelemetryFrame();
+        try (FlightRecordReader reader = new FlightRecordReader(Path.of(replayFile));
+             CsvTelemetrySink sink = new CsvTelemetrySink()) {
+            ReplayEngine replay = createReplay(reader, speed, flight);
+            long start = System.nanoTime();
+            sink.write(frame.set(replay.snapshotAt(replay.getStartTime())));
+            while (!replay.isFinished()) {
+                Thread.sleep(REPLAY_FRAME_MILLIS);
+                long now = System.nanoTime();
+                sink.write(frame.set(replay.advance((now - start) / 1e9)));
+                sink.flush();
+                start = now;
+            }
+            logger.info("Replayed {} seconds of flight at {}x", replay.getEndTime() - replay.getStartTime(), replay.getSpeed());
+        }
+    }
+
+    private static ReplayEngine createReplay(FlightRecordReader reader, String speed, String flight) {
+        ReplayEngine replay = new ReplayEngine(reader);
+        if (flight != null) {
+            replay.selectFlight(Integer.parseInt(flight));
+        }
+        if (speed != null) {
+            replay.setSpeed(Double.parseDouble(speed));
+        }
+        return replay;
+    }
+
+    /**
+     * Finds an approach in the airport database.
+     *
+     * @param ident The airport and runway, for instance "LFBO/14R", or null for the default approach.
+     * @return The approach.
+     * @throws IllegalArgumentException If the database has no such approach.
+     */
+    private static Approach findApproach(String ident) {
+        AirportDatabase database = AirportDatabase.getDefault();
+        if (ident == null) {
+            return database.getDefaultApproach();
+        }
+        Approach approach = database.getApproach(ident);
+        if (approach == null) {
+            String message = "Unknown approach " + ident + ", airports available: " + database.getAirportIdents();
+            logger.error(message);
+            throw new IllegalArgumentException(message);
+        }
+        return approach;
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            logger.error("Failed to close {}", closeable, e);
+        }
+    }
+
+    private static String findOption(String[] args, String prefix) {
+        return findOption(args, prefix, null);
+    }
+
+    private static String findOption(String[] args, String prefix, String defaultValue) {
+        for (String arg : args) {
+            if (arg.startsWith(prefix)) {
+                return arg.substring(prefix.length());
+            }
+        }
+        return defaultValue;
+    }
 }
@@ -0,0 +1,108 @@
+package com.enac.enac_project.controller;
+
+import com.enac.enac_project.model.SimulationSnapshot;
+import com.enac.enac_project.telemetry.ReplayEngine;
+import com.enac.enac_project.vue.CameraManager;
+import com.enac.enac_project.vue.HudModel;
+import com.enac.enac_project.vue.MainView;
+import javafx.animation.AnimationTimer;
+
+/**
+ * Cette classe rejoue un vol enregistré dans la vue principale, sans recalculer la physique.
+ * L'horloge de relecture avance à chaque image selon la vitesse choisie ; les touches permettent
+ * de mettre en pause, de changer de vitesse et de se déplacer dans le vol.
+ */
+public class ReplayController {
+    private static final double SEEK_STEP = 10;       // Saut en secondes de temps enregistré
+    private static final double MAX_SPEED = 1024;
+    private static final double MIN_SPEED = 1.0 / 16;
+
+    private final MainView mainView;
+    private final ReplayEngine replay;
+    private final HudModel hud;
+    private long lastFrameNanos;
+
+    /**
+     * Constructeur de la classe, configure les commandes et démarre la relecture.
+     *
+     * @param mainView La vue principale de l'application.
+     * @param replay Le moteur de relecture du vol enregistré.
+     */
+    public ReplayController(MainView mainView, ReplayEngine replay) {
+        this.mainView = mainView;
+        this.replay = replay;
+        this.hud = new HudModel(mainView);
+
+        setupControls();
+        setupReplayControl();
+        startRenderLoop();
+    }
+
+    /**
+     * Configure les boutons de la vue : démarrer reprend la relecture, arrêter la met en pause
+     * et réinitialiser revient au début du vol.
+     */
+    private void setupControls() {
+        mainView.getStartButton().setOnAction(e -> {
+            replay.setPaused(false);
+            mainView.getRoot().requestFocus();
+        });
+        mainView.getStopButton().setOnAction(e -> {
+            replay.setPaused(true);
+            mainView.getRoot().requestFocus();
+        });
+        mainView.getResetButton().setOnAction(e -> {
+            replay.seek(replay.getStartTime());
+            mainView.getRoot().requestFocus();
+        });
+    }
+
+    /**
+     * Configure les touches de relecture : espace pour la pause, haut et bas pour doubler ou diviser
+     * la vitesse, gauche et droite pour reculer ou avancer de quelques secondes, entrée pour recommencer.
+     */
+    private void setupReplayControl() {
+        mainView.getScene().setOnKeyPressed(event -> {
+            switch (event.getCode()) {
+                case SPACE: replay.setPaused(!replay.isPaused()); break;
+                case UP:    replay.setSpeed(Math.min(MAX_SPEED, replay.getSpeed() * 2)); break;
+                case DOWN:  replay.setSpeed(Math.max(MIN_SPEED, replay.getSpeed() / 2)); break;
+                case LEFT:  replay.seek(replay.getTime() - SEEK_STEP); break;
+                case RIGHT: replay.seek(replay.getTime() + SEEK_STEP); break;
+                case ENTER: replay.seek(replay.getStartTime()); break;
+                default:    // Autres touches non gérées
+                    return;
+            }
+        });
+    }
+
+    /**
+     * Démarre la boucle de rendu qui fait avancer l'horloge de relecture et affiche l'état rejoué à chaque image.
+     */
+    private void startRenderLoop() {
+        new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                double elapsed = lastFrameNanos == 0 ? 0 : (now - lastFrameNanos) / 1e9;
+                lastFrameNanos = now;
+                applySnapshot(replay.advance(elapsed));
+            }
+        }.start();
+    }
+
+    /**
+     * Applique un état rejoué à la caméra et aux instruments.
+     *
+     * @param snapshot L'état à afficher.
+     */
+    private void applySnapshot(SimulationSnapshot snapshot) {
+        CameraManager cameraManager = mainView.getCameraManager();
+        cameraManager.updatePosition(snapshot.getX(), snapshot.getY(), snapshot.getZ());
+        cameraManager.updateOrientation(snapshot.getYaw(), snapshot.getPitch(), snapshot.getRoll());
+        mainView.getHeightmap().prefetch(snapshot.getX(), snapshot.getZ(), snapshot.getYaw(), snapshot.getSpeed());
+        mainView.getTerrainView().update(cameraManager.getCamera());
+
+        hud.update(snapshot);
+        hud.flush();
+    }
+}
@@ -1,25 +1,33 @@
 package com.enac.enac_project.controller;
 
 import com.enac.enac_project.model.*;
+import com.enac.enac_project.telemetry.FlightRecorder;
+import com.enac.enac_project.telemetry.CsvTelemetrySink;
+import com.enac.enac_project.telemetry.TelemetryChannel;
 import com.enac.enac_project.vue.*;
-import javafx.application.Platform;
-import javafx.concurrent.Service;
-import javafx.concurrent.Task;
-import javafx.scene.PerspectiveCamera;
+import javafx.animation.AnimationTimer;
+
+import java.io.IOException;
+import java.nio.file.Path;
 
 /**
  * Cette classe gère les interactions et le contrôle de la simulation d'un avion dans une scène graphique.
  * Elle initialise et met à jour les différentes composantes visuelles et comportementales de la simulation.
  */
 public class SceneController {
+    private static final int TELEMETRY_CAPACITY = 4096;
+
     private MainView mainView;
-    private Service<Void> aircraftSimulationService;
-    private Aircraft aircraft;
-    private boolean stopSimulation = false;
-    private Papi papi;
+    private final SimulationEngine engine;
+    private TelemetryChannel telemetry;
+    private TelemetryChannel flightRecording;
+    private final SnapshotExchange snapshots;
+    private final HudModel hud;
+    private SimulationSnapshot renderedSnapshot;
+    private long snapshotArrivalNanos;
 
     /**
-     * Constructeur de la classe, initialise les vues et les modèles d'avion et de PAPI,
+     * Constructeur de la classe, initialise les vues et le moteur de simulation de l'avion,
      * et configure les contrôles et la simulation.
      *
      * @param mainView La vue principale de l'application.
@@ -27,13 +35,14 @@ public class SceneController {
      */
     public SceneController(MainView mainView, Aircraft aircraft) {
         this.mainView = mainView;
-        this.aircraft = aircraft;
-        this.papi = aircraft.getPapi();
+        this.engine = new SimulationEngine(aircraft);
+        this.snapshots = engine.getSnapshotExchange();
+        this.hud = new HudModel(mainView);
 
         setupAircraftControl();
         startAircraftSimulation();
         setupControls();
-        mainView.getCameraManager().attachToAircraft(aircraft);
+        startRenderLoop();
     }
 
     /**
@@ -57,116 +66,174 @@ public class SceneController {
 
     /**
      * Configure les commandes de l'avion liées aux touches du clavier pour piloter l'avion pendant la simulation.
+     * Les commandes sont transmises au moteur de simulation, qui les applique au début du tick suivant.
+     * La touche A engage ou désengage le pilote automatique.
      */
     private void setupAircraftControl() {
         mainView.getScene().setOnKeyPressed(event -> {
+            if (!engine.isRunning()) {
+                return;
+            }
+
             double yaw = 0;   // Rotation autour de l'axe Y
             double pitch = 0; // Rotation autour de l'axe X
             double roll = 0;  // Rotation autour de l'axe Z
 
-            if (!stopSimulation) {
-                switch (event.getCode()) {
-                    case LEFT:    yaw = -1; break;
-                    case RIGHT:   yaw = 1; break;
-                    case UP:      pitch = 1; break;
-                    case DOWN:    pitch = -1; break;
-                    case Q:       roll = -1; break;
-                    case D:       roll = 1; break;
-                    case ENTER:   resetSimulation(); break;
-                    default:      // Autres touches non gérées
-                        break;
-                }
+            switch (event.getCode()) {
+                case LEFT:    yaw = -1; break;
+                case RIGHT:   yaw = 1; break;
+                case UP:      pitch = 1; break;
+                case DOWN:    pitch = -1; break;
+                case Q:       roll = -1; break;
+                case D:       roll = 1; break;
+                case ENTER:   resetSimulation(); return;
+                case A:       toggleAutopilot(); return;
+                default:      // Autres touches non gérées
+                    return;
             }
 
-            aircraft.setYaw(aircraft.getYaw() + yaw);
-            aircraft.setPitch(aircraft.getPitch() + pitch);
-            aircraft.setRoll(aircraft.getRoll() + roll);
-            mainView.getCameraManager().updateOrientation(aircraft.getYaw(), aircraft.getPitch(), aircraft.getRoll());
-            updateILSIndicator();
+            double yawDelta = yaw;
+            double pitchDelta = pitch;
+            double rollDelta = roll;
+            engine.submit(a -> {
+                a.setYaw(Aircraft.toYaw(a.getYaw() + yawDelta));
+                a.setPitch(a.getPitch() + pitchDelta);
+                a.setRoll(a.getRoll() + rollDelta);
+            });
         });
     }
 
     /**
-     * Démarre la simulation de l'avion en arrière-plan.
+     * Démarre la simulation de l'avion sur le thread du moteur de simulation.
      */
     private void startAircraftSimulation() {
-        aircraftSimulationService = new Service<Void>() {
-            @Override
-            protected Task<Void> createTask() {
-                return new Task<Void>() {
-                    @Override
-                    protected Void call() throws Exception {
-                        while (!stopSimulation) {
-                            Platform.runLater(() -> {
-                                aircraft.updatePosition();
-                                updateILSIndicator();
-                                updatePAPIIndicator();
-                            });
-                            Thread.sleep(100);
-                        }
-                        return null;
-                    }
-                };
-            }
-        };
-        aircraftSimulationService.start();
-        stopSimulation = false;
+        engine.start();
     }
 
     /**
-     * Met à jour les indicateurs ILS de la simulation.
+     * Démarre la boucle de rendu qui, à chaque image, positionne la caméra et met à jour les instruments
+     * à partir du dernier état de la simulation. Les ticks intermédiaires ne sont jamais appliqués à la vue.
      */
-    public void updateILSIndicator() {
-        ILS ils = aircraft.getILS();
-        Point3DCustom posAircraft = new Point3DCustom(aircraft.getX(), aircraft.getY(), aircraft.getZ());
-        double deviationLocalizer = ils.calculateLocalizerBar(posAircraft);
-        double deviationGlidePath = ils.calculateGlidePathBar(posAircraft);
-        double DME = ils.calculateDME(posAircraft);
-        double altitude = aircraft.calculateAltitudeDifference();
-        boolean om = ils.hasPassedOuterMarker(posAircraft);
-        boolean im = ils.hasPassedInnerMarker(posAircraft);
-        boolean mm = ils.hasPassedMiddleMarker(posAircraft);
-
-        ILSIndicator indicator = mainView.getIndicator();
-        indicator.adjustGlidePathBars(deviationGlidePath);
-        indicator.moveLocalizerBar(deviationLocalizer);
-        mainView.setAltitude(altitude);
-        mainView.setDMEApproche(DME);
-        mainView.setMarkersIM(im);
-        mainView.setMarkersMM(mm);
-        mainView.setMarkersOM(om);
+    private void startRenderLoop() {
+        new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                renderCamera(now);
+                hud.flush();
+            }
+        }.start();
     }
 
     /**
-     * Met à jour les indicateurs PAPI de la simulation.
+     * Positionne la caméra en interpolant entre les deux derniers états physiques,
+     * ce qui permet un rendu fluide quelle que soit la fréquence de la simulation, puis met à jour le terrain visible
+     * et anticipe le chargement du relief le long de la trajectoire.
+     *
+     * @param now L'horodatage de l'image courante, en nanosecondes.
      */
-    public void updatePAPIIndicator() {
-        PAPIVue papiVue = mainView.getPAPI();
-        PerspectiveCamera camera = mainView.getCameraManager().getCamera();
+    private void renderCamera(long now) {
+        SimulationSnapshot fresh = snapshots.poll();
+        if (fresh != null) {
+            renderedSnapshot = fresh;
+            snapshotArrivalNanos = now;
+            hud.update(fresh);
+        }
+        SimulationSnapshot snapshot = renderedSnapshot;
+        if (snapshot == null) {
+            return;
+        }
 
-        papi.updatePapiState(aircraft);
-        papiVue.setIndicatorState(papi.getPapiLevel());
-        PapiStatusLED papiLED = mainView.getPAPILED();
+        double alpha = 1;
+        if (engine.isRunning()) {
+            alpha = Math.min(1, (now - snapshotArrivalNanos) / (engine.getStepSeconds() * 1e9));
+        }
 
-        papiLED.updateStatus(papi.getPapiLevel());
+        CameraManager cameraManager = mainView.getCameraManager();
+        cameraManager.updatePosition(snapshot.interpolateX(alpha), snapshot.interpolateY(alpha), snapshot.interpolateZ(alpha));
+        cameraManager.updateOrientation(snapshot.interpolateYaw(alpha), snapshot.interpolatePitch(alpha), snapshot.interpolateRoll(alpha));
+        mainView.getHeightmap().prefetch(snapshot.getX(), snapshot.getZ(), snapshot.getYaw(), snapshot.getSpeed());
+        mainView.getTerrainView().update(cameraManager.getCamera());
     }
 
     /**
      * Arrête la simulation de l'avion.
      */
     public void stopSimulation() {
-        stopSimulation = true;
-        if (aircraftSimulationService != null) {
-            aircraftSimulationService.cancel();
-        }
+        engine.stop();
+    }
+
+    /**
+     * Engage le pilote automatique s'il est désengagé, et le désengage sinon.
+     * Tant qu'il est engagé, il suit le localizer et le glide path à partir des barres de l'ILS.
+     */
+    public void toggleAutopilot() {
+        engine.setAutopilot(engine.getAutopilot() == null ? new Autopilot() : null);
     }
 
     /**
      * Réinitialise la simulation à son état initial.
      */
     public void resetSimulation() {
-        stopSimulation = false;
-        aircraft.reset();
+        engine.reset();
         mainView.resetCamera();
+        hud.invalidate();
+    }
+
+    /**
+     * Écrit la télémétrie de la simulation dans un fichier CSV, sans bloquer le thread de simulation.
+     * Le fichier est remplacé à chaque lancement.
+     *
+     * @param path Le fichier CSV à écrire.
+     * @param samplingInterval L'intervalle d'échantillonnage, en ticks ; 1 écrit chaque tick.
+     * @throws IllegalArgumentException Si l'intervalle d'échantillonnage est inférieur à 1.
+     */
+    public synchronized void startTelemetry(Path path, int samplingInterval) {
+        if (telemetry != null) {
+            return;
+        }
+        telemetry = new TelemetryChannel(TELEMETRY_CAPACITY, samplingInterval,
+                TelemetryChannel.OverflowPolicy.ADAPTIVE_SAMPLING, new CsvTelemetrySink(path));
+        engine.addListener(telemetry);
+        telemetry.start();
+    }
+
+    /**
+     * Enregistre chaque tick de la simulation dans un fichier de données de vol binaire.
+     *
+     * @param path Le fichier dans lequel enregistrer le vol.
+     * @throws IOException Si le fichier ne peut pas être créé.
+     */
+    public synchronized void startRecording(Path path) throws IOException {
+        if (flightRecording != null) {
+            return;
+        }
+        flightRecording = new TelemetryChannel(TELEMETRY_CAPACITY, 1,
+                TelemetryChannel.OverflowPolicy.DROP_NEWEST,
+                new FlightRecorder(path, engine.getAircraft().getApproach().getIdent()));
+        engine.addListener(flightRecording);
+        flightRecording.start();
+    }
+
+    /**
+     * Arrête la simulation, l'enregistrement de la télémétrie et les threads de la vue,
+     * par exemple à la fermeture de l'application.
+     */
+    public synchronized void shutdown() {
+        engine.stop();
+        if (telemetry != null) {
+            engine.removeListener(telemetry);
+            telemetry.close();
+            telemetry = null;
+        }
+        if (flightRecording != null) {
+            engine.removeListener(flightRecording);
+            flightRecording.close();
+            flightRecording = null;
+        }
+        mainView.dispose();
+    }
+
+    public SimulationEngine getEngine() {
+        return engine;
     }
 }
@@ -17,32 +17,100 @@ public class Aircraft extends Point3DCustom {
     private final DoubleProperty yaw = new SimpleDoubleProperty();
     private final DoubleProperty pitch = new SimpleDoubleProperty();
     private final DoubleProperty roll = new SimpleDoubleProperty();
-    private final ILS ils;
-    private final Papi papi;
-    private final RunwayModel runwayModel;
+    private Approach approach;
+    private ILS ils;
+    private Papi papi;
+    private RunwayModel runwayModel;
+    private GroundHeightService.Probe groundProbe;
+    private GroundHeightService.Probe lookaheadProbe;
     
     // Default values
-    private static final double DEFAULT_X = 0;
-    private static final double DEFAULT_Y = -250;
-    private static final double DEFAULT_Z = 0;
+    private static final double DEFAULT_START_DISTANCE = 7000;  // Distance of the start position before the threshold
+    private static final double DEFAULT_START_HEIGHT = 250;     // Height of the start position above the runway
     private static final double DEFAULT_SPEED = 50;
     private static final double MIN_SPEED = 0;
     private static final double MAX_SPEED = 500;
     private static final double MIN_ANGLE = -180;
     private static final double MAX_ANGLE = 180;
 
+    // Speeds and decelerations are expressed per reference tick, the period the simulation was tuned for
+    static final double REFERENCE_TICK_SECONDS = 0.1;
+    static final double RUNWAY_CONTACT_MARGIN = 20;
+    static final double GROUND_DECELERATION = 1;
+    static final double AIR_DECELERATION = 0.1;
+    static final double MIN_AIR_SPEED = 10;
+
+    // Terrain warning: the ground is checked under the aircraft and under the point it will reach in a few seconds,
+    // except close to the runway on final approach, where the aircraft is expected to get close to the ground
+    private static final double TERRAIN_LOOKAHEAD_SECONDS = 5;
+    private static final double TERRAIN_CLEARANCE = 30;
+    private static final double RUNWAY_VICINITY_DISTANCE = 3000;  // Before the threshold
+    private static final double RUNWAY_VICINITY_LATERAL = 300;
+
+    private final double startX;
+    private final double startY;
+    private final double startZ;
+    private final double startYaw;
+    private final RunwayPosition runwayPosition = new RunwayPosition();
+    private boolean onRunway;
+    private boolean terrainContact;
+
     /**
      * Constructor for the Aircraft class.
-     * Initializes the aircraft with default values and creates navigation systems.
+     * Initializes the aircraft with default values, approaching the default runway of the airport database.
      */
     public Aircraft() {
-        super(DEFAULT_X, DEFAULT_Y, DEFAULT_Z);
+        this(AirportDatabase.getDefault().getDefaultApproach());
+    }
+
+    /**
+     * Constructor for an aircraft flying the given approach, starting on the runway axis
+     * at the default distance and height from the threshold, heading along the runway.
+     *
+     * @param approach The approach the aircraft is tuned to
+     * @throws IllegalArgumentException if approach is null
+     */
+    public Aircraft(Approach approach) {
+        this(approach, startX(approach), startY(approach), startZ(approach));
+    }
+
+    /**
+     * Constructor for an aircraft approaching the given runway.
+     * Creates the ILS and PAPI of the runway and places the aircraft at the given start position,
+     * which is also the position restored by {@link #reset()}.
+     *
+     * @param runwayModel The runway the aircraft is approaching
+     * @param x The initial x coordinate of the aircraft
+     * @param y The initial y coordinate of the aircraft
+     * @param z The initial z coordinate of the aircraft
+     * @throws IllegalArgumentException if runwayModel is null
+     */
+    public Aircraft(RunwayModel runwayModel, double x, double y, double z) {
+        this(runwayModel != null ? new Approach(runwayModel) : null, x, y, z);
+    }
+
+    /**
+     * Constructor for an aircraft flying the given approach.
+     * Places the aircraft at the given start position, which is also the position restored by {@link #reset()}.
+     *
+     * @param approach The approach the aircraft is tuned to
+     * @param x The initial x coordinate of the aircraft
+     * @param y The initial y coordinate of the aircraft
+     * @param z The initial z coordinate of the aircraft
+     * @throws IllegalArgumentException if approach is null
+     */
+    public Aircraft(Approach approach, double x, double y, double z) {
+        super(x, y, z);
+        validateApproach(approach);
+
         try {
-            runwayModel = new RunwayModel(0, 0, 8250, 400, 2, 2500);
-            GlidePath glidePath = new GlidePath(runwayModel);
-            ils = new ILS(runwayModel, glidePath);
-            papi = new Papi(runwayModel, glidePath);
+            tune(approach);
             this.speed.set(DEFAULT_SPEED);
+            this.startX = x;
+            this.startY = y;
+            this.startZ = z;
+            this.startYaw = toYaw(approach.getRunway().getHeading());
+            this.yaw.set(startYaw);
             logger.info("Aircraft initialized with default values");
         } catch (Exception e) {
             logger.error("Failed to initialize aircraft", e);
@@ -50,6 +118,82 @@ public class Aircraft extends Point3DCustom {
         }
     }
 
+    /**
+     * Tunes the aircraft to another approach: its ILS, PAPI, runway contact and terrain tests then refer to
+     * the new runway. The ground belongs to the airport, so tuning to another runway of the same airport keeps it.
+     * Must be called on the thread flying the aircraft, for instance through {@link SimulationEngine#submit}.
+     *
+     * @param approach The approach to tune to
+     * @throws IllegalArgumentException if approach is null
+     */
+    public void tune(Approach approach) {
+        validateApproach(approach);
+        this.approach = approach;
+        this.runwayModel = approach.getRunway();
+        this.ils = approach.getILS();
+        this.papi = approach.createPapi();
+        GroundHeightService ground = approach.getGround();
+        if (groundProbe == null || groundProbe.getService() != ground) {
+            this.groundProbe = ground.newProbe();
+            this.lookaheadProbe = ground.newProbe();
+        }
+        logger.info("Aircraft tuned to {}", approach.getIdent());
+    }
+
+    private static void validateApproach(Approach approach) {
+        if (approach == null) {
+            String message = "Approach cannot be null";
+            logger.error(message);
+            throw new IllegalArgumentException(message);
+        }
+    }
+
+    private static double startX(Approach approach) {
+        validateApproach(approach);
+        RunwayModel runway = approach.getRunway();
+        return runway.getThresholdX() - DEFAULT_START_DISTANCE * runway.getAxisX();
+    }
+
+    private static double startY(Approach approach) {
+        validateApproach(approach);
+        return approach.getRunway().getY() - DEFAULT_START_HEIGHT;
+    }
+
+    private static double startZ(Approach approach) {
+        validateApproach(approach);
+        RunwayModel runway = approach.getRunway();
+        return runway.getThresholdZ() - DEFAULT_START_DISTANCE * runway.getAxisZ();
+    }
+
+    /**
+     * Converts a heading into a yaw angle, within the [-180, 180] range accepted by {@link #setYaw(double)}.
+     *
+     * @param heading The heading in degrees
+     * @return The equivalent yaw in degrees
+     */
+    public static double toYaw(double heading) {
+        double yaw = heading % 360;
+        if (yaw > MAX_ANGLE) {
+            yaw -= 360;
+        } else if (yaw < MIN_ANGLE) {
+            yaw += 360;
+        }
+        return yaw;
+    }
+
+    /**
+     * Interpolates between two yaw angles along the shortest arc, so that going from 179 to -179 degrees
+     * turns through 180 degrees rather than through 0.
+     *
+     * @param from The yaw at alpha = 0, in degrees
+     * @param to The yaw at alpha = 1, in degrees
+     * @param alpha The interpolation factor
+     * @return The interpolated yaw, within the [-180, 180] range
+     */
+    public static double interpolateYaw(double from, double to, double alpha) {
+        return toYaw(from + toYaw(to - from) * alpha);
+    }
+
     public double getSpeed() { return speed.get(); }
     
     public void setSpeed(double value) {
@@ -69,90 +213,156 @@ public class Aircraft extends Point3DCustom {
     public void decelerate(double amount, double minSpeed) {
         double newSpeed = Math.max(minSpeed, getSpeed() - amount);
         setSpeed(newSpeed);
-        logger.debug("Aircraft decelerated to speed: {}", newSpeed);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Aircraft decelerated to speed: {}", newSpeed);
+        }
     }
 
     /**
-     * Updates the aircraft's position based on its speed and orientation.
+     * Updates the aircraft's position over one reference tick.
+     *
+     * @see #updatePosition(double)
+     */
+    public void updatePosition() {
+        updatePosition(REFERENCE_TICK_SECONDS);
+    }
+
+    /**
+     * Updates the aircraft's position based on its speed and orientation over the given time step.
      * Calculates the direction vector based on aircraft orientation (yaw, pitch, roll)
      * and adjusts position accordingly. Also applies deceleration.
+     * An aircraft reaching the ground outside the runway stops there, and {@link #hasHitTerrain()} becomes true.
+     *
+     * @param dt The time step in seconds
      */
-    public void updatePosition() {
+    public void updatePosition(double dt) {
         try {
-            Point3DCustom direction = calculateDirectionVector(getYaw(), getPitch(), getRoll());
+            double scale = dt / REFERENCE_TICK_SECONDS;
+            double yawRad = Math.toRadians(getYaw());
+            double pitchRad = Math.toRadians(getPitch());
+            double cosPitch = Math.cos(pitchRad);
+            double distance = getSpeed() * scale;
 
-            double newX = getX() + direction.getX() * getSpeed();
-            double newY = getY() + direction.getY() * getSpeed();
-            double newZ = getZ() + direction.getZ() * getSpeed();
+            double newX = getX() + cosPitch * Math.sin(yawRad) * distance;
+            double newY = getY() + Math.sin(pitchRad) * distance;
+            double newZ = getZ() + cosPitch * Math.cos(yawRad) * distance;
 
-            if (isOnRunway(newX, newY, newZ, 20)) {
+            onRunway = runwayModel.isOnSurface(newX, newY, newZ, RUNWAY_CONTACT_MARGIN);
+            if (onRunway) {
                 if (getSpeed() >= 0) {
                     setX(newX);
                     setZ(newZ);
-                    decelerate(1, MIN_SPEED);
+                    decelerate(GROUND_DECELERATION * scale, MIN_SPEED);
                 }
             } else {
+                double groundY = groundProbe.getGroundY(newX, newZ);
+                terrainContact = newY >= groundY;
                 setX(newX);
-                setY(newY);
                 setZ(newZ);
-                decelerate(0.1, 10);
+                if (terrainContact) {
+                    setY(groundY);
+                    setSpeed(MIN_SPEED);
+                } else {
+                    setY(newY);
+                    decelerate(AIR_DECELERATION * scale, MIN_AIR_SPEED);
+                }
             }
-            
-            logger.debug("Aircraft position updated to: x={}, y={}, z={}", newX, newY, newZ);
+            // The runway-local position of the final position is computed once here and reused by the
+            // instruments for this tick
+            runwayModel.toLocal(getX(), getY(), getZ(), runwayPosition);
         } catch (Exception e) {
             logger.error("Error updating aircraft position", e);
         }
     }
 
     /**
-     * Checks if the aircraft coordinates are on or near the runway, including altitude.
-     * @param x The x coordinate of the aircraft
-     * @param y The y coordinate of the aircraft
-     * @param z The z coordinate of the aircraft
-     * @param lowerAltitudeLimit The safety margin below which the aircraft is considered to be on the runway
-     * @return true if the aircraft is on or near the runway, including altitude, false otherwise
+     * Checks the clearance above the ground under the aircraft and under the point it will reach in
+     * {@value #TERRAIN_LOOKAHEAD_SECONDS} seconds at its current speed and attitude.
      */
-    private boolean isOnRunway(double x, double y, double z, double lowerAltitudeLimit) {
-        double runwayStartX = runwayModel.getX() - runwayModel.getWidth() / 2;
-        double runwayEndX = runwayModel.getX() + runwayModel.getWidth() / 2;
-        double runwayStartZ = runwayModel.getZ() - runwayModel.getLength() / 2;
-        double runwayEndZ = runwayModel.getZ() + runwayModel.getLength() / 2;
-        double lowerAltitudeLimitValue = runwayModel.getY() - lowerAltitudeLimit;
+    private boolean isTerrainAhead() {
+        double yawRad = Math.toRadians(getYaw());
+        double pitchRad = Math.toRadians(getPitch());
+        double x = getX();
+        double y = getY();
+        double z = getZ();
+        if (isBelowClearance(groundProbe, x, y, z)) {
+            return true;
+        }
+        double distance = getSpeed() / REFERENCE_TICK_SECONDS * TERRAIN_LOOKAHEAD_SECONDS;
+        double cosPitch = Math.cos(pitchRad);
+        return isBelowClearance(lookaheadProbe,
+                                x + cosPitch * Math.sin(yawRad) * distance,
+                                y + Math.sin(pitchRad) * distance,
+                                z + cosPitch * Math.cos(yawRad) * distance);
+    }
 
-        return (x >= runwayStartX && x <= runwayEndX) &&
-               (z >= runwayStartZ && z <= runwayEndZ) &&
-               (y >= lowerAltitudeLimitValue);
+    private boolean isBelowClearance(GroundHeightService.Probe probe, double x, double y, double z) {
+        double dx = x - runwayModel.getThresholdX();
+        double dz = z - runwayModel.getThresholdZ();
+        double along = dx * runwayModel.getAxisX() + dz * runwayModel.getAxisZ();
+        double lateral = dx * runwayModel.getAxisZ() - dz * runwayModel.getAxisX();
+        if (along >= -RUNWAY_VICINITY_DISTANCE && along <= runwayModel.getLength()
+                && Math.abs(lateral) <= RUNWAY_VICINITY_LATERAL) {
+            return false;
+        }
+        return y > probe.getGroundY(x, z) - TERRAIN_CLEARANCE;
     }
 
     /**
-     * Calculates the direction vector of the aircraft based on its yaw, pitch, and roll angles.
-     * This method uses trigonometric transformations to convert angles to radians
-     * and calculate the x, y, and z components of the direction vector in 3D space.
+     * Indicates whether the last position update left the aircraft rolling on the runway.
      *
-     * @param yaw The yaw angle of the aircraft (rotation around the vertical axis)
-     * @param pitch The pitch angle of the aircraft (forward or backward tilt)
-     * @param roll The roll angle of the aircraft (rotation around the longitudinal axis)
-     * @return A new Point3DCustom representing the direction vector in 3D space
+     * @return true if the aircraft is on the runway, false otherwise
      */
-    private Point3DCustom calculateDirectionVector(double yaw, double pitch, double roll) {
-        double yawRad = Math.toRadians(yaw);
-        double pitchRad = Math.toRadians(pitch);
+    public boolean isOnRunway() {
+        return onRunway;
+    }
+
+    /**
+     * Gets the position of the aircraft in the local frame of the runway it is tuned to.
+     * The position computed by the last {@link #updatePosition(double)} is reused as long as the aircraft
+     * and the runway have not moved since, so the rotation is done once per tick for all the instruments.
+     *
+     * @return The runway-local position, reused from one call to the next
+     */
+    public RunwayPosition getRunwayPosition() {
+        double x = getX();
+        double y = getY();
+        double z = getZ();
+        if (!runwayPosition.isCurrent(runwayModel, x, y, z)) {
+            runwayModel.toLocal(x, y, z, runwayPosition);
+        }
+        return runwayPosition;
+    }
 
-        double x = Math.cos(pitchRad) * Math.sin(yawRad);
-        double y = Math.sin(pitchRad);
-        double z = Math.cos(pitchRad) * Math.cos(yawRad);
+    /**
+     * Indicates whether the aircraft has hit the ground outside the runway. It stays on the ground until reset.
+     *
+     * @return true if the aircraft has crashed into the terrain
+     */
+    public boolean hasHitTerrain() {
+        return terrainContact;
+    }
 
-        return new Point3DCustom(x, y, z);
+    /**
+     * Indicates whether the aircraft, or the point it is about to reach, is too close to the ground away from
+     * the runway: a controlled flight into terrain is on its way. The check is made on each call, so that
+     * simulations which never ask for the warning do not pay for it.
+     *
+     * @return true if the terrain warning is on
+     */
+    public boolean isTerrainWarning() {
+        return !onRunway && !terrainContact && isTerrainAhead();
     }
 
     /**
-     * Calculates the altitude difference between the aircraft and the runway.
+     * Calculates the radio altitude: the height of the aircraft above the ground right under it.
      * @return The altitude difference in units
      */
     public double calculateAltitudeDifference() {
-        double runwayZ = runwayModel.getY();
-        double altitude = Math.abs(getY() - runwayZ);
-        logger.debug("Altitude difference calculated: {}", altitude);
+        double altitude = Math.max(0, groundProbe.getGroundY(getX(), getZ()) - getY());
+        if (logger.isDebugEnabled()) {
+            logger.debug("Altitude difference calculated: {}", altitude);
+        }
         return altitude;
     }
 
@@ -192,17 +402,19 @@ public class Aircraft extends Point3DCustom {
     public ILS getILS() { return ils; }
 
     /**
-     * Resets the aircraft state to default values.
+     * Resets the aircraft state to its start position and default values.
      */
     public void reset() {
         try {
-            setX(DEFAULT_X);
-            setY(DEFAULT_Y);
-            setZ(DEFAULT_Z);
+            setX(startX);
+            setY(startY);
+            setZ(startZ);
             setSpeed(DEFAULT_SPEED);
             setRoll(0);
             setPitch(0);
-            setYaw(0);
+            setYaw(startYaw);
+            onRunway = false;
+            terrainContact = false;
             logger.info("Aircraft state reset to default values");
         } catch (Exception e) {
             logger.error("Error resetting aircraft state", e);
@@ -212,4 +424,6 @@ public class Aircraft extends Point3DCustom {
     public Papi getPapi() { return papi; }
 
     public RunwayModel getRunwayModel() { return runwayModel; }
+
+    public Approach getApproach() { return approach; }
 }
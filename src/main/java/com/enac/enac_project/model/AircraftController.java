@@ -0,0 +1,20 @@
+package com.enac.enac_project.model;
+
+/**
+ * Control logic flying one aircraft of a {@link MultiAircraftSession}.
+ * Controllers are written as plain sequential code running on their own thread: they set the control
+ * inputs of the aircraft, then block in {@link MultiAircraftSession.FlightContext#awaitTick()} until
+ * every aircraft of the session has completed the tick, and start again.
+ */
+@FunctionalInterface
+public interface AircraftController {
+
+    /**
+     * Flies the aircraft until the approach is over or the session ends.
+     * Returning removes the aircraft from the session.
+     *
+     * @param context The access to the aircraft and to the session clock
+     * @throws InterruptedException if the session is stopped while the controller is waiting
+     */
+    void fly(MultiAircraftSession.FlightContext context) throws InterruptedException;
+}
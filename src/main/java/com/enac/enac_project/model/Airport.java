@@ -0,0 +1,77 @@
+package com.enac.enac_project.model;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An airport and the instrument approaches to its runways, as loaded by an {@link AirportDatabase}.
+ * Coordinates are expressed in the local frame of the airport, in meters.
+ */
+public final class Airport {
+    private static final Logger logger = LoggerFactory.getLogger(Airport.class);
+
+    private final String ident;
+    private final String name;
+    private final List<Approach> approaches;
+
+    /**
+     * Constructs an airport.
+     *
+     * @param ident The identifier of the airport
+     * @param name The name of the airport
+     * @param approaches The approaches to the runways of the airport
+     * @throws IllegalArgumentException if a parameter is null or there is no approach
+     */
+    public Airport(String ident, String name, List<Approach> approaches) {
+        if (ident == null || name == null || approaches == null || approaches.isEmpty()) {
+            String message = "Airport identifier, name and approaches must be provided";
+            logger.error(message);
+            throw new IllegalArgumentException(message);
+        }
+        this.ident = ident;
+        this.name = name;
+        this.approaches = List.copyOf(approaches);
+    }
+
+    /**
+     * Finds the approach to a runway.
+     *
+     * @param runway The runway designator, for instance "14R"
+     * @return The approach, or null if the airport has no such runway
+     */
+    public Approach getApproach(String runway) {
+        String approachIdent = ident + "/" + runway;
+        for (Approach approach : approaches) {
+            if (approach.getIdent().equals(approachIdent)) {
+                return approach;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Describes the marker beacons of every approach of the airport as navaids, as indexed for the ILS of its
+     * approaches.
+     *
+     * @return The navaids of the airport
+     */
+    public List<Navaid> getNavaids() {
+        List<Navaid> navaids = new ArrayList<>();
+        for (Approach approach : approaches) {
+            navaids.addAll(approach.getNavaids());
+        }
+        return navaids;
+    }
+
+    public String getIdent() { return ident; }
+    public String getName() { return name; }
+    public List<Approach> getApproaches() { return approaches; }
+
+    @Override
+    public String toString() {
+        return String.format("Airport[%s %s, %d approaches]", ident, name, approaches.size());
+    }
+}
@@ -0,0 +1,314 @@
+package com.enac.enac_project.model;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The AirportDatabase reads airports and their approaches from a compact text file.
+ * Opening a database only scans the file for airport headers; the runways of an airport are parsed the first
+ * time the airport is requested and the result is cached, so that a large dataset costs little at startup
+ * and nothing more than the airports actually flown to.
+ *
+ * <p>The file holds one record per line, with whitespace separated fields; blank lines and lines starting
+ * with {@code #} are ignored:</p>
+ * <pre>
+ * AIRPORT &lt;ident&gt; &lt;name&gt;
+ * RUNWAY &lt;designator&gt; &lt;x&gt; &lt;y&gt; &lt;z&gt; &lt;width&gt; &lt;height&gt; &lt;length&gt; &lt;heading&gt; [&lt;outer&gt; &lt;middle&gt; &lt;inner&gt; &lt;radius&gt;]
+ * </pre>
+ * <p>The runway records following an airport header belong to that airport. The optional marker fields give the
+ * distance of each marker beacon before the runway threshold, on the runway axis, and their detection radius;
+ * without them, the beacons are placed at the default distances of {@link Markers#alongAxis(RunwayModel)}.</p>
+ */
+public final class AirportDatabase {
+    private static final Logger logger = LoggerFactory.getLogger(AirportDatabase.class);
+
+    private static final String DEFAULT_RESOURCE = "/data/airports.txt";
+    private static final String AIRPORT_RECORD = "AIRPORT";
+    private static final String RUNWAY_RECORD = "RUNWAY";
+    private static final int RUNWAY_FIELDS = 9;
+    private static final int RUNWAY_FIELDS_WITH_MARKERS = 13;
+
+    private final String source;
+    private final byte[] data;
+    private final Map<String, int[]> blocks;  // Airport identifier to {header end offset, records end offset, number of the line after the header}
+    private final Map<String, Airport> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Holds the default database, loaded on first use.
+     */
+    private static final class DefaultHolder {
+        private static final AirportDatabase INSTANCE = loadDefault();
+    }
+
+    private AirportDatabase(String source, byte[] data) {
+        this.source = source;
+        this.data = data;
+        this.blocks = Collections.unmodifiableMap(scan());
+        logger.info("Airport database {} indexed with {} airports", source, blocks.size());
+    }
+
+    /**
+     * Opens a database file.
+     *
+     * @param path The file to read
+     * @return The database
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if an airport header is malformed or duplicated
+     */
+    public static AirportDatabase open(Path path) throws IOException {
+        return new AirportDatabase(path.toString(), Files.readAllBytes(path));
+    }
+
+    /**
+     * Opens a database from a stream, which is read entirely but not closed.
+     *
+     * @param source The name of the data source, used in messages
+     * @param input The stream to read
+     * @return The database
+     * @throws IOException if the stream cannot be read
+     * @throws IllegalArgumentException if an airport header is malformed or duplicated
+     */
+    public static AirportDatabase open(String source, InputStream input) throws IOException {
+        return new AirportDatabase(source, input.readAllBytes());
+    }
+
+    /**
+     * Gets the database shipped with the application.
+     *
+     * @return The default database
+     * @throws IllegalStateException if the shipped database cannot be read
+     */
+    public static AirportDatabase getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    /**
+     * Gets an airport, parsing its runways on the first request.
+     *
+     * @param ident The identifier of the airport
+     * @return The airport, or null if the database does not contain it
+     * @throws IllegalArgumentException if the records of the airport are malformed
+     */
+    public Airport getAirport(String ident) {
+        if (!blocks.containsKey(ident)) {
+            return null;
+        }
+        return cache.computeIfAbsent(ident, this::parseAirport);
+    }
+
+    /**
+     * Finds an approach from its identifier.
+     *
+     * @param ident The airport identifier and runway designator separated by a slash, for instance "LFBO/14R"
+     * @return The approach, or null if the database does not contain it
+     * @throws IllegalArgumentException if the records of the airport are malformed
+     */
+    public Approach getApproach(String ident) {
+        int separator = ident.indexOf('/');
+        if (separator < 0) {
+            return null;
+        }
+        Airport airport = getAirport(ident.substring(0, separator));
+        return airport != null ? airport.getApproach(ident.substring(separator + 1)) : null;
+    }
+
+    /**
+     * Gets the first approach of the first airport of the database.
+     *
+     * @return The default approach
+     * @throws IllegalStateException if the database is empty
+     */
+    public Approach getDefaultApproach() {
+        if (blocks.isEmpty()) {
+            String message = "Airport database " + source + " is empty";
+            logger.error(message);
+            throw new IllegalStateException(message);
+        }
+        return getAirport(blocks.keySet().iterator().next()).getApproaches().get(0);
+    }
+
+    /**
+     * Gets the identifiers of every airport of the database, without parsing any of them.
+     *
+     * @return The airport identifiers, in file order
+     */
+    public Set<String> getAirportIdents() {
+        return blocks.keySet();
+    }
+
+    /**
+     * Finds the airport headers and the extent of their records, without parsing the runways.
+     */
+    private Map<String, int[]> scan() {
+        Map<String, int[]> found = new LinkedHashMap<>();
+        int[] current = null;
+        int lineNumber = 0;
+        int start = 0;
+        while (start < data.length) {
+            int end = lineEnd(start);
+            lineNumber++;
+            if (startsWith(start, end, AIRPORT_RECORD)) {
+                if (current != null) {
+                    current[1] = start;
+                }
+                String[] fields = line(start, end).split("\\s+", 3);
+                if (fields.length < 2 || !fields[0].equals(AIRPORT_RECORD)) {
+                    throw malformed(lineNumber, "airport header must give an identifier");
+                }
+                current = new int[] {end, data.length, lineNumber + 1};
+                if (found.put(fields[1], current) != null) {
+                    throw malformed(lineNumber, "airport " + fields[1] + " is defined twice");
+                }
+            }
+            start = end + 1;
+        }
+        return found;
+    }
+
+    private Airport parseAirport(String ident) {
+        int[] block = blocks.get(ident);
+        int headerStart = headerStart(block[0]);
+        String[] header = line(headerStart, block[0]).split("\\s+", 3);
+        String name = header.length > 2 ? header[2] : ident;
+
+        List<RunwayRecord> records = new ArrayList<>();
+        int lineNumber = block[2];
+        int start = block[0] + 1;
+        while (start < block[1]) {
+            int end = lineEnd(start);
+            String line = line(start, end);
+            if (!line.isEmpty() && !line.startsWith("#")) {
+                records.add(parseRunway(line.split("\\s+"), lineNumber));
+            }
+            start = end + 1;
+            lineNumber++;
+        }
+        if (records.isEmpty()) {
+            throw malformed(block[2] - 1, "airport " + ident + " has no runway");
+        }
+
+        // One ground for the whole airport, flattened around all its runways
+        List<RunwayModel> runways = new ArrayList<>();
+        for (RunwayRecord record : records) {
+            runways.add(record.runway);
+        }
+        AirportTerrain terrain = new AirportTerrain(runways);
+
+        // One index of the marker beacons of every runway, queried by the ILS of each approach
+        List<Navaid> navaids = new ArrayList<>();
+        for (RunwayRecord record : records) {
+            navaids.addAll(record.markers.toNavaids(ident + "/" + record.designator));
+        }
+        NavaidIndex index = new NavaidIndex(navaids);
+
+        List<Approach> approaches = new ArrayList<>();
+        for (RunwayRecord record : records) {
+            approaches.add(new Approach(ident + "/" + record.designator, record.runway, record.markers, terrain,
+                                        index));
+        }
+
+        Airport airport = new Airport(ident, name, approaches);
+        logger.info("Parsed {}", airport);
+        return airport;
+    }
+
+    private RunwayRecord parseRunway(String[] fields, int lineNumber) {
+        if (!fields[0].equals(RUNWAY_RECORD)
+                || (fields.length != RUNWAY_FIELDS && fields.length != RUNWAY_FIELDS_WITH_MARKERS)) {
+            throw malformed(lineNumber, "expected a runway record");
+        }
+        try {
+            RunwayModel runway = new RunwayModel(Double.parseDouble(fields[2]), Double.parseDouble(fields[3]),
+                    Double.parseDouble(fields[4]), Double.parseDouble(fields[5]), Double.parseDouble(fields[6]),
+                    Double.parseDouble(fields[7]), Double.parseDouble(fields[8]));
+
+            Markers markers = Markers.alongAxis(runway);
+            if (fields.length == RUNWAY_FIELDS_WITH_MARKERS) {
+                markers = Markers.alongAxis(runway, Double.parseDouble(fields[9]), Double.parseDouble(fields[10]),
+                                            Double.parseDouble(fields[11]), Double.parseDouble(fields[12]));
+            }
+            return new RunwayRecord(fields[1], runway, markers);
+        } catch (NumberFormatException e) {
+            throw malformed(lineNumber, e.getMessage());
+        }
+    }
+
+    private int lineEnd(int start) {
+        int end = start;
+        while (end < data.length && data[end] != '\n') {
+            end++;
+        }
+        return end;
+    }
+
+    private int headerStart(int headerEnd) {
+        int start = headerEnd;
+        while (start > 0 && data[start - 1] != '\n') {
+            start--;
+        }
+        return start;
+    }
+
+    private boolean startsWith(int start, int end, String prefix) {
+        if (end - start < prefix.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (data[start + i] != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String line(int start, int end) {
+        return new String(data, start, end - start, StandardCharsets.UTF_8).trim();
+    }
+
+    private IllegalArgumentException malformed(int lineNumber, String reason) {
+        String message = String.format("Malformed airport database %s at line %d: %s", source, lineNumber, reason);
+        logger.error(message);
+        return new IllegalArgumentException(message);
+    }
+
+    private static AirportDatabase loadDefault() {
+        try (InputStream input = AirportDatabase.class.getResourceAsStream(DEFAULT_RESOURCE)) {
+            if (input == null) {
+                throw new IOException("resource not found");
+            }
+            return open(DEFAULT_RESOURCE, input);
+        } catch (IOException e) {
+            String message = "Failed to load airport database " + DEFAULT_RESOURCE;
+            logger.error(message, e);
+            throw new IllegalStateException(message, e);
+        }
+    }
+
+    /**
+     * A runway record of the data file, kept until all the runways of the airport are known.
+     */
+    private static final class RunwayRecord {
+        final String designator;
+        final RunwayModel runway;
+        final Markers markers;
+
+        RunwayRecord(String designator, RunwayModel runway, Markers markers) {
+            this.designator = designator;
+            this.runway = runway;
+            this.markers = markers;
+        }
+    }
+}
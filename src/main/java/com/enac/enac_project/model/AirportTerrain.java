@@ -0,0 +1,93 @@
+package com.enac.enac_project.model;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * The ground of an airport: a procedural terrain flattened around all of its runways and approach corridors, and the
+ * ground height service sampled from it. It is shared by the approaches to every runway of the airport, so that two
+ * aircraft at the same place find the same ground whatever approach they are tuned to, and tuning to another runway
+ * of the same airport keeps the ground under the aircraft.
+ */
+public final class AirportTerrain {
+    private static final Logger logger = LoggerFactory.getLogger(AirportTerrain.class);
+
+    private final ProceduralTerrain terrain;
+    private volatile GroundHeightService ground;
+
+    /**
+     * Constructs the ground around the runways of an airport.
+     *
+     * @param runways The runways of the airport
+     * @throws IllegalArgumentException if there is no runway
+     */
+    public AirportTerrain(List<RunwayModel> runways) {
+        if (runways == null || runways.isEmpty()) {
+            String message = "Airport terrain needs at least one runway";
+            logger.error(message);
+            throw new IllegalArgumentException(message);
+        }
+        this.terrain = new ProceduralTerrain(runways);
+    }
+
+    /**
+     * Gets the ground service shared by every aircraft flying to the airport, created on first use with a heightmap
+     * kept in memory and sampled from the terrain, so that batches of approaches do not depend on any file;
+     * unless {@link #getGround(Path)} has already created it with its tiles on disk.
+     *
+     * @return The ground height service
+     */
+    public GroundHeightService getGround() {
+        GroundHeightService result = ground;
+        if (result == null) {
+            synchronized (this) {
+                result = ground;
+                if (result == null) {
+                    result = new GroundHeightService(new HeightmapTileStore(terrain));
+                    ground = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the ground service shared by every aircraft flying to the airport, created on first use with a heightmap
+     * whose tiles are kept in a directory from one run to the next. Interactive flights call this before creating
+     * their aircraft, so that the simulation and the view read the same tiles, and the tiles prefetched along the
+     * track are the ones the aircraft queries. The ground is never replaced once created: if it already exists,
+     * it is returned as is.
+     *
+     * @param directory The directory of the tile files, which must only hold tiles of this terrain
+     * @return The ground height service
+     * @throws IllegalArgumentException if directory is null
+     */
+    public synchronized GroundHeightService getGround(Path directory) {
+        if (directory == null) {
+            String message = "Terrain tile directory must not be null";
+            logger.error(message);
+            throw new IllegalArgumentException(message);
+        }
+        if (ground == null) {
+            ground = new GroundHeightService(new HeightmapTileStore(directory, terrain));
+        } else if (!directory.equals(ground.getHeightmap().getDirectory())) {
+            logger.warn("Ground of {} is already in use, its tiles are not stored in {}", this, directory);
+        }
+        return ground;
+    }
+
+    /**
+     * Gets the terrain the ground is sampled from.
+     *
+     * @return The procedural terrain around the runways
+     */
+    public ProceduralTerrain getTerrain() { return terrain; }
+
+    @Override
+    public String toString() {
+        return String.format("AirportTerrain[%s]", terrain);
+    }
+}
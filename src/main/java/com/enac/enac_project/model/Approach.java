@@ -0,0 +1,127 @@
+package com.enac.enac_project.model;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * An instrument approach to one runway: the runway itself together with its glide path, localizer and markers.
+ * The ILS of an approach holds no per-aircraft state, so a single approach is shared by every aircraft tuned to it;
+ * the PAPI, which remembers the last level it showed, is created by each aircraft through {@link #createPapi()}.
+ * The same goes for the ground, which belongs to the airport and is shared with the approaches to its other runways;
+ * each aircraft queries it through its own {@link GroundHeightService.Probe}.
+ */
+public final class Approach {
+    private static final Logger logger = LoggerFactory.getLogger(Approach.class);
+
+    private static final String DEFAULT_IDENT = "RWY";
+
+    private final String ident;
+    private final RunwayModel runway;
+    private final GlidePath glidePath;
+    private final ILS ils;
+    private final AirportTerrain terrain;
+
+    /**
+     * Constructs an approach to a runway with the default marker beacons on its extended axis.
+     *
+     * @param runway The runway
+     * @throws IllegalArgumentException if runway is null
+     */
+    public Approach(RunwayModel runway) {
+        this(DEFAULT_IDENT, runway, null);
+    }
+
+    /**
+     * Constructs an approach to a runway standing alone, with its own ground.
+     *
+     * @param ident The identifier of the approach, for instance the airport and runway designator
+     * @param runway The runway
+     * @param markers The marker beacons of the approach, or null for the default beacons on the runway axis
+     * @throws IllegalArgumentException if ident or runway is null
+     */
+    public Approach(String ident, RunwayModel runway, Markers markers) {
+        this(ident, runway, markers, runway != null ? new AirportTerrain(List.of(runway)) : null);
+    }
+
+    /**
+     * Constructs an approach to a runway of an airport.
+     *
+     * @param ident The identifier of the approach, for instance the airport and runway designator
+     * @param runway The runway
+     * @param markers The marker beacons of the approach, or null for the default beacons on the runway axis
+     * @param terrain The ground of the airport, shared by the approaches to all its runways
+     * @throws IllegalArgumentException if ident, runway or terrain is null
+     */
+    public Approach(String ident, RunwayModel runway, Markers markers, AirportTerrain terrain) {
+        this(ident, runway, markers, terrain, null);
+    }
+
+    /**
+     * Constructs an approach to a runway of an airport whose marker beacons are all received through an index.
+     *
+     * @param ident The identifier of the approach, for instance the airport and runway designator
+     * @param runway The runway
+     * @param markers The marker beacons of the approach, or null for the default beacons on the runway axis
+     * @param terrain The ground of the airport, shared by the approaches to all its runways
+     * @param navaids The index of the marker beacons of the airport, or null to check the markers of the approach only
+     * @throws IllegalArgumentException if ident, runway or terrain is null
+     */
+    public Approach(String ident, RunwayModel runway, Markers markers, AirportTerrain terrain, NavaidIndex navaids) {
+        if (ident == null || runway == null || terrain == null) {
+            String message = "Approach identifier, runway and terrain must not be null";
+            logger.error(message);
+            throw new IllegalArgumentException(message);
+        }
+        this.ident = ident;
+        this.runway = runway;
+        this.glidePath = new GlidePath(runway);
+        this.ils = new ILS(runway, glidePath, markers != null ? markers : Markers.alongAxis(runway), navaids);
+        this.terrain = terrain;
+    }
+
+    /**
+     * Creates a PAPI for this approach. Each aircraft needs its own, since a PAPI keeps the level it last showed.
+     *
+     * @return A new PAPI sharing the glide path of the approach
+     */
+    public Papi createPapi() {
+        return new Papi(runway, glidePath);
+    }
+
+    /**
+     * Describes the marker beacons of the approach as navaids, for a {@link NavaidIndex}.
+     *
+     * @return The outer, middle and inner marker navaids
+     */
+    public List<Navaid> getNavaids() {
+        return ils.getMarkers().toNavaids(ident);
+    }
+
+    /**
+     * Gets the ground service shared by every aircraft flying to the airport of this approach.
+     *
+     * @return The ground height service
+     */
+    public GroundHeightService getGround() {
+        return terrain.getGround();
+    }
+
+    public String getIdent() { return ident; }
+    public RunwayModel getRunway() { return runway; }
+    public GlidePath getGlidePath() { return glidePath; }
+    public ILS getILS() { return ils; }
+
+    /**
+     * Gets the ground of the airport, shared by the approaches to all its runways.
+     *
+     * @return The terrain of the airport
+     */
+    public AirportTerrain getTerrain() { return terrain; }
+
+    @Override
+    public String toString() {
+        return String.format("Approach[%s, %s]", ident, runway);
+    }
+}
@@ -0,0 +1,59 @@
+package com.enac.enac_project.model;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The ApproachDispersion class describes the random perturbations applied to the start of each
+ * approach in a batch run. Every value is the standard deviation of a normal distribution
+ * centred on the nominal approach.
+ */
+public class ApproachDispersion {
+    private static final Logger logger = LoggerFactory.getLogger(ApproachDispersion.class);
+
+    /** Moderate dispersion around a stabilised 3 degree approach. */
+    public static final ApproachDispersion DEFAULT = new ApproachDispersion(50, 20, 1.0, 0.5, 2.0);
+
+    private final double lateralSigma;   // Lateral offset from the runway axis in meters
+    private final double verticalSigma;  // Height offset from the glide path in meters
+    private final double headingSigma;   // Yaw in degrees
+    private final double pitchSigma;     // Pitch around the nominal descent angle in degrees
+    private final double rollSigma;      // Roll in degrees
+
+    /**
+     * Constructs an approach dispersion.
+     *
+     * @param lateralSigma The standard deviation of the lateral start offset in meters
+     * @param verticalSigma The standard deviation of the vertical start offset in meters
+     * @param headingSigma The standard deviation of the start heading in degrees
+     * @param pitchSigma The standard deviation of the start pitch in degrees
+     * @param rollSigma The standard deviation of the start roll in degrees
+     * @throws IllegalArgumentException if any value is negative
+     */
+    public ApproachDispersion(double lateralSigma, double verticalSigma,
+                              double headingSigma, double pitchSigma, double rollSigma) {
+        if (lateralSigma < 0 || verticalSigma < 0 || headingSigma < 0 || pitchSigma < 0 || rollSigma < 0) {
+            String message = "Dispersion standard deviations cannot be negative";
+            logger.error(message);
+            throw new IllegalArgumentException(message);
+        }
+
+        this.lateralSigma = lateralSigma;
+        this.verticalSigma = verticalSigma;
+        this.headingSigma = headingSigma;
+        this.pitchSigma = pitchSigma;
+        this.rollSigma = rollSigma;
+    }
+
+    public double getLateralSigma() { return lateralSigma; }
+    public double getVerticalSigma() { return verticalSigma; }
+    public double getHeadingSigma() { return headingSigma; }
+    public double getPitchSigma() { return pitchSigma; }
+    public double getRollSigma() { return rollSigma; }
+
+    @Override
+    public String toString() {
+        return String.format("ApproachDispersion[lateral=%.1f, vertical=%.1f, heading=%.2f, pitch=%.2f, roll=%.2f]",
+                           lateralSigma, verticalSigma, headingSigma, pitchSigma, rollSigma);
+    }
+}
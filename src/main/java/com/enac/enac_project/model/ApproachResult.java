@@ -0,0 +1,59 @@
+package com.enac.enac_project.model;
+
+/**
+ * The ApproachResult class holds the outcome of one simulated approach of a batch run.
+ */
+public class ApproachResult {
+
+    /**
+     * The ways an approach can end.
+     */
+    public enum Outcome {
+        /** The aircraft reached the runway. */
+        LANDED,
+        /** The aircraft hit the ground outside the runway. */
+        CRASHED,
+        /** The aircraft overflew the runway or ran out of time. */
+        MISSED
+    }
+
+    private final Outcome outcome;
+    private final double touchdownX;
+    private final double touchdownZ;
+    private final int finalPapiLevel;
+    private final RunningStatistics localizerDeviation;
+    private final RunningStatistics glidePathDeviation;
+
+    /**
+     * Constructs an approach result.
+     *
+     * @param outcome How the approach ended
+     * @param touchdownX The x coordinate where the aircraft touched the ground, NaN if it did not
+     * @param touchdownZ The z coordinate where the aircraft touched the ground, NaN if it did not
+     * @param finalPapiLevel The last PAPI level seen before the approach ended
+     * @param localizerDeviation The localizer angle sampled at every step, in degrees
+     * @param glidePathDeviation The deviation from the nominal glide path angle sampled at every step, in degrees
+     */
+    public ApproachResult(Outcome outcome, double touchdownX, double touchdownZ, int finalPapiLevel,
+                          RunningStatistics localizerDeviation, RunningStatistics glidePathDeviation) {
+        this.outcome = outcome;
+        this.touchdownX = touchdownX;
+        this.touchdownZ = touchdownZ;
+        this.finalPapiLevel = finalPapiLevel;
+        this.localizerDeviation = localizerDeviation;
+        this.glidePathDeviation = glidePathDeviation;
+    }
+
+    public Outcome getOutcome() { return outcome; }
+    public double getTouchdownX() { return touchdownX; }
+    public double getTouchdownZ() { return touchdownZ; }
+    public int getFinalPapiLevel() { return finalPapiLevel; }
+    public RunningStatistics getLocalizerDeviation() { return localizerDeviation; }
+    public RunningStatistics getGlidePathDeviation() { return glidePathDeviation; }
+
+    @Override
+    public String toString() {
+        return String.format("ApproachResult[%s, touchdown=(%f, %f), papi=%d]",
+                           outcome, touchdownX, touchdownZ, finalPapiLevel);
+    }
+}
@@ -0,0 +1,112 @@
+package com.enac.enac_project.model;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The Autopilot flies a coupled ILS approach: it steers the aircraft onto the localizer and the glide path
+ * by reading the ILS deviations and setting the yaw, pitch and speed of the aircraft through PID loops.
+ * It does not depend on any user interface and can be used by the simulation engine, a batch run or a session.
+ * An autopilot keeps the state of its loops and must therefore only fly one aircraft at a time.
+ */
+public class Autopilot {
+    private static final Logger logger = LoggerFactory.getLogger(Autopilot.class);
+
+    private static final double DEFAULT_APPROACH_SPEED = 50;
+    private static final double MAX_INTERCEPT_ANGLE = 30;    // Largest heading correction in degrees
+    private static final double MAX_PITCH_CORRECTION = 5;    // Largest departure from the nominal descent angle in degrees
+    private static final double MAX_ACCELERATION = 5;        // Largest speed change per second
+    private static final double GLIDE_PATH_CAPTURE_DISTANCE = 150;  // Below this DME the descent angle is held
+
+    private final double approachSpeed;
+    private final PidController localizerLoop = new PidController(2.0, 0.05, 0.5, -MAX_INTERCEPT_ANGLE, MAX_INTERCEPT_ANGLE);
+    private final PidController glidePathLoop = new PidController(3.0, 0.2, 0.5, -MAX_PITCH_CORRECTION, MAX_PITCH_CORRECTION);
+    private final PidController speedLoop = new PidController(0.5, 0.05, 0, -MAX_ACCELERATION, MAX_ACCELERATION);
+
+    /**
+     * Constructs an autopilot holding the default approach speed.
+     */
+    public Autopilot() {
+        this(DEFAULT_APPROACH_SPEED);
+    }
+
+    /**
+     * Constructs an autopilot.
+     *
+     * @param approachSpeed The speed held during the approach
+     * @throws IllegalArgumentException if approachSpeed is not positive
+     */
+    public Autopilot(double approachSpeed) {
+        if (approachSpeed <= 0) {
+            String message = "Approach speed must be positive";
+            logger.error(message);
+            throw new IllegalArgumentException(message);
+        }
+        this.approachSpeed = approachSpeed;
+    }
+
+    /**
+     * Sets the control inputs of the aircraft for the next time step from the current ILS guidance.
+     * Once the aircraft rolls on the runway the autopilot levels it and lets it decelerate.
+     *
+     * @param aircraft The aircraft to fly
+     * @param guidance The ILS guidance at the current position of the aircraft
+     * @param dt The duration of the next time step in seconds
+     */
+    public void apply(Aircraft aircraft, GuidanceResult guidance, double dt) {
+        if (aircraft.isOnRunway()) {
+            aircraft.setPitch(0);
+            return;
+        }
+
+        // A positive localizer angle means the aircraft is left of the axis and must turn right of the runway heading
+        double heading = aircraft.getRunwayModel().getHeading();
+        aircraft.setYaw(Aircraft.toYaw(heading + localizerLoop.update(guidance.getLocalizerAngle(), dt)));
+
+        // Above the glide path the glide slope angle is larger than the descent angle and the descent is steepened
+        double descentAngle = aircraft.getILS().getDescentAngle();
+        double correction = 0;
+        if (guidance.getDme() > GLIDE_PATH_CAPTURE_DISTANCE) {
+            correction = glidePathLoop.update(guidance.getGlideSlopeAngle() - descentAngle, dt);
+        }
+        aircraft.setPitch(descentAngle + correction);
+
+        double acceleration = speedLoop.update(approachSpeed - aircraft.getSpeed(), dt);
+        aircraft.setSpeed(aircraft.getSpeed() + acceleration * dt);
+    }
+
+    /**
+     * Clears the state of the control loops, before flying a new approach.
+     */
+    public void reset() {
+        localizerLoop.reset();
+        glidePathLoop.reset();
+        speedLoop.reset();
+    }
+
+    /**
+     * Gets the speed held during the approach.
+     *
+     * @return The approach speed
+     */
+    public double getApproachSpeed() { return approachSpeed; }
+
+    /**
+     * Creates a session controller flying the aircraft with this autopilot until it has stopped on the runway
+     * or the session ends.
+     *
+     * @return The controller
+     */
+    public AircraftController asController() {
+        return context -> {
+            reset();
+            Aircraft aircraft = context.getAircraft();
+            do {
+                if (aircraft.isOnRunway() && aircraft.getSpeed() <= 0) {
+                    return;
+                }
+                apply(aircraft, context.getGuidance(), context.getStepSeconds());
+            } while (context.awaitTick());
+        };
+    }
+}
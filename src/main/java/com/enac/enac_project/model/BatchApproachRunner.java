@@ -0,0 +1,265 @@
+package com.enac.enac_project.model;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * The BatchApproachRunner flies many independent approaches to a runway in parallel, each one starting
+ * from a randomly perturbed position and attitude, and aggregates their outcomes into {@link BatchStatistics}.
+ * It only relies on the model classes and can therefore run without any display.
+ * Approaches are seeded from their index, so a batch gives the same result whatever the number of threads.
+ */
+public class BatchApproachRunner {
+    private static final Logger logger = LoggerFactory.getLogger(BatchApproachRunner.class);
+
+    private static final double DEFAULT_START_DISTANCE = 7000;  // Start distance before the threshold in meters
+    private static final double DEFAULT_START_SPEED = 50;
+    private static final double MAX_APPROACH_SECONDS = 600;     // Approaches still flying after this are missed
+    private static final long SEED_INCREMENT = 0x9E3779B97F4A7C15L;
+
+    private final RunwayModel runway;
+    private final ApproachDispersion dispersion;
+    private final long seed;
+    private final double startDistance;
+    private final double stepSeconds;
+    private final ThreadLocal<Aircraft> workerAircraft;
+    private volatile boolean autopilotEnabled;
+
+    /**
+     * Constructs a batch runner with the default start distance and physics frequency.
+     *
+     * @param runway The runway the approaches are flown to
+     * @param dispersion The perturbations applied to each approach
+     * @param seed The seed from which every approach derives its random perturbations
+     * @throws IllegalArgumentException if runway or dispersion is null
+     */
+    public BatchApproachRunner(RunwayModel runway, ApproachDispersion dispersion, long seed) {
+        this(runway, dispersion, seed, DEFAULT_START_DISTANCE, Aircraft.REFERENCE_TICK_SECONDS);
+    }
+
+    /**
+     * Constructs a batch runner.
+     *
+     * @param runway The runway the approaches are flown to
+     * @param dispersion The perturbations applied to each approach
+     * @param seed The seed from which every approach derives its random perturbations
+     * @param startDistance The nominal distance between the start position and the runway threshold in meters
+     * @param stepSeconds The physics time step in seconds
+     * @throws IllegalArgumentException if runway or dispersion is null, or a value is not positive
+     */
+    public BatchApproachRunner(RunwayModel runway, ApproachDispersion dispersion, long seed,
+                               double startDistance, double stepSeconds) {
+        this(runway != null ? new Approach(runway) : null, dispersion, seed, startDistance, stepSeconds);
+    }
+
+    /**
+     * Constructs a batch runner flying an approach with the default start distance and physics frequency.
+     *
+     * @param approach The approach flown
+     * @param dispersion The perturbations applied to each approach
+     * @param seed The seed from which every approach derives its random perturbations
+     * @throws IllegalArgumentException if approach or dispersion is null
+     */
+    public BatchApproachRunner(Approach approach, ApproachDispersion dispersion, long seed) {
+        this(approach, dispersion, seed, DEFAULT_START_DISTANCE, Aircraft.REFERENCE_TICK_SECONDS);
+    }
+
+    /**
+     * Constructs a batch runner flying an approach.
+     *
+     * @param approach The approach flown
+     * @param dispersion The perturbations applied to each approach
+     * @param seed The seed from which every approach derives its random perturbations
+     * @param startDistance The nominal distance between the start position and the runway threshold in meters
+     * @param stepSeconds The physics time step in seconds
+     * @throws IllegalArgumentException if approach or dispersion is null, or a value is not positive
+     */
+    public BatchApproachRunner(Approach approach, ApproachDispersion dispersion, long seed,
+                               double startDistance, double stepSeconds) {
+        if (approach == null || dispersion == null) {
+            String message = "Runway and dispersion must not be null";
+            logger.error(message);
+            throw new IllegalArgumentException(message);
+        }
+        if (startDistance <= 0 || stepSeconds <= 0) {
+            String message = "Start distance and time step must be positive";
+            logger.error(message);
+            throw new IllegalArgumentException(message);
+        }
+
+        this.runway = approach.getRunway();
+        this.dispersion = dispersion;
+        this.seed = seed;
+        this.startDistance = startDistance;
+        this.stepSeconds = stepSeconds;
+        // Each worker thread reuses one aircraft (and its ILS and PAPI) for all of its approaches
+        this.workerAircraft = ThreadLocal.withInitial(() -> new Aircraft(approach, 0, 0, 0));
+    }
+
+    /**
+     * Chooses whether the approaches are flown by an {@link Autopilot} coupled to the ILS,
+     * or keep their initial, perturbed attitude all the way down.
+     *
+     * @param autopilotEnabled true to fly the approaches with the autopilot
+     */
+    public void setAutopilotEnabled(boolean autopilotEnabled) {
+        this.autopilotEnabled = autopilotEnabled;
+    }
+
+    public boolean isAutopilotEnabled() { return autopilotEnabled; }
+
+    /**
+     * Runs a batch of approaches using all available processors.
+     *
+     * @param approaches The number of approaches to fly
+     * @return The aggregated statistics
+     */
+    public BatchStatistics run(int approaches) {
+        return run(approaches, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Runs a batch of approaches on a dedicated fork-join pool.
+     *
+     * @param approaches The number of approaches to fly
+     * @param parallelism The number of worker threads
+     * @return The aggregated statistics
+     * @throws IllegalArgumentException if approaches is negative or parallelism is not positive
+     */
+    public BatchStatistics run(int approaches, int parallelism) {
+        if (approaches < 0 || parallelism < 1) {
+            String message = "Approach count cannot be negative and parallelism must be positive";
+            logger.error(message);
+            throw new IllegalArgumentException(message);
+        }
+
+        logger.info("Running {} approaches on {} threads with {}", approaches, parallelism, dispersion);
+        long start = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            BatchStatistics statistics = pool.submit(() -> IntStream.range(0, approaches)
+                    .parallel()
+                    .collect(() -> new BatchStatistics(runway),
+                             (stats, index) -> stats.add(runApproach(index)),
+                             BatchStatistics::merge))
+                    .join();
+            logger.info("Batch of {} approaches completed in {} ms",
+                       approaches, (System.nanoTime() - start) / 1_000_000);
+            return statistics;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Flies a single approach. The same index always produces the same approach.
+     *
+     * @param index The index of the approach within the batch
+     * @return The outcome of the approach
+     */
+    public ApproachResult runApproach(int index) {
+        return runApproach(index, null);
+    }
+
+    /**
+     * Flies a single approach, passing the state of every tick to a trace consumer, for instance to record it.
+     * Snapshots are only allocated when a trace is given.
+     *
+     * @param index The index of the approach within the batch
+     * @param trace The consumer receiving one snapshot per tick, or null
+     * @return The outcome of the approach
+     */
+    public ApproachResult runApproach(int index, Consumer<SimulationSnapshot> trace) {
+        SplittableRandom random = new SplittableRandom(seed + index * SEED_INCREMENT);
+        Aircraft aircraft = workerAircraft.get();
+        ILS ils = aircraft.getILS();
+        Papi papi = aircraft.getPapi();
+        GuidanceResult guidance = new GuidanceResult();
+        double descentAngle = ils.getDescentAngle();
+
+        // Nominal start on the runway axis and on the glide path, then perturbed
+        double lateralOffset = random.nextGaussian() * dispersion.getLateralSigma();
+        aircraft.setX(runway.getThresholdX() + lateralOffset * runway.getAxisZ()
+                      - startDistance * runway.getAxisX());
+        aircraft.setY(runway.getThresholdY() - startDistance * Math.tan(Math.toRadians(descentAngle))
+                      + random.nextGaussian() * dispersion.getVerticalSigma());
+        aircraft.setZ(runway.getThresholdZ() - startDistance * runway.getAxisZ()
+                      - lateralOffset * runway.getAxisX());
+        aircraft.setSpeed(DEFAULT_START_SPEED);
+        aircraft.setYaw(Aircraft.toYaw(runway.getHeading() + random.nextGaussian() * dispersion.getHeadingSigma()));
+        aircraft.setPitch(descentAngle + random.nextGaussian() * dispersion.getPitchSigma());
+        aircraft.setRoll(random.nextGaussian() * dispersion.getRollSigma());
+
+        RunningStatistics localizerDeviation = new RunningStatistics();
+        RunningStatistics glidePathDeviation = new RunningStatistics();
+        long maxSteps = (long) (MAX_APPROACH_SECONDS / stepSeconds);
+        int papiLevel = 0;
+        SimulationSnapshot snapshot = null;
+        Autopilot autopilot = null;
+        if (autopilotEnabled) {
+            autopilot = new Autopilot(DEFAULT_START_SPEED);
+            ils.computeGuidance(aircraft.getRunwayPosition(), guidance);
+        }
+
+        for (long step = 0; step < maxSteps; step++) {
+            if (autopilot != null) {
+                autopilot.apply(aircraft, guidance, stepSeconds);
+            }
+            aircraft.updatePosition(stepSeconds);
+
+            boolean landed = aircraft.isOnRunway();
+            boolean crashed = !landed && aircraft.hasHitTerrain();
+            if (trace != null && (landed || crashed)) {
+                // The final tick is only traced, it does not contribute to the deviation statistics
+                ils.computeGuidance(aircraft.getRunwayPosition(), guidance);
+                papi.updatePapiState(guidance);
+                snapshot = traceTick(trace, snapshot, step + 1, aircraft, guidance, papi.getPapiLevel());
+            }
+            if (landed) {
+                return new ApproachResult(ApproachResult.Outcome.LANDED, aircraft.getX(), aircraft.getZ(),
+                                          papiLevel, localizerDeviation, glidePathDeviation);
+            }
+            if (crashed) {
+                return new ApproachResult(ApproachResult.Outcome.CRASHED, aircraft.getX(), aircraft.getZ(),
+                                          papiLevel, localizerDeviation, glidePathDeviation);
+            }
+            if (aircraft.getRunwayPosition().getAlong() > runway.getLength()) {
+                break;
+            }
+
+            ils.computeGuidance(aircraft.getRunwayPosition(), guidance);
+            papi.updatePapiState(guidance);
+            papiLevel = papi.getPapiLevel();
+            localizerDeviation.add(guidance.getLocalizerAngle());
+            glidePathDeviation.add(guidance.getGlideSlopeAngle() - descentAngle);
+            if (trace != null) {
+                snapshot = traceTick(trace, snapshot, step + 1, aircraft, guidance, papiLevel);
+            }
+        }
+
+        return new ApproachResult(ApproachResult.Outcome.MISSED, Double.NaN, Double.NaN,
+                                  papiLevel, localizerDeviation, glidePathDeviation);
+    }
+
+    private SimulationSnapshot traceTick(Consumer<SimulationSnapshot> trace, SimulationSnapshot previous, long tick,
+                                         Aircraft aircraft, GuidanceResult guidance, int papiLevel) {
+        SimulationSnapshot snapshot = new SimulationSnapshot(previous, tick, tick * stepSeconds,
+                aircraft.getX(), aircraft.getY(), aircraft.getZ(),
+                aircraft.getSpeed(), aircraft.getYaw(), aircraft.getPitch(), aircraft.getRoll(),
+                aircraft.calculateAltitudeDifference(),
+                guidance.getLocalizerBar(),
+                guidance.getGlidePathBar(),
+                guidance.getDme(),
+                guidance.isOuterMarker(),
+                guidance.isMiddleMarker(),
+                guidance.isInnerMarker(),
+                papiLevel);
+        trace.accept(snapshot);
+        return snapshot;
+    }
+}
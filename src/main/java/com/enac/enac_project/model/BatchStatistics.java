@@ -0,0 +1,154 @@
+package com.enac.enac_project.model;
+
+/**
+ * The BatchStatistics class aggregates the results of many approaches flown against the same runway.
+ * Instances are mutable accumulators meant to be filled on one thread and merged with the others
+ * at the end of a parallel batch.
+ */
+public class BatchStatistics {
+    private static final int PAPI_LEVELS = 5;
+
+    private final double thresholdX;
+    private final double thresholdZ;
+    private final double axisX;
+    private final double axisZ;
+    private long approaches;
+    private long landed;
+    private long crashed;
+    private long missed;
+    private final long[] finalPapiLevels = new long[PAPI_LEVELS + 1];
+    private final RunningStatistics touchdownDistance = new RunningStatistics();
+    private final RunningStatistics touchdownLateralOffset = new RunningStatistics();
+    private final RunningStatistics localizerDeviation = new RunningStatistics();
+    private final RunningStatistics glidePathDeviation = new RunningStatistics();
+    private final RunningStatistics maxLocalizerDeviation = new RunningStatistics();
+    private final RunningStatistics maxGlidePathDeviation = new RunningStatistics();
+
+    /**
+     * Constructs empty statistics for approaches to the given runway.
+     *
+     * @param runway The runway the approaches are flown to
+     */
+    public BatchStatistics(RunwayModel runway) {
+        this.thresholdX = runway.getThresholdX();
+        this.thresholdZ = runway.getThresholdZ();
+        this.axisX = runway.getAxisX();
+        this.axisZ = runway.getAxisZ();
+    }
+
+    /**
+     * Adds the result of one approach.
+     *
+     * @param result The approach result
+     */
+    public void add(ApproachResult result) {
+        approaches++;
+        switch (result.getOutcome()) {
+            case LANDED:
+                landed++;
+                // Touchdown point in the runway-local frame
+                double deltaX = result.getTouchdownX() - thresholdX;
+                double deltaZ = result.getTouchdownZ() - thresholdZ;
+                touchdownDistance.add(deltaX * axisX + deltaZ * axisZ);
+                touchdownLateralOffset.add(deltaX * axisZ - deltaZ * axisX);
+                break;
+            case CRASHED:
+                crashed++;
+                break;
+            default:
+                missed++;
+                break;
+        }
+
+        int level = result.getFinalPapiLevel();
+        if (level >= 0 && level <= PAPI_LEVELS) {
+            finalPapiLevels[level]++;
+        }
+
+        RunningStatistics localizer = result.getLocalizerDeviation();
+        RunningStatistics glidePath = result.getGlidePathDeviation();
+        localizerDeviation.merge(localizer);
+        glidePathDeviation.merge(glidePath);
+        if (localizer.getCount() > 0) {
+            maxLocalizerDeviation.add(Math.max(Math.abs(localizer.getMin()), Math.abs(localizer.getMax())));
+        }
+        if (glidePath.getCount() > 0) {
+            maxGlidePathDeviation.add(Math.max(Math.abs(glidePath.getMin()), Math.abs(glidePath.getMax())));
+        }
+    }
+
+    /**
+     * Merges statistics accumulated on another thread into this instance.
+     *
+     * @param other The statistics to merge
+     */
+    public void merge(BatchStatistics other) {
+        approaches += other.approaches;
+        landed += other.landed;
+        crashed += other.crashed;
+        missed += other.missed;
+        for (int i = 0; i < finalPapiLevels.length; i++) {
+            finalPapiLevels[i] += other.finalPapiLevels[i];
+        }
+        touchdownDistance.merge(other.touchdownDistance);
+        touchdownLateralOffset.merge(other.touchdownLateralOffset);
+        localizerDeviation.merge(other.localizerDeviation);
+        glidePathDeviation.merge(other.glidePathDeviation);
+        maxLocalizerDeviation.merge(other.maxLocalizerDeviation);
+        maxGlidePathDeviation.merge(other.maxGlidePathDeviation);
+    }
+
+    public long getApproaches() { return approaches; }
+    public long getLanded() { return landed; }
+    public long getCrashed() { return crashed; }
+    public long getMissed() { return missed; }
+
+    /**
+     * Gets the number of approaches that ended with the given PAPI level.
+     *
+     * @param level The PAPI level, from 1 (too high) to 5 (too low)
+     * @return The number of approaches
+     */
+    public long getFinalPapiLevelCount(int level) {
+        return level >= 0 && level <= PAPI_LEVELS ? finalPapiLevels[level] : 0;
+    }
+
+    /**
+     * Gets the touchdown distance past the runway threshold of the landed approaches.
+     *
+     * @return The touchdown distance statistics in meters
+     */
+    public RunningStatistics getTouchdownDistance() { return touchdownDistance; }
+
+    /**
+     * Gets the lateral touchdown offset from the runway axis of the landed approaches.
+     *
+     * @return The lateral offset statistics in meters
+     */
+    public RunningStatistics getTouchdownLateralOffset() { return touchdownLateralOffset; }
+
+    public RunningStatistics getLocalizerDeviation() { return localizerDeviation; }
+    public RunningStatistics getGlidePathDeviation() { return glidePathDeviation; }
+    public RunningStatistics getMaxLocalizerDeviation() { return maxLocalizerDeviation; }
+    public RunningStatistics getMaxGlidePathDeviation() { return maxGlidePathDeviation; }
+
+    @Override
+    public String toString() {
+        StringBuilder papi = new StringBuilder();
+        for (int level = 1; level <= PAPI_LEVELS; level++) {
+            papi.append(level).append('=').append(finalPapiLevels[level]).append(level < PAPI_LEVELS ? ", " : "");
+        }
+        return String.format("BatchStatistics[approaches=%d, landed=%d, crashed=%d, missed=%d]%n"
+                           + "  touchdown distance: %s%n"
+                           + "  touchdown lateral offset: %s%n"
+                           + "  final PAPI levels: %s%n"
+                           + "  localizer deviation (deg): %s%n"
+                           + "  glide path deviation (deg): %s%n"
+                           + "  max localizer deviation per approach (deg): %s%n"
+                           + "  max glide path deviation per approach (deg): %s",
+                           approaches, landed, crashed, missed,
+                           touchdownDistance, touchdownLateralOffset, papi,
+                           localizerDeviation, glidePathDeviation,
+                           maxLocalizerDeviation, maxGlidePathDeviation);
+    }
+}
@@ -0,0 +1,113 @@
+package com.enac.enac_project.model;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.function.DoubleConsumer;
+
+/**
+ * The FixedTimestepIntegrator converts variable real-time intervals into a whole number of fixed
+ * physics steps using an accumulator. Simulated distances therefore no longer depend on scheduler
+ * jitter, and the fraction of a step left in the accumulator can be used to interpolate the rendered state.
+ */
+public class FixedTimestepIntegrator {
+    private static final Logger logger = LoggerFactory.getLogger(FixedTimestepIntegrator.class);
+
+    private static final double MIN_FREQUENCY = 1;      // Minimum physics frequency in Hz
+    private static final double MAX_FREQUENCY = 2000;   // Maximum physics frequency in Hz
+    private static final int DEFAULT_MAX_STEPS = 25;    // Steps allowed per call before time is dropped
+
+    private final double stepSeconds;
+    private final int maxStepsPerAdvance;
+    private double accumulator;
+    private double droppedSeconds;
+
+    /**
+     * Constructs an integrator running at the given frequency.
+     *
+     * @param frequencyHz The physics frequency in Hz
+     * @throws IllegalArgumentException if the frequency is outside the valid range
+     */
+    public FixedTimestepIntegrator(double frequencyHz) {
+        this(frequencyHz, DEFAULT_MAX_STEPS);
+    }
+
+    /**
+     * Constructs an integrator running at the given frequency.
+     *
+     * @param frequencyHz The physics frequency in Hz
+     * @param maxStepsPerAdvance The maximum number of steps executed by one call to {@link #advance},
+     *                           which prevents the simulation from spiralling when it falls behind
+     * @throws IllegalArgumentException if a parameter is outside its valid range
+     */
+    public FixedTimestepIntegrator(double frequencyHz, int maxStepsPerAdvance) {
+        if (frequencyHz < MIN_FREQUENCY || frequencyHz > MAX_FREQUENCY) {
+            String message = String.format("Frequency must be between %.1f and %.1f Hz, but was %.2f",
+                                         MIN_FREQUENCY, MAX_FREQUENCY, frequencyHz);
+            logger.error(message);
+            throw new IllegalArgumentException(message);
+        }
+        if (maxStepsPerAdvance < 1) {
+            String message = "Maximum steps per advance must be at least 1";
+            logger.error(message);
+            throw new IllegalArgumentException(message);
+        }
+
+        this.stepSeconds = 1.0 / frequencyHz;
+        this.maxStepsPerAdvance = maxStepsPerAdvance;
+    }
+
+    /**
+     * Adds elapsed time to the accumulator and executes as many fixed steps as it contains.
+     * If more than the maximum number of steps is due, the excess time is dropped.
+     *
+     * @param elapsedSeconds The real time elapsed since the previous call, in seconds
+     * @param step The step to execute, receiving the fixed time step in seconds
+     * @return The number of steps executed
+     */
+    public int advance(double elapsedSeconds, DoubleConsumer step) {
+        if (elapsedSeconds > 0) {
+            accumulator += elapsedSeconds;
+        }
+
+        int steps = 0;
+        while (accumulator >= stepSeconds && steps < maxStepsPerAdvance) {
+            step.accept(stepSeconds);
+            accumulator -= stepSeconds;
+            steps++;
+        }
+
+        if (accumulator >= stepSeconds) {
+            droppedSeconds += accumulator - accumulator % stepSeconds;
+            accumulator %= stepSeconds;
+        }
+        return steps;
+    }
+
+    /**
+     * Gets the interpolation factor between the last two physics states.
+     *
+     * @return The fraction of a step left in the accumulator, between 0 and 1
+     */
+    public double getAlpha() {
+        return accumulator / stepSeconds;
+    }
+
+    /**
+     * Clears the accumulator, for instance after the simulation has been paused.
+     */
+    public void reset() {
+        accumulator = 0;
+    }
+
+    public double getStepSeconds() { return stepSeconds; }
+
+    public double getFrequency() { return 1.0 / stepSeconds; }
+
+    /**
+     * Gets the simulated time dropped because the integrator fell too far behind real time.
+     *
+     * @return The dropped time in seconds
+     */
+    public double getDroppedSeconds() { return droppedSeconds; }
+}
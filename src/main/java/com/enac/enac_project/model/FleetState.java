@@ -0,0 +1,256 @@
+package com.enac.enac_project.model;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+
+/**
+ * The FleetState class stores the state of many aircraft approaching the same runway in primitive
+ * columns (one array per attribute) instead of one {@link Aircraft} object graph per aircraft.
+ * The whole fleet is advanced by a single {@link #step(double)} loop using the same flight model
+ * as {@link Aircraft#updatePosition(double)}, which keeps terminal-area traffic of tens of thousands
+ * of aircraft cheap in memory and cache friendly.
+ * Once given the ground through {@link #setGround(GroundHeightService)}, the fleet also collides with the terrain,
+ * each aircraft keeping its own {@link GroundHeightService.Probe} so that a tick costs a cached cell lookup.
+ */
+public class FleetState {
+    private static final Logger logger = LoggerFactory.getLogger(FleetState.class);
+
+    private static final int DEFAULT_CAPACITY = 64;
+    private static final double MIN_SPEED = 0;
+
+    private final RunwayModel runway;
+    private int size;
+    private double[] x;
+    private double[] y;
+    private double[] z;
+    private double[] speed;
+    private double[] yaw;
+    private double[] pitch;
+    private double[] roll;
+    private boolean[] onRunway;
+    private boolean[] terrainContact;
+    private GroundHeightService.Probe[] probes;
+    private GroundHeightService ground;
+
+    /**
+     * Constructs an empty fleet approaching the given runway.
+     *
+     * @param runway The runway shared by the whole fleet
+     * @throws IllegalArgumentException if runway is null
+     */
+    public FleetState(RunwayModel runway) {
+        this(runway, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty fleet approaching the given runway.
+     *
+     * @param runway The runway shared by the whole fleet
+     * @param initialCapacity The number of aircraft the fleet can hold before growing
+     * @throws IllegalArgumentException if runway is null or the capacity is not positive
+     */
+    public FleetState(RunwayModel runway, int initialCapacity) {
+        if (runway == null) {
+            String message = "Runway model cannot be null";
+            logger.error(message);
+            throw new IllegalArgumentException(message);
+        }
+        if (initialCapacity < 1) {
+            String message = "Initial capacity must be positive";
+            logger.error(message);
+            throw new IllegalArgumentException(message);
+        }
+
+        this.runway = runway;
+        allocate(initialCapacity);
+    }
+
+    /**
+     * Sets the ground the fleet collides with. Aircraft reaching the ground outside the runway stop there.
+     *
+     * @param ground The ground, or null to let the aircraft fly through the terrain
+     */
+    public void setGround(GroundHeightService ground) {
+        this.ground = ground;
+        for (int i = 0; i < size; i++) {
+            probes[i] = ground != null ? ground.newProbe() : null;
+        }
+    }
+
+    /**
+     * Adds an aircraft to the fleet.
+     *
+     * @param x The x coordinate of the aircraft
+     * @param y The y coordinate of the aircraft
+     * @param z The z coordinate of the aircraft
+     * @param speed The speed of the aircraft, per reference tick
+     * @param yaw The yaw angle in degrees
+     * @param pitch The pitch angle in degrees
+     * @param roll The roll angle in degrees
+     * @return The index of the new aircraft
+     */
+    public int add(double x, double y, double z, double speed, double yaw, double pitch, double roll) {
+        if (size == this.x.length) {
+            allocate(size * 2);
+        }
+
+        int index = size++;
+        this.x[index] = x;
+        this.y[index] = y;
+        this.z[index] = z;
+        this.speed[index] = speed;
+        this.yaw[index] = yaw;
+        this.pitch[index] = pitch;
+        this.roll[index] = roll;
+        this.onRunway[index] = false;
+        this.terrainContact[index] = false;
+        this.probes[index] = ground != null ? ground.newProbe() : null;
+        return index;
+    }
+
+    /**
+     * Removes an aircraft by moving the last aircraft into its slot.
+     * The index of the last aircraft therefore changes to the removed index.
+     *
+     * @param index The index of the aircraft to remove
+     * @throws IndexOutOfBoundsException if the index is not valid
+     */
+    public void remove(int index) {
+        checkIndex(index);
+        int last = --size;
+        x[index] = x[last];
+        y[index] = y[last];
+        z[index] = z[last];
+        speed[index] = speed[last];
+        yaw[index] = yaw[last];
+        pitch[index] = pitch[last];
+        roll[index] = roll[last];
+        onRunway[index] = onRunway[last];
+        terrainContact[index] = terrainContact[last];
+        probes[index] = probes[last];
+        probes[last] = null;
+    }
+
+    /**
+     * Advances every aircraft of the fleet by the given time step.
+     *
+     * @param dt The time step in seconds
+     */
+    public void step(double dt) {
+        double scale = dt / Aircraft.REFERENCE_TICK_SECONDS;
+        double thresholdX = runway.getThresholdX();
+        double thresholdZ = runway.getThresholdZ();
+        double axisX = runway.getAxisX();
+        double axisZ = runway.getAxisZ();
+        double length = runway.getLength();
+        double halfWidth = runway.getWidth() / 2;
+        double contactY = runway.getThresholdY() - Aircraft.RUNWAY_CONTACT_MARGIN;
+        double groundDeceleration = Aircraft.GROUND_DECELERATION * scale;
+        double airDeceleration = Aircraft.AIR_DECELERATION * scale;
+
+        for (int i = 0; i < size; i++) {
+            double yawRad = Math.toRadians(yaw[i]);
+            double pitchRad = Math.toRadians(pitch[i]);
+            double cosPitch = Math.cos(pitchRad);
+            double distance = speed[i] * scale;
+
+            double newX = x[i] + cosPitch * Math.sin(yawRad) * distance;
+            double newY = y[i] + Math.sin(pitchRad) * distance;
+            double newZ = z[i] + cosPitch * Math.cos(yawRad) * distance;
+
+            // Runway-local coordinates, with the rotation of the runway precomputed outside the loop
+            double deltaX = newX - thresholdX;
+            double deltaZ = newZ - thresholdZ;
+            double along = deltaX * axisX + deltaZ * axisZ;
+            double lateral = deltaX * axisZ - deltaZ * axisX;
+            boolean contact = along >= 0 && along <= length && Math.abs(lateral) <= halfWidth && newY >= contactY;
+            onRunway[i] = contact;
+            x[i] = newX;
+            z[i] = newZ;
+            if (contact) {
+                terrainContact[i] = false;
+                speed[i] = Math.max(MIN_SPEED, speed[i] - groundDeceleration);
+                continue;
+            }
+            double groundY = ground != null ? probes[i].getGroundY(newX, newZ) : Double.POSITIVE_INFINITY;
+            terrainContact[i] = newY >= groundY;
+            if (terrainContact[i]) {
+                y[i] = groundY;
+                speed[i] = MIN_SPEED;
+            } else {
+                y[i] = newY;
+                speed[i] = Math.max(Aircraft.MIN_AIR_SPEED, speed[i] - airDeceleration);
+            }
+        }
+    }
+
+    /**
+     * Removes all aircraft from the fleet.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    public int size() { return size; }
+
+    public RunwayModel getRunway() { return runway; }
+
+    public double getX(int index) { checkIndex(index); return x[index]; }
+    public double getY(int index) { checkIndex(index); return y[index]; }
+    public double getZ(int index) { checkIndex(index); return z[index]; }
+    public double getSpeed(int index) { checkIndex(index); return speed[index]; }
+    public double getYaw(int index) { checkIndex(index); return yaw[index]; }
+    public double getPitch(int index) { checkIndex(index); return pitch[index]; }
+    public double getRoll(int index) { checkIndex(index); return roll[index]; }
+    public boolean isOnRunway(int index) { checkIndex(index); return onRunway[index]; }
+    public boolean hasHitTerrain(int index) { checkIndex(index); return terrainContact[index]; }
+    public GroundHeightService getGround() { return ground; }
+
+    public void setSpeed(int index, double value) { checkIndex(index); speed[index] = value; }
+    public void setYaw(int index, double value) { checkIndex(index); yaw[index] = value; }
+    public void setPitch(int index, double value) { checkIndex(index); pitch[index] = value; }
+    public void setRoll(int index, double value) { checkIndex(index); roll[index] = value; }
+
+    /**
+     * Copies the state of one aircraft of the fleet into an {@link Aircraft}, for instance to display it.
+     *
+     * @param index The index of the aircraft in the fleet
+     * @param aircraft The aircraft receiving the state
+     */
+    public void copyTo(int index, Aircraft aircraft) {
+        checkIndex(index);
+        aircraft.setX(x[index]);
+        aircraft.setY(y[index]);
+        aircraft.setZ(z[index]);
+        aircraft.setSpeed(speed[index]);
+        aircraft.setYaw(yaw[index]);
+        aircraft.setPitch(pitch[index]);
+        aircraft.setRoll(roll[index]);
+    }
+
+    private void allocate(int capacity) {
+        x = x == null ? new double[capacity] : Arrays.copyOf(x, capacity);
+        y = y == null ? new double[capacity] : Arrays.copyOf(y, capacity);
+        z = z == null ? new double[capacity] : Arrays.copyOf(z, capacity);
+        speed = speed == null ? new double[capacity] : Arrays.copyOf(speed, capacity);
+        yaw = yaw == null ? new double[capacity] : Arrays.copyOf(yaw, capacity);
+        pitch = pitch == null ? new double[capacity] : Arrays.copyOf(pitch, capacity);
+        roll = roll == null ? new double[capacity] : Arrays.copyOf(roll, capacity);
+        onRunway = onRunway == null ? new boolean[capacity] : Arrays.copyOf(onRunway, capacity);
+        terrainContact = terrainContact == null ? new boolean[capacity] : Arrays.copyOf(terrainContact, capacity);
+        probes = probes == null ? new GroundHeightService.Probe[capacity] : Arrays.copyOf(probes, capacity);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Aircraft index " + index + " out of bounds for fleet of " + size);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("FleetState[size=%d, capacity=%d, runway=%s]", size, x.length, runway);
+    }
+}
@@ -10,7 +10,7 @@ import org.slf4j.LoggerFactory;
 public class GlidePath {
     private static final Logger logger = LoggerFactory.getLogger(GlidePath.class);
 
-    private final Point3DCustom runwayThreshold;  // Runway threshold position
+    private final RunwayModel runway;  // Runway whose threshold is tracked, even if the runway moves
 
     // Constants for calculations
     private static final double MIN_DISTANCE = 0.1;  // Minimum distance to avoid division by zero
@@ -31,9 +31,9 @@ public class GlidePath {
             throw new IllegalArgumentException(message);
         }
 
-        this.runwayThreshold = runway.getThresholdPoint();
+        this.runway = runway;
         logger.info("GlidePath initialized with runway threshold at ({}, {}, {})",
-                   runwayThreshold.getX(), runwayThreshold.getY(), runwayThreshold.getZ());
+                   runway.getThresholdX(), runway.getThresholdY(), runway.getThresholdZ());
     }
 
     /**
@@ -45,26 +45,69 @@ public class GlidePath {
      * @throws IllegalArgumentException if aircraftPosition is null
      */
     public double calculateGlideSlopeAngle(Point3DCustom aircraftPosition) {
-        if (aircraftPosition == null) {
-            String message = "Aircraft position cannot be null";
-            logger.error(message);
-            throw new IllegalArgumentException(message);
+        validatePosition(aircraftPosition);
+        return calculateGlideSlopeAngle(aircraftPosition.getX(), aircraftPosition.getY(), aircraftPosition.getZ());
+    }
+
+    /**
+     * Calculates the descent angle (Glide Path) of the aircraft relative to the runway threshold.
+     *
+     * @param aircraftPosition The current aircraft position
+     * @return The descent angle in degrees
+     * @throws IllegalArgumentException if aircraftPosition is null
+     */
+    public double calculateGlideSlopeAngle(Vector3D aircraftPosition) {
+        validatePosition(aircraftPosition);
+        return calculateGlideSlopeAngle(aircraftPosition.getX(), aircraftPosition.getY(), aircraftPosition.getZ());
+    }
+
+    /**
+     * Calculates the descent angle (Glide Path) of an aircraft at the given coordinates.
+     *
+     * @param x The x coordinate of the aircraft
+     * @param y The y coordinate of the aircraft
+     * @param z The z coordinate of the aircraft
+     * @return The descent angle in degrees
+     */
+    public double calculateGlideSlopeAngle(double x, double y, double z) {
+        double distance = horizontalDistance(x, z);
+        double angle = glideSlopeAngle(y, distance);
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Calculated glide slope angle: {} degrees (height: {}, distance: {})",
+                        angle, y - runway.getThresholdY(), distance);
         }
+        return angle;
+    }
 
-        double distance = calculateDME(aircraftPosition);
+    /**
+     * Calculates the descent angle from an already known horizontal distance, without logging.
+     *
+     * @param y The y coordinate of the aircraft
+     * @param distance The horizontal distance to the runway threshold
+     * @return The descent angle in degrees
+     */
+    double glideSlopeAngle(double y, double distance) {
+        return glideSlopeAngleAtHeight(runway.getThresholdY() - y, distance);
+    }
+
+    /**
+     * Calculates the descent angle from a height above the threshold and a horizontal distance to it,
+     * for instance those of a {@link RunwayPosition}, without logging.
+     *
+     * @param height The height above the runway threshold
+     * @param distance The horizontal distance to the runway threshold
+     * @return The descent angle in degrees
+     */
+    double glideSlopeAngleAtHeight(double height, double distance) {
         if (distance < MIN_DISTANCE) {
             distance = MIN_DISTANCE; // Prevent division by zero
         }
 
-        double height = aircraftPosition.getY() - runwayThreshold.getY();
-        double angle = Math.toDegrees(Math.atan(-height / distance));
+        double angle = Math.toDegrees(Math.atan(height / distance));
 
         // Clamp the angle to valid range
-        angle = Math.min(Math.max(angle, MIN_ANGLE), MAX_ANGLE);
-
-        logger.debug("Calculated glide slope angle: {} degrees (height: {}, distance: {})",
-                    angle, height, distance);
-        return angle;
+        return Math.min(Math.max(angle, MIN_ANGLE), MAX_ANGLE);
     }
 
     /**
@@ -75,35 +118,67 @@ public class GlidePath {
      * @throws IllegalArgumentException if aircraftPosition is null
      */
     public double calculateDME(Point3DCustom aircraftPosition) {
-        if (aircraftPosition == null) {
-            String message = "Aircraft position cannot be null";
-            logger.error(message);
-            throw new IllegalArgumentException(message);
-        }
+        validatePosition(aircraftPosition);
+        return calculateDME(aircraftPosition.getX(), aircraftPosition.getZ());
+    }
 
-        double deltaX = aircraftPosition.getX() - runwayThreshold.getX();
-        double deltaZ = aircraftPosition.getZ() - runwayThreshold.getZ();
-        double distance = Math.sqrt(deltaX * deltaX + deltaZ * deltaZ);
+    /**
+     * Calculates the Distance Measuring Equipment (DME) between the aircraft and the runway threshold.
+     *
+     * @param aircraftPosition The current aircraft position
+     * @return The total distance in meters
+     * @throws IllegalArgumentException if aircraftPosition is null
+     */
+    public double calculateDME(Vector3D aircraftPosition) {
+        validatePosition(aircraftPosition);
+        return calculateDME(aircraftPosition.getX(), aircraftPosition.getZ());
+    }
+
+    /**
+     * Calculates the horizontal distance between the given coordinates and the runway threshold.
+     *
+     * @param x The x coordinate of the aircraft
+     * @param z The z coordinate of the aircraft
+     * @return The distance in meters
+     */
+    public double calculateDME(double x, double z) {
+        double distance = horizontalDistance(x, z);
 
-        logger.debug("Calculated DME distance: {} meters (deltaX: {}, deltaZ: {})",
-                    distance, deltaX, deltaZ);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Calculated DME distance: {} meters (deltaX: {}, deltaZ: {})",
+                        distance, x - runway.getThresholdX(), z - runway.getThresholdZ());
+        }
         return distance;
     }
 
+    double horizontalDistance(double x, double z) {
+        double deltaX = x - runway.getThresholdX();
+        double deltaZ = z - runway.getThresholdZ();
+        return Math.sqrt(deltaX * deltaX + deltaZ * deltaZ);
+    }
+
     /**
      * Gets the runway threshold position.
      *
-     * @return The runway threshold point
+     * @return A copy of the runway threshold point
      */
-    public Point3DCustom getRunwayThreshold() {
-        return runwayThreshold;
+    public Vector3D getRunwayThreshold() {
+        return new Vector3D(runway.getThresholdX(), runway.getThresholdY(), runway.getThresholdZ());
+    }
+
+    private void validatePosition(Object aircraftPosition) {
+        if (aircraftPosition == null) {
+            String message = "Aircraft position cannot be null";
+            logger.error(message);
+            throw new IllegalArgumentException(message);
+        }
     }
 
     @Override
     public String toString() {
         return String.format("GlidePath[threshold=(%f, %f, %f)]",
-                           runwayThreshold.getX(),
-                           runwayThreshold.getY(),
-                           runwayThreshold.getZ());
+                           runway.getThresholdX(),
+                           runway.getThresholdY(),
+                           runway.getThresholdZ());
     }
 }
@@ -0,0 +1,143 @@
+package com.enac.enac_project.model;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The GroundHeightService answers ground height queries from a heightmap, for the radio altitude, the terrain
+ * collision test and the terrain warning of the aircraft. The ground between the samples of the heightmap is
+ * interpolated bilinearly.
+ *
+ * <p>Each aircraft queries the ground through its own {@link Probe}, which keeps the heightmap cell it is over:
+ * a query within the same cell costs a few multiplications, a query in another cell of the same tile reads four
+ * samples of a tile the probe already holds, and the shared tile cache is only consulted when the aircraft crosses
+ * into another tile. The service can be shared by any number of threads, a probe belongs to a single aircraft.</p>
+ */
+public final class GroundHeightService {
+    private static final Logger logger = LoggerFactory.getLogger(GroundHeightService.class);
+
+    private final HeightmapTileStore heightmap;
+
+    /**
+     * Constructs a ground height service.
+     *
+     * @param heightmap The heightmap giving the ground
+     * @throws IllegalArgumentException if heightmap is null
+     */
+    public GroundHeightService(HeightmapTileStore heightmap) {
+        if (heightmap == null) {
+            String message = "Heightmap cannot be null";
+            logger.error(message);
+            throw new IllegalArgumentException(message);
+        }
+        this.heightmap = heightmap;
+    }
+
+    /**
+     * Creates a probe caching the heightmap cell under one aircraft.
+     *
+     * @return A new probe
+     */
+    public Probe newProbe() {
+        return new Probe();
+    }
+
+    /**
+     * Gets the height of the ground under a position, without any cached cell.
+     * Waits for the tile to be loaded if needed, so it must not be called from the JavaFX thread.
+     *
+     * @param x The x coordinate
+     * @param z The z coordinate
+     * @return The y coordinate of the ground
+     */
+    public double getGroundY(double x, double z) {
+        return tileAt(x, z).getGroundY(x, z);
+    }
+
+    public HeightmapTileStore getHeightmap() { return heightmap; }
+
+    private HeightmapTile tileAt(double x, double z) {
+        int i = tileIndex(x);
+        int j = tileIndex(z);
+        HeightmapTile tile = heightmap.getTile(i, j);
+        return tile != null ? tile : heightmap.requestTile(i, j).join();
+    }
+
+    private int tileIndex(double coordinate) {
+        return (int) Math.floor(coordinate / heightmap.getTileSize());
+    }
+
+    /**
+     * The ground under one aircraft: the heightmap cell the aircraft was last over, with the height of its
+     * four corners. A probe is not thread-safe; it is used by the thread flying its aircraft.
+     */
+    public final class Probe {
+        private HeightmapTile tile;
+        private double cellX = Double.NaN;  // Corner of the cell with the smallest coordinates
+        private double cellZ = Double.NaN;
+        private double inverseSpacing = 1;
+        private double ground00;            // Ground at the corners, the first index going along x
+        private double ground10;
+        private double ground01;
+        private double ground11;
+
+        private Probe() {
+        }
+
+        /**
+         * Gets the service this probe queries.
+         *
+         * @return The ground height service that created the probe
+         */
+        public GroundHeightService getService() {
+            return GroundHeightService.this;
+        }
+
+        /**
+         * Gets the height of the ground under a position, moving the probe to the cell of the position if needed.
+         * Waits for the tile to be loaded when the position is in a tile that is not in memory.
+         *
+         * @param x The x coordinate
+         * @param z The z coordinate
+         * @return The y coordinate of the ground
+         */
+        public double getGroundY(double x, double z) {
+            double u = (x - cellX) * inverseSpacing;
+            double v = (z - cellZ) * inverseSpacing;
+            if (!(u >= 0 && u <= 1 && v >= 0 && v <= 1)) {
+                moveTo(x, z);
+                u = (x - cellX) * inverseSpacing;
+                v = (z - cellZ) * inverseSpacing;
+            }
+            double top = ground00 + (ground10 - ground00) * u;
+            double bottom = ground01 + (ground11 - ground01) * u;
+            return top + (bottom - top) * v;
+        }
+
+        /**
+         * Forgets the cached cell, for instance after the heightmap files have changed.
+         */
+        public void invalidate() {
+            tile = null;
+            cellX = Double.NaN;
+            cellZ = Double.NaN;
+        }
+
+        private void moveTo(double x, double z) {
+            if (tile == null || tileIndex(x) != tile.getI() || tileIndex(z) != tile.getJ()) {
+                tile = tileAt(x, z);
+            }
+            double spacing = tile.getSpacing();
+            inverseSpacing = 1 / spacing;
+            int last = tile.getSamples() - 2;
+            int column = Math.max(0, Math.min(last, (int) Math.floor((x - tile.getOriginX()) / spacing)));
+            int row = Math.max(0, Math.min(last, (int) Math.floor((z - tile.getOriginZ()) / spacing)));
+            cellX = tile.getOriginX() + column * spacing;
+            cellZ = tile.getOriginZ() + row * spacing;
+            ground00 = tile.getSampleGroundY(row, column);
+            ground10 = tile.getSampleGroundY(row, column + 1);
+            ground01 = tile.getSampleGroundY(row + 1, column);
+            ground11 = tile.getSampleGroundY(row + 1, column + 1);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.enac.enac_project.model;
+
+/**
+ * The GuidanceResult class holds everything the ILS computes for one aircraft position:
+ * localizer and glide path deviations, DME distance and marker state.
+ * It is filled by {@link ILS#computeGuidance(double, double, double, GuidanceResult)} and is meant
+ * to be reused from one tick to the next, so that the guidance computation does not allocate.
+ */
+public final class GuidanceResult {
+    private double localizerAngle;
+    private double glideSlopeAngle;
+    private double localizerBar;
+    private double glidePathBar;
+    private double dme;
+    private boolean outerMarker;
+    private boolean middleMarker;
+    private boolean innerMarker;
+
+    void set(double localizerAngle, double glideSlopeAngle, double localizerBar, double glidePathBar,
+             double dme, boolean outerMarker, boolean middleMarker, boolean innerMarker) {
+        this.localizerAngle = localizerAngle;
+        this.glideSlopeAngle = glideSlopeAngle;
+        this.localizerBar = localizerBar;
+        this.glidePathBar = glidePathBar;
+        this.dme = dme;
+        this.outerMarker = outerMarker;
+        this.middleMarker = middleMarker;
+        this.innerMarker = innerMarker;
+    }
+
+    /**
+     * Gets the deviation angle from the runway axis.
+     *
+     * @return The localizer angle in degrees
+     */
+    public double getLocalizerAngle() { return localizerAngle; }
+
+    /**
+     * Gets the descent angle relative to the runway threshold.
+     *
+     * @return The glide slope angle in degrees
+     */
+    public double getGlideSlopeAngle() { return glideSlopeAngle; }
+
+    /**
+     * Gets the localizer bar displacement.
+     *
+     * @return The displacement in pixels
+     */
+    public double getLocalizerBar() { return localizerBar; }
+
+    /**
+     * Gets the glide path bar displacement.
+     *
+     * @return The displacement in pixels
+     */
+    public double getGlidePathBar() { return glidePathBar; }
+
+    /**
+     * Gets the DME distance to the runway threshold.
+     *
+     * @return The distance in meters
+     */
+    public double getDme() { return dme; }
+
+    public boolean isOuterMarker() { return outerMarker; }
+    public boolean isMiddleMarker() { return middleMarker; }
+    public boolean isInnerMarker() { return innerMarker; }
+
+    @Override
+    public String toString() {
+        return String.format("GuidanceResult[loc=%f, gs=%f, dme=%f, OM=%b, MM=%b, IM=%b]",
+                           localizerAngle, glideSlopeAngle, dme, outerMarker, middleMarker, innerMarker);
+    }
+}
@@ -0,0 +1,30 @@
+package com.enac.enac_project.model;
+
+/**
+ * The height of the ground over the horizontal plane.
+ * Implementations must be safe to query from several threads at once, since terrain tiles are built in the background.
+ */
+@FunctionalInterface
+public interface HeightField {
+
+    /**
+     * Gets the height of the ground under a horizontal position.
+     *
+     * @param x The x coordinate
+     * @param z The z coordinate
+     * @return The y coordinate of the ground; y points down, so higher ground has a smaller y
+     */
+    double getGroundY(double x, double z);
+
+    /**
+     * Makes the ground of an area ready to be queried at full resolution, waiting for it to be loaded if needed.
+     * Height fields computing the ground on the fly have nothing to do. Never call this from the JavaFX thread.
+     *
+     * @param minX The smallest x coordinate of the area
+     * @param minZ The smallest z coordinate of the area
+     * @param maxX The largest x coordinate of the area
+     * @param maxZ The largest z coordinate of the area
+     */
+    default void preload(double minX, double minZ, double maxX, double maxZ) {
+    }
+}
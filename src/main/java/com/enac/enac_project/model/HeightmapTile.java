@@ -0,0 +1,85 @@
+package com.enac.enac_project.model;
+
+/**
+ * A square grid of ground elevations covering one tile of a {@link HeightmapTileStore}.
+ * Neighbouring tiles share their edge samples, so that the ground is continuous from one tile to the next.
+ * Tiles are immutable and can be read from any thread.
+ */
+public final class HeightmapTile {
+    private final int i;
+    private final int j;
+    private final double originX;
+    private final double originZ;
+    private final double spacing;
+    private final int samples;
+    private final float[] elevations;
+
+    /**
+     * Constructs a tile.
+     *
+     * @param i The index of the tile along the x axis
+     * @param j The index of the tile along the z axis
+     * @param tileSize The side of the tile in meters
+     * @param samples The number of samples along each side, edges included
+     * @param elevations The elevations in meters above y = 0, row by row along the z axis,
+     *                   each row going along the x axis
+     */
+    HeightmapTile(int i, int j, double tileSize, int samples, float[] elevations) {
+        this.i = i;
+        this.j = j;
+        this.originX = i * tileSize;
+        this.originZ = j * tileSize;
+        this.spacing = tileSize / (samples - 1);
+        this.samples = samples;
+        this.elevations = elevations;
+    }
+
+    /**
+     * Gets the height of the ground under a position of the tile, interpolated between the four nearest samples.
+     * Positions outside the tile are clamped to its edges.
+     *
+     * @param x The x coordinate
+     * @param z The z coordinate
+     * @return The y coordinate of the ground
+     */
+    public double getGroundY(double x, double z) {
+        double u = Math.max(0, Math.min(samples - 1, (x - originX) / spacing));
+        double v = Math.max(0, Math.min(samples - 1, (z - originZ) / spacing));
+        int column = Math.min(samples - 2, (int) u);
+        int row = Math.min(samples - 2, (int) v);
+        double fu = u - column;
+        double fv = v - row;
+
+        int index = row * samples + column;
+        double e00 = elevations[index];
+        double e10 = elevations[index + 1];
+        double e01 = elevations[index + samples];
+        double e11 = elevations[index + samples + 1];
+        double top = e00 + (e10 - e00) * fu;
+        double bottom = e01 + (e11 - e01) * fu;
+        return -(top + (bottom - top) * fv);
+    }
+
+    /**
+     * Gets the height of the ground at one sample of the tile.
+     *
+     * @param row The index of the sample along the z axis
+     * @param column The index of the sample along the x axis
+     * @return The y coordinate of the ground
+     */
+    double getSampleGroundY(int row, int column) {
+        return -elevations[row * samples + column];
+    }
+
+    public int getI() { return i; }
+    public int getJ() { return j; }
+    public double getOriginX() { return originX; }
+    public double getOriginZ() { return originZ; }
+    public double getSpacing() { return spacing; }
+    public int getSamples() { return samples; }
+
+    @Override
+    public String toString() {
+        return String.format("HeightmapTile[%d, %d, %d samples]", i, j, samples);
+    }
+}
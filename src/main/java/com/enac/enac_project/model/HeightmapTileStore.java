@@ -0,0 +1,336 @@
+package com.enac.enac_project.model;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32;
+
+/**
+ * The HeightmapTileStore serves the ground from raw elevation grids stored one file per tile in a directory.
+ * Tiles are loaded by a small pool of worker threads, which map the file into memory and decode it, and the decoded
+ * tiles are kept in a bounded least-recently-used cache, so that memory stays bounded on long flights.
+ *
+ * <p>Querying the ground never waits for the disk: a position whose tile is not in memory is answered by the
+ * fallback height field, and loading is only started by {@link #getTile(int, int)}, {@link #preload} or
+ * {@link #prefetch}. The fallback also provides the tiles that have no file; they are written to the directory,
+ * so that the next flight maps them from disk.</p>
+ *
+ * <p>A store created without a directory keeps its tiles in memory only: they are all sampled from the fallback,
+ * which then acts as the source of the heightmap.</p>
+ *
+ * <p>Tile (i, j) covers x from i to i + 1 tile sizes and z from j to j + 1 tile sizes. Its file, named
+ * {@code <i>_<j>.f32}, holds samples × samples little-endian 32-bit floats: the elevations in meters above y = 0,
+ * row by row along the z axis, each row going along the x axis, edges included. The files do not say which ground
+ * they were sampled from: each heightmap is kept in its own directory, named after its {@link #fingerprint}.</p>
+ */
+public final class HeightmapTileStore implements HeightField, AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(HeightmapTileStore.class);
+
+    public static final int FORMAT_VERSION = 1;            // To be increased whenever the tile files change
+    public static final double DEFAULT_TILE_SIZE = 2000;
+    public static final int DEFAULT_SAMPLES = 65;          // 31.25 m between samples
+    public static final int DEFAULT_CAPACITY = 512;        // About 8.5 MB of decoded tiles
+    private static final int WORKER_THREADS = 2;
+    private static final String EXTENSION = ".f32";
+    private static final double PREFETCH_SECONDS = 30;     // How far ahead along the track tiles are prefetched
+
+    private final Path directory;
+    private final HeightField fallback;
+    private final double tileSize;
+    private final int samples;
+    private final int capacity;
+    private final ExecutorService workers;
+    private final Map<Long, HeightmapTile> tiles;          // Guarded by itself
+    private final Map<Long, CompletableFuture<HeightmapTile>> loading = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a store keeping in memory tiles of the default size and resolution, sampled from a height field.
+     *
+     * @param source The ground from which the tiles are sampled
+     * @throws IllegalArgumentException if source is null
+     */
+    public HeightmapTileStore(HeightField source) {
+        this(null, source, DEFAULT_TILE_SIZE, DEFAULT_SAMPLES, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a store of tiles of the default size and resolution.
+     *
+     * @param directory The directory of the tile files, created when a tile is first written
+     * @param fallback The ground used for tiles not in memory and for the tiles that have no file
+     * @throws IllegalArgumentException if a parameter is null
+     */
+    public HeightmapTileStore(Path directory, HeightField fallback) {
+        this(directory, fallback, DEFAULT_TILE_SIZE, DEFAULT_SAMPLES, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a store.
+     *
+     * @param directory The directory of the tile files, created when a tile is first written, or null to keep
+     *                  the tiles in memory only
+     * @param fallback The ground used for tiles not in memory and for the tiles that have no file
+     * @param tileSize The side of a tile in meters
+     * @param samples The number of samples along each side of a tile, edges included (at least 2)
+     * @param capacity The largest number of tiles kept in memory (at least 1)
+     * @throws IllegalArgumentException if fallback is null or a value is out of range
+     */
+    public HeightmapTileStore(Path directory, HeightField fallback, double tileSize, int samples, int capacity) {
+        if (fallback == null || !(tileSize > 0) || samples < 2 || capacity < 1) {
+            String message = String.format("Invalid heightmap store: directory=%s, fallback=%s, tileSize=%f, "
+                                           + "samples=%d, capacity=%d", directory, fallback, tileSize, samples, capacity);
+            logger.error(message);
+            throw new IllegalArgumentException(message);
+        }
+        this.directory = directory;
+        this.fallback = fallback;
+        this.tileSize = tileSize;
+        this.samples = samples;
+        this.capacity = capacity;
+        this.tiles = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, HeightmapTile> eldest) {
+                return size() > HeightmapTileStore.this.capacity;
+            }
+        };
+        this.workers = Executors.newFixedThreadPool(WORKER_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "heightmap-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        logger.info("Heightmap store opened on {} with {} m tiles of {} samples, up to {} tiles in memory",
+                    directory != null ? directory : "memory", tileSize, samples, capacity);
+    }
+
+    /**
+     * Computes the fingerprint of a heightmap, from the file format, the tile layout and the ground the tiles are
+     * sampled from. Tiles stored under another fingerprint must not be read, since they may hold another ground.
+     *
+     * @param sourceFingerprint The fingerprint of the ground sampled into the tiles
+     * @param tileSize The side of a tile in meters
+     * @param samples The number of samples along each side of a tile
+     * @return The CRC-32 of these parameters, as 8 hexadecimal digits
+     */
+    public static String fingerprint(long sourceFingerprint, double tileSize, int samples) {
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES * 2 + Long.BYTES + Double.BYTES);
+        buffer.putInt(FORMAT_VERSION).putLong(sourceFingerprint).putDouble(tileSize).putInt(samples);
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array());
+        return String.format("%08x", crc.getValue());
+    }
+
+    /**
+     * Gets the height of the ground from the tile in memory, or from the fallback height field if the tile
+     * is not loaded. Never blocks and never starts a load.
+     */
+    @Override
+    public double getGroundY(double x, double z) {
+        HeightmapTile tile = getResidentTile(tileIndex(x), tileIndex(z));
+        return tile != null ? tile.getGroundY(x, z) : fallback.getGroundY(x, z);
+    }
+
+    /**
+     * Loads the tiles covering an area and waits for them.
+     */
+    @Override
+    public void preload(double minX, double minZ, double maxX, double maxZ) {
+        for (int i = tileIndex(minX); i <= tileIndex(maxX); i++) {
+            for (int j = tileIndex(minZ); j <= tileIndex(maxZ); j++) {
+                requestTile(i, j).join();
+            }
+        }
+    }
+
+    /**
+     * Gets a tile if it is in memory, and starts loading it otherwise.
+     *
+     * @param i The index of the tile along the x axis
+     * @param j The index of the tile along the z axis
+     * @return The tile, or null if it is not loaded yet
+     */
+    public HeightmapTile getTile(int i, int j) {
+        HeightmapTile tile = getResidentTile(i, j);
+        if (tile == null) {
+            requestTile(i, j);
+        }
+        return tile;
+    }
+
+    /**
+     * Gets a tile, starting to load it if it is not in memory.
+     *
+     * @param i The index of the tile along the x axis
+     * @param j The index of the tile along the z axis
+     * @return A future completed with the tile once it is in memory
+     */
+    public CompletableFuture<HeightmapTile> requestTile(int i, int j) {
+        long key = key(i, j);
+        HeightmapTile tile = getResidentTile(i, j);
+        if (tile != null) {
+            return CompletableFuture.completedFuture(tile);
+        }
+        return loading.computeIfAbsent(key, k -> CompletableFuture.supplyAsync(() -> {
+            try {
+                HeightmapTile loaded = load(i, j);
+                synchronized (tiles) {
+                    tiles.put(k, loaded);
+                }
+                return loaded;
+            } finally {
+                loading.remove(k);
+            }
+        }, workers));
+    }
+
+    /**
+     * Starts loading the tiles the aircraft is about to fly over, along a straight track from its current position
+     * and heading, together with the tiles on each side of the track.
+     *
+     * @param x The x coordinate of the aircraft
+     * @param z The z coordinate of the aircraft
+     * @param yaw The heading of the aircraft in degrees, as given by {@link Aircraft#getYaw()}
+     * @param speed The speed of the aircraft, as given by {@link Aircraft#getSpeed()}
+     */
+    public void prefetch(double x, double z, double yaw, double speed) {
+        double yawRad = Math.toRadians(yaw);
+        double dirX = Math.sin(yawRad);
+        double dirZ = Math.cos(yawRad);
+        double range = Math.max(0, speed) / Aircraft.REFERENCE_TICK_SECONDS * PREFETCH_SECONDS;
+        double step = tileSize / 2;
+        for (double distance = 0; distance <= range + step; distance += step) {
+            int centerI = tileIndex(x + dirX * distance);
+            int centerJ = tileIndex(z + dirZ * distance);
+            for (int i = centerI - 1; i <= centerI + 1; i++) {
+                for (int j = centerJ - 1; j <= centerJ + 1; j++) {
+                    getTile(i, j);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the number of tiles in memory.
+     *
+     * @return The number of decoded tiles held by the cache
+     */
+    public int getResidentTileCount() {
+        synchronized (tiles) {
+            return tiles.size();
+        }
+    }
+
+    /**
+     * Gets the directory of the tile files.
+     *
+     * @return The directory, or null if the tiles are kept in memory only
+     */
+    public Path getDirectory() { return directory; }
+    public double getTileSize() { return tileSize; }
+    public int getSamples() { return samples; }
+    public int getCapacity() { return capacity; }
+
+    /**
+     * Stops the loader threads. Loads in progress are abandoned.
+     */
+    @Override
+    public void close() {
+        workers.shutdownNow();
+    }
+
+    private HeightmapTile getResidentTile(int i, int j) {
+        synchronized (tiles) {
+            return tiles.get(key(i, j));
+        }
+    }
+
+    private int tileIndex(double coordinate) {
+        return (int) Math.floor(coordinate / tileSize);
+    }
+
+    private static long key(int i, int j) {
+        return ((long) i << 32) | (j & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Reads a tile from its file, or computes it from the fallback height field and writes it if it has no file.
+     */
+    private HeightmapTile load(int i, int j) {
+        if (directory == null) {
+            return new HeightmapTile(i, j, tileSize, samples, sampleFallback(i, j));
+        }
+        Path file = directory.resolve(i + "_" + j + EXTENSION);
+        try {
+            return new HeightmapTile(i, j, tileSize, samples, read(file));
+        } catch (NoSuchFileException e) {
+            float[] elevations = sampleFallback(i, j);
+            write(file, elevations);
+            return new HeightmapTile(i, j, tileSize, samples, elevations);
+        } catch (IOException e) {
+            logger.error("Failed to read heightmap tile {}, using the fallback ground", file, e);
+            return new HeightmapTile(i, j, tileSize, samples, sampleFallback(i, j));
+        }
+    }
+
+    private float[] read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long expected = (long) samples * samples * Float.BYTES;
+            if (channel.size() != expected) {
+                throw new IOException("Heightmap tile " + file + " has " + channel.size() + " bytes, expected " + expected);
+            }
+            // The mapping is released by the garbage collector once the tile is decoded
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, expected);
+            float[] elevations = new float[samples * samples];
+            buffer.order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().get(elevations);
+            return elevations;
+        }
+    }
+
+    private void write(Path file, float[] elevations) {
+        try {
+            Files.createDirectories(directory);
+            ByteBuffer buffer = ByteBuffer.allocate(elevations.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.asFloatBuffer().put(elevations);
+            // Written aside then moved, so that a reader never maps a partial tile
+            Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            Files.write(temporary, buffer.array());
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Could not write heightmap tile {}: {}", file, e.getMessage());
+        }
+    }
+
+    private float[] sampleFallback(int i, int j) {
+        double spacing = tileSize / (samples - 1);
+        float[] elevations = new float[samples * samples];
+        int index = 0;
+        for (int row = 0; row < samples; row++) {
+            for (int column = 0; column < samples; column++) {
+                elevations[index++] = (float) -fallback.getGroundY(i * tileSize + column * spacing,
+                                                                   j * tileSize + row * spacing);
+            }
+        }
+        return elevations;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("HeightmapTileStore[%s, %d tiles in memory]",
+                             directory != null ? directory : fallback, getResidentTileCount());
+    }
+}
@@ -6,44 +6,72 @@ import org.slf4j.LoggerFactory;
 /**
  * Represents an Instrument Landing System (ILS) for aircraft navigation.
  * The ILS provides guidance for aircraft during approach and landing.
+ * The marker receiver picks up any marker beacon in range, not only those of the approach: when the ILS is given
+ * the {@link NavaidIndex} of its airport, markers are detected through the index, which only checks the beacons
+ * near the aircraft however many runways the airport has.
  */
 public class ILS {
     private static final Logger logger = LoggerFactory.getLogger(ILS.class);
 
+    private final RunwayModel runway;       // The runway served by the ILS
     private final GlidePath glidePath;      // The glide path component of the ILS
     private final Localizer localizer;      // The localizer component of the ILS
     private final Markers markers;          // The markers component of the ILS
+    private final NavaidIndex navaids;      // The beacons received around the airport, or null for the markers only
     private final double descentAngle;      // The descent angle for the glide path
 
     // Constants for ILS configuration
     private static final double DEFAULT_DESCENT_ANGLE = 3.0;
-    private static final double DETECTION_RADIUS = 1000.0;
     private static final double DEGREES_PER_PIXEL = 4.5;  // 45 pixels for 10 degrees
     private static final double MAX_BAR_DISPLACEMENT = 22.5;
     private static final double MIN_BAR_DISPLACEMENT = -22.5;
 
-    // Marker positions
-    private static final Point3DCustom OM_POSITION = new Point3DCustom(0, 0, 0);      // Outer Marker position
-    private static final Point3DCustom MM_POSITION = new Point3DCustom(0, 0, 6000);   // Middle Marker position
-    private static final Point3DCustom IM_POSITION = new Point3DCustom(0, 0, 6900);   // Inner Marker position
-
     /**
-     * Constructs an ILS object with the specified runway point and glide path.
+     * Constructs an ILS object with the specified runway point and glide path, and the default marker beacons
+     * on the extended runway axis.
      *
      * @param runway    The runway model associated with the ILS
      * @param glidePath The glide path of the ILS
      * @throws IllegalArgumentException if runway or glidePath is null
      */
     public ILS(RunwayModel runway, GlidePath glidePath) {
-        if (runway == null || glidePath == null) {
-            String message = "Runway and glide path must not be null";
+        this(runway, glidePath, runway != null ? Markers.alongAxis(runway) : null);
+    }
+
+    /**
+     * Constructs an ILS object with the specified runway point, glide path and marker beacons.
+     *
+     * @param runway    The runway model associated with the ILS
+     * @param glidePath The glide path of the ILS
+     * @param markers   The marker beacons of the approach
+     * @throws IllegalArgumentException if a parameter is null
+     */
+    public ILS(RunwayModel runway, GlidePath glidePath, Markers markers) {
+        this(runway, glidePath, markers, null);
+    }
+
+    /**
+     * Constructs an ILS object whose marker receiver queries the beacons of the whole airport.
+     *
+     * @param runway    The runway model associated with the ILS
+     * @param glidePath The glide path of the ILS
+     * @param markers   The marker beacons of the approach
+     * @param navaids   The index of the beacons of the airport, which should hold the markers of the approach,
+     *                  or null to check the markers of the approach only
+     * @throws IllegalArgumentException if runway, glide path or markers is null
+     */
+    public ILS(RunwayModel runway, GlidePath glidePath, Markers markers, NavaidIndex navaids) {
+        if (runway == null || glidePath == null || markers == null) {
+            String message = "Runway, glide path and markers must not be null";
             logger.error(message);
             throw new IllegalArgumentException(message);
         }
 
+        this.runway = runway;
         this.glidePath = glidePath;
         this.localizer = new Localizer(runway);
-        this.markers = new Markers(OM_POSITION, MM_POSITION, IM_POSITION, DETECTION_RADIUS);
+        this.markers = markers;
+        this.navaids = navaids;
         this.descentAngle = DEFAULT_DESCENT_ANGLE;
 
         logger.info("ILS initialized with runway at ({}, {}, {})",
@@ -58,12 +86,24 @@ public class ILS {
      */
     public boolean hasPassedOuterMarker(Point3DCustom position) {
         boolean passed = markers.hasPassedOuterMarker(position);
-        logger.debug("Aircraft at ({}, {}, {}) has {} passed outer marker",
-                    position.getX(), position.getY(), position.getZ(),
-                    passed ? "" : "not");
+        if (logger.isDebugEnabled()) {
+            logger.debug("Aircraft at ({}, {}, {}) has {} passed outer marker",
+                        position.getX(), position.getY(), position.getZ(),
+                        passed ? "" : "not");
+        }
         return passed;
     }
 
+    /**
+     * Checks if the aircraft has crossed the Outer Marker (OM).
+     *
+     * @param position The aircraft position
+     * @return true if the aircraft has crossed the OM, false otherwise
+     */
+    public boolean hasPassedOuterMarker(Vector3D position) {
+        return markers.hasPassedOuterMarker(position);
+    }
+
     /**
      * Checks if the aircraft has crossed the Middle Marker (MM).
      *
@@ -72,12 +112,24 @@ public class ILS {
      */
     public boolean hasPassedMiddleMarker(Point3DCustom position) {
         boolean passed = markers.hasPassedMiddleMarker(position);
-        logger.debug("Aircraft at ({}, {}, {}) has {} passed middle marker",
-                    position.getX(), position.getY(), position.getZ(),
-                    passed ? "" : "not");
+        if (logger.isDebugEnabled()) {
+            logger.debug("Aircraft at ({}, {}, {}) has {} passed middle marker",
+                        position.getX(), position.getY(), position.getZ(),
+                        passed ? "" : "not");
+        }
         return passed;
     }
 
+    /**
+     * Checks if the aircraft has crossed the Middle Marker (MM).
+     *
+     * @param position The aircraft position
+     * @return true if the aircraft has crossed the MM, false otherwise
+     */
+    public boolean hasPassedMiddleMarker(Vector3D position) {
+        return markers.hasPassedMiddleMarker(position);
+    }
+
     /**
      * Checks if the aircraft has crossed the Inner Marker (IM).
      *
@@ -86,12 +138,24 @@ public class ILS {
      */
     public boolean hasPassedInnerMarker(Point3DCustom position) {
         boolean passed = markers.hasPassedInnerMarker(position);
-        logger.debug("Aircraft at ({}, {}, {}) has {} passed inner marker",
-                    position.getX(), position.getY(), position.getZ(),
-                    passed ? "" : "not");
+        if (logger.isDebugEnabled()) {
+            logger.debug("Aircraft at ({}, {}, {}) has {} passed inner marker",
+                        position.getX(), position.getY(), position.getZ(),
+                        passed ? "" : "not");
+        }
         return passed;
     }
 
+    /**
+     * Checks if the aircraft has crossed the Inner Marker (IM).
+     *
+     * @param position The aircraft position
+     * @return true if the aircraft has crossed the IM, false otherwise
+     */
+    public boolean hasPassedInnerMarker(Vector3D position) {
+        return markers.hasPassedInnerMarker(position);
+    }
+
     /**
      * Calculates the localizer bar position.
      *
@@ -104,12 +168,22 @@ public class ILS {
             throw new IllegalArgumentException("Aircraft position cannot be null");
         }
 
-        double angle = localizer.calculateLocalizerAngle(aircraftPosition);
-        double displacement = angle * DEGREES_PER_PIXEL;
-        displacement = Math.min(Math.max(displacement, MIN_BAR_DISPLACEMENT), MAX_BAR_DISPLACEMENT);
+        return toLocalizerBar(localizer.calculateLocalizerAngle(aircraftPosition));
+    }
 
-        logger.debug("Localizer angle: {}, displacement: {} pixels", angle, displacement);
-        return displacement;
+    /**
+     * Calculates the localizer bar position.
+     *
+     * @param aircraftPosition The aircraft position
+     * @return The localizer bar displacement in pixels
+     */
+    public double calculateLocalizerBar(Vector3D aircraftPosition) {
+        if (aircraftPosition == null) {
+            logger.error("Aircraft position cannot be null");
+            throw new IllegalArgumentException("Aircraft position cannot be null");
+        }
+
+        return toLocalizerBar(localizer.calculateLocalizerAngle(aircraftPosition));
     }
 
     /**
@@ -124,12 +198,22 @@ public class ILS {
             throw new IllegalArgumentException("Aircraft position cannot be null");
         }
 
-        double angle = glidePath.calculateGlideSlopeAngle(aircraftPosition);
-        double displacement = (angle - descentAngle) * DEGREES_PER_PIXEL;
-        displacement = Math.min(Math.max(displacement, MIN_BAR_DISPLACEMENT), MAX_BAR_DISPLACEMENT);
+        return toGlidePathBar(glidePath.calculateGlideSlopeAngle(aircraftPosition));
+    }
 
-        logger.debug("Glide path angle: {}, displacement: {} pixels", angle, displacement);
-        return displacement;
+    /**
+     * Calculates the glide path bar position.
+     *
+     * @param aircraftPosition The aircraft position
+     * @return The glide path bar displacement in pixels
+     */
+    public double calculateGlidePathBar(Vector3D aircraftPosition) {
+        if (aircraftPosition == null) {
+            logger.error("Aircraft position cannot be null");
+            throw new IllegalArgumentException("Aircraft position cannot be null");
+        }
+
+        return toGlidePathBar(glidePath.calculateGlideSlopeAngle(aircraftPosition));
     }
 
     /**
@@ -145,10 +229,125 @@ public class ILS {
         }
 
         double distance = glidePath.calculateDME(position);
-        logger.debug("DME distance calculated: {} meters", distance);
+        if (logger.isDebugEnabled()) {
+            logger.debug("DME distance calculated: {} meters", distance);
+        }
         return distance;
     }
 
+    /**
+     * Calculates the DME (Distance Measuring Equipment) distance.
+     *
+     * @param position The position for which to calculate the DME distance
+     * @return The DME distance from the specified position
+     */
+    public double calculateDME(Vector3D position) {
+        if (position == null) {
+            logger.error("Position cannot be null");
+            throw new IllegalArgumentException("Position cannot be null");
+        }
+
+        return glidePath.calculateDME(position);
+    }
+
+    /**
+     * Computes the complete ILS guidance for a position in a single pass: localizer and glide path
+     * deviations, DME distance and marker state. Unlike the individual calculation methods, this entry
+     * point neither allocates nor logs, which makes it suitable for the per-tick simulation loop.
+     *
+     * @param position The aircraft position
+     * @param result The object receiving the guidance, typically reused from one tick to the next
+     * @return The result object
+     */
+    public GuidanceResult computeGuidance(Vector3D position, GuidanceResult result) {
+        return computeGuidance(position.getX(), position.getY(), position.getZ(), result);
+    }
+
+    /**
+     * Computes the complete ILS guidance for the given coordinates in a single pass.
+     *
+     * @param x The x coordinate of the aircraft
+     * @param y The y coordinate of the aircraft
+     * @param z The z coordinate of the aircraft
+     * @param result The object receiving the guidance, typically reused from one tick to the next
+     * @return The result object
+     * @see #computeGuidance(Vector3D, GuidanceResult)
+     */
+    public GuidanceResult computeGuidance(double x, double y, double z, GuidanceResult result) {
+        double deltaX = x - runway.getThresholdX();
+        double deltaZ = z - runway.getThresholdZ();
+        double along = deltaX * runway.getAxisX() + deltaZ * runway.getAxisZ();
+        double lateral = deltaX * runway.getAxisZ() - deltaZ * runway.getAxisX();
+        return computeGuidance(x, y, z, along, lateral, runway.getThresholdY() - y,
+                               Math.sqrt(lateral * lateral + along * along), result);
+    }
+
+    /**
+     * Computes the complete ILS guidance for a position already transformed into the runway-local frame,
+     * so that the rotation computed for the runway contact test is not repeated by every instrument.
+     * A position computed for another runway is transformed again.
+     *
+     * @param position The aircraft position, typically {@link Aircraft#getRunwayPosition()}
+     * @param result The object receiving the guidance, typically reused from one tick to the next
+     * @return The result object
+     * @see #computeGuidance(Vector3D, GuidanceResult)
+     */
+    public GuidanceResult computeGuidance(RunwayPosition position, GuidanceResult result) {
+        if (position.getRunway() != runway) {
+            return computeGuidance(position.getX(), position.getY(), position.getZ(), result);
+        }
+        return computeGuidance(position.getX(), position.getY(), position.getZ(),
+                               position.getAlong(), position.getLateral(), position.getHeight(),
+                               position.getHorizontalDistance(), result);
+    }
+
+    private GuidanceResult computeGuidance(double x, double y, double z, double along, double lateral,
+                                           double height, double dme, GuidanceResult result) {
+        double glideSlopeAngle = glidePath.glideSlopeAngleAtHeight(height, dme);
+        double localizerAngle = localizer.localizerAngle(along, lateral, dme);
+
+        boolean outer;
+        boolean middle;
+        boolean inner;
+        if (navaids != null) {
+            int mask = navaids.markerMask(x, y, z);
+            outer = (mask & 1) != 0;
+            middle = (mask & 2) != 0;
+            inner = (mask & 4) != 0;
+        } else {
+            outer = markers.isWithinOuterMarker(x, y, z);
+            middle = markers.isWithinMiddleMarker(x, y, z);
+            inner = markers.isWithinInnerMarker(x, y, z);
+        }
+        result.set(localizerAngle, glideSlopeAngle,
+                   clampBar(localizerAngle * DEGREES_PER_PIXEL),
+                   clampBar((glideSlopeAngle - descentAngle) * DEGREES_PER_PIXEL),
+                   dme, outer, middle, inner);
+        return result;
+    }
+
+    private double toLocalizerBar(double angle) {
+        double displacement = clampBar(angle * DEGREES_PER_PIXEL);
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Localizer angle: {}, displacement: {} pixels", angle, displacement);
+        }
+        return displacement;
+    }
+
+    private double toGlidePathBar(double angle) {
+        double displacement = clampBar((angle - descentAngle) * DEGREES_PER_PIXEL);
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Glide path angle: {}, displacement: {} pixels", angle, displacement);
+        }
+        return displacement;
+    }
+
+    private static double clampBar(double displacement) {
+        return Math.min(Math.max(displacement, MIN_BAR_DISPLACEMENT), MAX_BAR_DISPLACEMENT);
+    }
+
     /**
      * Gets the current descent angle.
      *
@@ -158,6 +357,15 @@ public class ILS {
         return descentAngle;
     }
 
+    /**
+     * Gets the runway served by the ILS.
+     *
+     * @return The runway
+     */
+    public RunwayModel getRunway() {
+        return runway;
+    }
+
     /**
      * Gets the glide path component.
      *
@@ -184,4 +392,13 @@ public class ILS {
     public Markers getMarkers() {
         return markers;
     }
+
+    /**
+     * Gets the index of the beacons received around the airport.
+     *
+     * @return The navaid index, or null if only the markers of the approach are checked
+     */
+    public NavaidIndex getNavaids() {
+        return navaids;
+    }
 }
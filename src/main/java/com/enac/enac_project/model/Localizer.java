@@ -11,7 +11,7 @@ import org.slf4j.LoggerFactory;
 public class Localizer {
     private static final Logger logger = LoggerFactory.getLogger(Localizer.class);
 
-    private final Point3DCustom runwayThreshold;
+    private final RunwayModel runway;  // Runway whose threshold is tracked, even if the runway moves
 
     // Constants for calculations
     private static final double MIN_DISTANCE = 0.1;  // Minimum distance to avoid division by zero
@@ -33,14 +33,14 @@ public class Localizer {
             throw new IllegalArgumentException(message);
         }
 
-        this.runwayThreshold = runway.getThresholdPoint();
+        this.runway = runway;
         logger.info("Localizer initialized with runway threshold at ({}, {}, {})",
-                   runwayThreshold.getX(), runwayThreshold.getY(), runwayThreshold.getZ());
+                   runway.getThresholdX(), runway.getThresholdY(), runway.getThresholdZ());
     }
 
     /**
      * Calculates the localization angle (Localizer) of the aircraft relative to the
-     * runway's longitudinal axis. This method measures the angular deviation between
+     * runway's longitudinal axis, whatever the runway heading. This method measures the angular deviation between
      * the current aircraft position and the runway centerline.
      *
      * @param aircraftPosition The current aircraft position
@@ -48,48 +48,102 @@ public class Localizer {
      * @throws IllegalArgumentException if aircraftPosition is null
      */
     public double calculateLocalizerAngle(Point3DCustom aircraftPosition) {
-        if (aircraftPosition == null) {
-            String message = "Aircraft position cannot be null";
-            logger.error(message);
-            throw new IllegalArgumentException(message);
+        validatePosition(aircraftPosition);
+        return calculateLocalizerAngle(aircraftPosition.getX(), aircraftPosition.getZ());
+    }
+
+    /**
+     * Calculates the localization angle (Localizer) of the aircraft relative to the
+     * runway's longitudinal axis.
+     *
+     * @param aircraftPosition The current aircraft position
+     * @return The deviation angle from the runway axis in degrees
+     * @throws IllegalArgumentException if aircraftPosition is null
+     */
+    public double calculateLocalizerAngle(Vector3D aircraftPosition) {
+        validatePosition(aircraftPosition);
+        return calculateLocalizerAngle(aircraftPosition.getX(), aircraftPosition.getZ());
+    }
+
+    /**
+     * Calculates the localization angle (Localizer) of an aircraft at the given coordinates.
+     *
+     * @param x The x coordinate of the aircraft
+     * @param z The z coordinate of the aircraft
+     * @return The deviation angle from the runway axis in degrees
+     */
+    public double calculateLocalizerAngle(double x, double z) {
+        double angle = localizerAngle(x, z);
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Calculated localizer angle: {} degrees (deltaX: {}, deltaZ: {})",
+                        angle, x - runway.getThresholdX(), z - runway.getThresholdZ());
         }
+        return angle;
+    }
+
+    /**
+     * Calculates the localization angle without logging.
+     *
+     * @param x The x coordinate of the aircraft
+     * @param z The z coordinate of the aircraft
+     * @return The deviation angle from the runway axis in degrees
+     */
+    double localizerAngle(double x, double z) {
+        double deltaX = x - runway.getThresholdX();
+        double deltaZ = z - runway.getThresholdZ();
 
-        double deltaX = aircraftPosition.getX() - runwayThreshold.getX();
-        double deltaZ = aircraftPosition.getZ() - runwayThreshold.getZ();
+        // Rotation into the runway-local frame
+        double along = deltaX * runway.getAxisX() + deltaZ * runway.getAxisZ();
+        double lateral = deltaX * runway.getAxisZ() - deltaZ * runway.getAxisX();
+        return localizerAngle(along, lateral, Math.sqrt(lateral * lateral + along * along));
+    }
 
-        double distance = Math.sqrt(deltaX * deltaX + deltaZ * deltaZ);
+    /**
+     * Calculates the localization angle from coordinates already in the runway-local frame, without logging.
+     *
+     * @param along The distance along the runway axis from the threshold
+     * @param lateral The offset to the right of the runway axis
+     * @param distance The horizontal distance to the threshold
+     * @return The deviation angle from the runway axis in degrees
+     */
+    double localizerAngle(double along, double lateral, double distance) {
         if (distance < MIN_DISTANCE) {
             distance = MIN_DISTANCE; // Prevent division by zero
         }
 
         // Determine the sign based on which side of the runway the aircraft is on
-        double sign = (aircraftPosition.getX() > runwayThreshold.getX()) ? -1 : 1;
+        double sign = (lateral > 0) ? -1 : 1;
 
         // Calculate the angle using the dot product of the vectors
-        double angle = Math.toDegrees(Math.acos(-deltaZ / distance)) * sign;
+        double angle = Math.toDegrees(Math.acos(-along / distance)) * sign;
 
         // Clamp the angle to valid range
-        angle = Math.min(Math.max(angle, MIN_ANGLE), MAX_ANGLE);
-
-        logger.debug("Calculated localizer angle: {} degrees (deltaX: {}, deltaZ: {}, distance: {})",
-                    angle, deltaX, deltaZ, distance);
-        return angle;
+        return Math.min(Math.max(angle, MIN_ANGLE), MAX_ANGLE);
     }
 
     /**
      * Gets the runway threshold position.
      *
-     * @return The runway threshold point
+     * @return A copy of the runway threshold point
      */
-    public Point3DCustom getRunwayThreshold() {
-        return runwayThreshold;
+    public Vector3D getRunwayThreshold() {
+        return new Vector3D(runway.getThresholdX(), runway.getThresholdY(), runway.getThresholdZ());
+    }
+
+    private void validatePosition(Object aircraftPosition) {
+        if (aircraftPosition == null) {
+            String message = "Aircraft position cannot be null";
+            logger.error(message);
+            throw new IllegalArgumentException(message);
+        }
     }
 
     @Override
     public String toString() {
         return String.format("Localizer[threshold=(%f, %f, %f)]",
-                           runwayThreshold.getX(),
-                           runwayThreshold.getY(),
-                           runwayThreshold.getZ());
+                           runway.getThresholdX(),
+                           runway.getThresholdY(),
+                           runway.getThresholdZ());
     }
 }
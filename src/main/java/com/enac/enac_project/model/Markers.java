@@ -1,9 +1,10 @@
 package com.enac.enac_project.model;
 
-import com.enac.enac_project.model.Point3DCustom;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
+
 /**
  * The Markers class manages the detection of marker crossings on the landing runway.
  * The markers OM (Outer Marker), MM (Middle Marker), and IM (Inner Marker) are used
@@ -12,15 +13,22 @@ import org.slf4j.LoggerFactory;
 public class Markers {
     private static final Logger logger = LoggerFactory.getLogger(Markers.class);
 
-    private final Point3DCustom outerMarker;
-    private final Point3DCustom middleMarker;
-    private final Point3DCustom innerMarker;
+    private final Vector3D outerMarker;
+    private final Vector3D middleMarker;
+    private final Vector3D innerMarker;
     private final double detectionRadius;  // Detection radius for each marker
+    private final double detectionRadiusSquared;
 
     // Constants for validation
     private static final double MIN_RADIUS = 10.0;    // Minimum detection radius
     private static final double MAX_RADIUS = 5000.0;  // Maximum detection radius
 
+    // Default beacons, placed before the threshold as on the ENAC runway
+    private static final double DEFAULT_OUTER_DISTANCE = 7000.0;
+    private static final double DEFAULT_MIDDLE_DISTANCE = 1000.0;
+    private static final double DEFAULT_INNER_DISTANCE = 100.0;
+    private static final double DEFAULT_DETECTION_RADIUS = 1000.0;
+
     /**
      * Constructs a Markers object.
      * Initializes the positions of the three markers and their common detection radius.
@@ -31,8 +39,23 @@ public class Markers {
      * @param detectionRadius The detection radius for the markers
      * @throws IllegalArgumentException if any parameter is null or radius is invalid
      */
-    public Markers(Point3DCustom outerMarker, Point3DCustom middleMarker, 
+    public Markers(Point3DCustom outerMarker, Point3DCustom middleMarker,
                   Point3DCustom innerMarker, double detectionRadius) {
+        this(toVector(outerMarker), toVector(middleMarker), toVector(innerMarker), detectionRadius);
+    }
+
+    /**
+     * Constructs a Markers object.
+     * Initializes the positions of the three markers and their common detection radius.
+     *
+     * @param outerMarker The position of the Outer Marker
+     * @param middleMarker The position of the Middle Marker
+     * @param innerMarker The position of the Inner Marker
+     * @param detectionRadius The detection radius for the markers
+     * @throws IllegalArgumentException if any parameter is null or radius is invalid
+     */
+    public Markers(Vector3D outerMarker, Vector3D middleMarker,
+                  Vector3D innerMarker, double detectionRadius) {
         // Validate parameters
         if (outerMarker == null || middleMarker == null || innerMarker == null) {
             String message = "Marker positions cannot be null";
@@ -47,10 +70,11 @@ public class Markers {
             throw new IllegalArgumentException(message);
         }
 
-        this.outerMarker = outerMarker;
-        this.middleMarker = middleMarker;
-        this.innerMarker = innerMarker;
+        this.outerMarker = new Vector3D(outerMarker);
+        this.middleMarker = new Vector3D(middleMarker);
+        this.innerMarker = new Vector3D(innerMarker);
         this.detectionRadius = detectionRadius;
+        this.detectionRadiusSquared = detectionRadius * detectionRadius;
 
         logger.info("Markers initialized with detection radius: {} meters", detectionRadius);
         logger.debug("Outer Marker position: ({}, {}, {})",
@@ -61,6 +85,49 @@ public class Markers {
                     innerMarker.getX(), innerMarker.getY(), innerMarker.getZ());
     }
 
+    /**
+     * Places the three markers on the extended axis of a runway, at the default distances before its threshold.
+     *
+     * @param runway The runway served by the markers
+     * @return The markers of the runway
+     * @throws IllegalArgumentException if runway is null
+     */
+    public static Markers alongAxis(RunwayModel runway) {
+        return alongAxis(runway, DEFAULT_OUTER_DISTANCE, DEFAULT_MIDDLE_DISTANCE, DEFAULT_INNER_DISTANCE,
+                         DEFAULT_DETECTION_RADIUS);
+    }
+
+    /**
+     * Places the three markers on the extended axis of a runway, at the threshold elevation.
+     *
+     * @param runway The runway served by the markers
+     * @param outerDistance The distance of the Outer Marker before the threshold
+     * @param middleDistance The distance of the Middle Marker before the threshold
+     * @param innerDistance The distance of the Inner Marker before the threshold
+     * @param detectionRadius The detection radius for the markers
+     * @return The markers of the runway
+     * @throws IllegalArgumentException if runway is null or radius is invalid
+     */
+    public static Markers alongAxis(RunwayModel runway, double outerDistance, double middleDistance,
+                                    double innerDistance, double detectionRadius) {
+        if (runway == null) {
+            String message = "Runway of the markers cannot be null";
+            logger.error(message);
+            throw new IllegalArgumentException(message);
+        }
+        return new Markers(onAxis(runway, outerDistance), onAxis(runway, middleDistance),
+                           onAxis(runway, innerDistance), detectionRadius);
+    }
+
+    /**
+     * Places a point on the extended runway axis, at the given distance before the threshold.
+     */
+    private static Vector3D onAxis(RunwayModel runway, double distance) {
+        return new Vector3D(runway.getThresholdX() - distance * runway.getAxisX(),
+                            runway.getThresholdY(),
+                            runway.getThresholdZ() - distance * runway.getAxisZ());
+    }
+
     /**
      * Determines if a point has crossed the Outer Marker (OM).
      *
@@ -70,11 +137,19 @@ public class Markers {
      */
     public boolean hasPassedOuterMarker(Point3DCustom position) {
         validatePosition(position, "Outer");
-        double distance = position.distance(outerMarker);
-        boolean passed = distance <= detectionRadius;
-        
-        logger.debug("Distance to Outer Marker: {} meters (passed: {})", distance, passed);
-        return passed;
+        return hasPassed(outerMarker, "Outer", position.getX(), position.getY(), position.getZ());
+    }
+
+    /**
+     * Determines if a point has crossed the Outer Marker (OM).
+     *
+     * @param position The current position of the object (e.g., aircraft) to test
+     * @return true if the point is within the detection radius of the OM, false otherwise
+     * @throws IllegalArgumentException if position is null
+     */
+    public boolean hasPassedOuterMarker(Vector3D position) {
+        validatePosition(position, "Outer");
+        return hasPassed(outerMarker, "Outer", position.getX(), position.getY(), position.getZ());
     }
 
     /**
@@ -86,11 +161,19 @@ public class Markers {
      */
     public boolean hasPassedMiddleMarker(Point3DCustom position) {
         validatePosition(position, "Middle");
-        double distance = position.distance(middleMarker);
-        boolean passed = distance <= detectionRadius;
-        
-        logger.debug("Distance to Middle Marker: {} meters (passed: {})", distance, passed);
-        return passed;
+        return hasPassed(middleMarker, "Middle", position.getX(), position.getY(), position.getZ());
+    }
+
+    /**
+     * Determines if a point has crossed the Middle Marker (MM).
+     *
+     * @param position The current position of the object (e.g., aircraft) to test
+     * @return true if the point is within the detection radius of the MM, false otherwise
+     * @throws IllegalArgumentException if position is null
+     */
+    public boolean hasPassedMiddleMarker(Vector3D position) {
+        validatePosition(position, "Middle");
+        return hasPassed(middleMarker, "Middle", position.getX(), position.getY(), position.getZ());
     }
 
     /**
@@ -102,13 +185,55 @@ public class Markers {
      */
     public boolean hasPassedInnerMarker(Point3DCustom position) {
         validatePosition(position, "Inner");
-        double distance = position.distance(innerMarker);
-        boolean passed = distance <= detectionRadius;
-        
-        logger.debug("Distance to Inner Marker: {} meters (passed: {})", distance, passed);
+        return hasPassed(innerMarker, "Inner", position.getX(), position.getY(), position.getZ());
+    }
+
+    /**
+     * Determines if a point has crossed the Inner Marker (IM).
+     *
+     * @param position The current position of the object (e.g., aircraft) to test
+     * @return true if the point is within the detection radius of the IM, false otherwise
+     * @throws IllegalArgumentException if position is null
+     */
+    public boolean hasPassedInnerMarker(Vector3D position) {
+        validatePosition(position, "Inner");
+        return hasPassed(innerMarker, "Inner", position.getX(), position.getY(), position.getZ());
+    }
+
+    private boolean hasPassed(Vector3D marker, String markerName, double x, double y, double z) {
+        boolean passed = isWithinDetectionRadius(marker, x, y, z);
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Distance to {} Marker: {} meters (passed: {})",
+                        markerName, Math.sqrt(squaredDistance(marker, x, y, z)), passed);
+        }
         return passed;
     }
 
+    boolean isWithinOuterMarker(double x, double y, double z) {
+        return isWithinDetectionRadius(outerMarker, x, y, z);
+    }
+
+    boolean isWithinMiddleMarker(double x, double y, double z) {
+        return isWithinDetectionRadius(middleMarker, x, y, z);
+    }
+
+    boolean isWithinInnerMarker(double x, double y, double z) {
+        return isWithinDetectionRadius(innerMarker, x, y, z);
+    }
+
+    private boolean isWithinDetectionRadius(Vector3D marker, double x, double y, double z) {
+        // Squared distances are compared to avoid a square root per check
+        return squaredDistance(marker, x, y, z) <= detectionRadiusSquared;
+    }
+
+    private static double squaredDistance(Vector3D marker, double x, double y, double z) {
+        double dx = x - marker.getX();
+        double dy = y - marker.getY();
+        double dz = z - marker.getZ();
+        return dx * dx + dy * dy + dz * dz;
+    }
+
     /**
      * Validates the position parameter.
      *
@@ -116,7 +241,7 @@ public class Markers {
      * @param markerName The name of the marker being checked
      * @throws IllegalArgumentException if position is null
      */
-    private void validatePosition(Point3DCustom position, String markerName) {
+    private void validatePosition(Object position, String markerName) {
         if (position == null) {
             String message = String.format("Position for %s Marker check cannot be null", markerName);
             logger.error(message);
@@ -124,31 +249,52 @@ public class Markers {
         }
     }
 
+    private static Vector3D toVector(Point3DCustom point) {
+        return point != null ? new Vector3D(point) : null;
+    }
+
+    /**
+     * Describes the three marker beacons as navaids, so that they can be added to a {@link NavaidIndex}
+     * holding the beacons of many runways.
+     *
+     * @param ident The identifier of the approach, used as a prefix for the beacon identifiers
+     * @return The outer, middle and inner marker navaids
+     */
+    public List<Navaid> toNavaids(String ident) {
+        return List.of(
+                new Navaid(ident + " OM", Navaid.Type.OUTER_MARKER,
+                           outerMarker.getX(), outerMarker.getY(), outerMarker.getZ(), detectionRadius),
+                new Navaid(ident + " MM", Navaid.Type.MIDDLE_MARKER,
+                           middleMarker.getX(), middleMarker.getY(), middleMarker.getZ(), detectionRadius),
+                new Navaid(ident + " IM", Navaid.Type.INNER_MARKER,
+                           innerMarker.getX(), innerMarker.getY(), innerMarker.getZ(), detectionRadius));
+    }
+
     /**
      * Gets the Outer Marker position.
      *
-     * @return The Outer Marker position
+     * @return A copy of the Outer Marker position
      */
-    public Point3DCustom getOuterMarker() {
-        return outerMarker;
+    public Vector3D getOuterMarker() {
+        return new Vector3D(outerMarker);
     }
 
     /**
      * Gets the Middle Marker position.
      *
-     * @return The Middle Marker position
+     * @return A copy of the Middle Marker position
      */
-    public Point3DCustom getMiddleMarker() {
-        return middleMarker;
+    public Vector3D getMiddleMarker() {
+        return new Vector3D(middleMarker);
     }
 
     /**
      * Gets the Inner Marker position.
      *
-     * @return The Inner Marker position
+     * @return A copy of the Inner Marker position
      */
-    public Point3DCustom getInnerMarker() {
-        return innerMarker;
+    public Vector3D getInnerMarker() {
+        return new Vector3D(innerMarker);
     }
 
     /**
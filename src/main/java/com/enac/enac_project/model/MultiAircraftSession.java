@@ -0,0 +1,347 @@
+package com.enac.enac_project.model;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * The MultiAircraftSession flies many aircraft at once, each one on its own thread with its own
+ * {@link AircraftController}, all of them advancing in lockstep on a shared tick barrier.
+ * At every tick each aircraft thread applies its control inputs, moves its aircraft, evaluates its ILS and PAPI,
+ * then waits on the barrier; once every aircraft has arrived the session notifies its listeners and
+ * releases the next tick.
+ * Aircraft threads are virtual threads when the running JVM provides them, so hundreds of controllers
+ * can block on the barrier cheaply; on older JVMs platform threads are used instead.
+ */
+public class MultiAircraftSession {
+    private static final Logger logger = LoggerFactory.getLogger(MultiAircraftSession.class);
+
+    private static final ThreadFactory VIRTUAL_THREAD_FACTORY = createVirtualThreadFactory();
+
+    /**
+     * Receives the state of every aircraft once all of them have completed a tick.
+     */
+    @FunctionalInterface
+    public interface TickListener {
+        /**
+         * Called on one of the aircraft threads while all the others wait on the barrier.
+         *
+         * @param tick The number of completed ticks
+         * @param snapshots The latest snapshot of each aircraft, in the order they were added; only valid during the call
+         */
+        void onTick(long tick, List<SimulationSnapshot> snapshots);
+    }
+
+    private final double stepSeconds;
+    private final long maxTicks;
+    private final List<FlightContext> contexts = new ArrayList<>();
+    private final List<TickListener> listeners = new CopyOnWriteArrayList<>();
+    private final Phaser barrier;
+    private SimulationSnapshot[] snapshots;
+    private List<SimulationSnapshot> snapshotView;
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile long tick;
+    private volatile boolean stopRequested;
+
+    /**
+     * Constructs an empty session.
+     *
+     * @param stepSeconds The duration of one tick in seconds
+     * @param maxTicks The number of ticks after which the session ends
+     * @throws IllegalArgumentException if a value is not positive
+     */
+    public MultiAircraftSession(double stepSeconds, long maxTicks) {
+        if (stepSeconds <= 0 || maxTicks <= 0) {
+            String message = "Time step and maximum tick count must be positive";
+            logger.error(message);
+            throw new IllegalArgumentException(message);
+        }
+        this.stepSeconds = stepSeconds;
+        this.maxTicks = maxTicks;
+        this.barrier = new Phaser() {
+            @Override
+            protected boolean onAdvance(int phase, int registeredParties) {
+                return completeTick(registeredParties);
+            }
+        };
+    }
+
+    /**
+     * Adds an aircraft to the session. Aircraft can only be added before the session starts.
+     *
+     * @param aircraft The aircraft to fly, which must not be shared with another session or engine
+     * @param controller The control logic of the aircraft
+     * @return The index of the aircraft in the session
+     * @throws IllegalArgumentException if a parameter is null
+     * @throws IllegalStateException if the session has already started
+     */
+    public synchronized int addAircraft(Aircraft aircraft, AircraftController controller) {
+        if (aircraft == null || controller == null) {
+            String message = "Aircraft and controller must not be null";
+            logger.error(message);
+            throw new IllegalArgumentException(message);
+        }
+        if (!threads.isEmpty()) {
+            String message = "Aircraft cannot be added to a running session";
+            logger.error(message);
+            throw new IllegalStateException(message);
+        }
+        contexts.add(new FlightContext(contexts.size(), aircraft, controller));
+        return contexts.size() - 1;
+    }
+
+    /**
+     * Registers a listener notified after every tick.
+     *
+     * @param listener The listener to register
+     */
+    public void addListener(TickListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Starts one thread per aircraft. Calling this method on a started session has no effect.
+     */
+    public synchronized void start() {
+        if (!threads.isEmpty() || contexts.isEmpty()) {
+            return;
+        }
+
+        snapshots = new SimulationSnapshot[contexts.size()];
+        for (FlightContext context : contexts) {
+            snapshots[context.index] = context.captureSnapshot();
+        }
+        snapshotView = Collections.unmodifiableList(Arrays.asList(snapshots));
+
+        barrier.bulkRegister(contexts.size());
+        ThreadFactory factory = VIRTUAL_THREAD_FACTORY != null ? VIRTUAL_THREAD_FACTORY : this::newPlatformThread;
+        for (FlightContext context : contexts) {
+            Thread thread = factory.newThread(context::run);
+            thread.setName("aircraft-" + context.index);
+            threads.add(thread);
+        }
+        threads.forEach(Thread::start);
+        logger.info("Session started with {} aircraft on {} threads", contexts.size(),
+                   usesVirtualThreads() ? "virtual" : "platform");
+    }
+
+    /**
+     * Waits until every aircraft has left the session, either because its controller returned or because
+     * the session ended.
+     *
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     */
+    public void awaitCompletion() throws InterruptedException {
+        List<Thread> started;
+        synchronized (this) {
+            started = new ArrayList<>(threads);
+        }
+        for (Thread thread : started) {
+            thread.join();
+        }
+    }
+
+    /**
+     * Starts the session and waits for its completion.
+     *
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     */
+    public void run() throws InterruptedException {
+        start();
+        awaitCompletion();
+    }
+
+    /**
+     * Ends the session at the end of the current tick.
+     */
+    public void stop() {
+        stopRequested = true;
+    }
+
+    /**
+     * Gets the number of completed ticks.
+     *
+     * @return The tick counter
+     */
+    public long getTick() { return tick; }
+
+    /**
+     * Gets the number of aircraft in the session.
+     *
+     * @return The aircraft count
+     */
+    public synchronized int getAircraftCount() { return contexts.size(); }
+
+    /**
+     * Indicates whether aircraft run on virtual threads, which requires a JVM providing them.
+     *
+     * @return true if virtual threads are used
+     */
+    public static boolean usesVirtualThreads() {
+        return VIRTUAL_THREAD_FACTORY != null;
+    }
+
+    /**
+     * Runs on the last thread arriving at the barrier, while all the other aircraft threads wait.
+     * When the last controller has left, no aircraft moved during the tick: the session ends without publishing it.
+     *
+     * @return true to end the session
+     */
+    private boolean completeTick(int registeredParties) {
+        if (registeredParties == 0) {
+            logger.info("Session ended after {} ticks, every aircraft has left", tick);
+            return true;
+        }
+        long completed = ++tick;
+        for (TickListener listener : listeners) {
+            try {
+                listener.onTick(completed, snapshotView);
+            } catch (RuntimeException e) {
+                logger.error("Error in session listener", e);
+            }
+        }
+        boolean done = completed >= maxTicks || stopRequested;
+        if (done) {
+            logger.info("Session ended after {} ticks", completed);
+        }
+        return done;
+    }
+
+    private Thread newPlatformThread(Runnable runnable) {
+        Thread thread = new Thread(runnable);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * Looks up {@code Thread.ofVirtual().factory()} reflectively, so that the code still compiles for and runs on
+     * Java 17, where virtual threads do not exist.
+     */
+    private static ThreadFactory createVirtualThreadFactory() {
+        try {
+            Method ofVirtual = Thread.class.getMethod("ofVirtual");
+            Object builder = ofVirtual.invoke(null);
+            Method factory = Class.forName("java.lang.Thread$Builder").getMethod("factory");
+            return (ThreadFactory) factory.invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * The view an {@link AircraftController} has on its aircraft and on the session clock.
+     * A context is only used by the thread of its aircraft.
+     */
+    public final class FlightContext {
+        private final int index;
+        private final Aircraft aircraft;
+        private final AircraftController controller;
+        private final GuidanceResult guidance = new GuidanceResult();
+        private SimulationSnapshot snapshot;
+        private long localTick;
+        private boolean ended;
+
+        private FlightContext(int index, Aircraft aircraft, AircraftController controller) {
+            this.index = index;
+            this.aircraft = aircraft;
+            this.controller = controller;
+        }
+
+        /**
+         * Completes the current tick: moves the aircraft with the inputs set by the controller, evaluates its
+         * navigation aids, then waits until every aircraft of the session has done the same.
+         *
+         * @return true if the session continues, false if it has ended and the controller should return
+         * @throws InterruptedException if the thread is interrupted while waiting
+         */
+        public boolean awaitTick() throws InterruptedException {
+            if (ended) {
+                return false;
+            }
+            aircraft.updatePosition(stepSeconds);
+            localTick++;
+            snapshots[index] = captureSnapshot();
+
+            int phase = barrier.arrive();
+            if (barrier.awaitAdvanceInterruptibly(phase) < 0 || barrier.isTerminated()) {
+                ended = true;
+                return false;
+            }
+            return true;
+        }
+
+        /**
+         * Gets the aircraft, whose control inputs (speed, yaw, pitch, roll) the controller may set between ticks.
+         *
+         * @return The aircraft
+         */
+        public Aircraft getAircraft() { return aircraft; }
+
+        /**
+         * Gets the ILS guidance computed at the end of the last tick.
+         *
+         * @return The guidance, reused from one tick to the next
+         */
+        public GuidanceResult getGuidance() { return guidance; }
+
+        /**
+         * Gets the state of the aircraft at the end of the last tick.
+         *
+         * @return The latest snapshot of the aircraft
+         */
+        public SimulationSnapshot getSnapshot() { return snapshot; }
+
+        /**
+         * Gets the number of ticks flown by this aircraft.
+         *
+         * @return The tick counter
+         */
+        public long getTick() { return localTick; }
+
+        public double getStepSeconds() { return stepSeconds; }
+
+        public int getIndex() { return index; }
+
+        private void run() {
+            try {
+                controller.fly(this);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                logger.error("Controller of aircraft {} failed", index, e);
+            } finally {
+                if (!ended) {
+                    // Leaving mid-session: the remaining aircraft no longer wait for this one
+                    ended = true;
+                    barrier.arriveAndDeregister();
+                }
+            }
+        }
+
+        private SimulationSnapshot captureSnapshot() {
+            Papi papi = aircraft.getPapi();
+            aircraft.getILS().computeGuidance(aircraft.getRunwayPosition(), guidance);
+            papi.updatePapiState(guidance);
+            snapshot = new SimulationSnapshot(snapshot, localTick, localTick * stepSeconds,
+                    aircraft.getX(), aircraft.getY(), aircraft.getZ(),
+                    aircraft.getSpeed(), aircraft.getYaw(), aircraft.getPitch(), aircraft.getRoll(),
+                    aircraft.calculateAltitudeDifference(),
+                    guidance.getLocalizerBar(),
+                    guidance.getGlidePathBar(),
+                    guidance.getDme(),
+                    guidance.isOuterMarker(),
+                    guidance.isMiddleMarker(),
+                    guidance.isInnerMarker(),
+                    papi.getPapiLevel());
+            return snapshot;
+        }
+    }
+}
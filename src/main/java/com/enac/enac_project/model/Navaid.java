@@ -0,0 +1,101 @@
+package com.enac.enac_project.model;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A ground navigation aid: a marker beacon or a DME station, with the range within which an aircraft receives it.
+ * Navaids are immutable, so that they can be shared by a {@link NavaidIndex} and by every aircraft querying it.
+ */
+public final class Navaid {
+    private static final Logger logger = LoggerFactory.getLogger(Navaid.class);
+
+    /**
+     * The kind of a navigation aid.
+     */
+    public enum Type {
+        OUTER_MARKER,
+        MIDDLE_MARKER,
+        INNER_MARKER,
+        DME
+    }
+
+    private final String ident;
+    private final Type type;
+    private final double x;
+    private final double y;
+    private final double z;
+    private final double range;
+    private final double rangeSquared;
+
+    /**
+     * Constructs a navaid.
+     *
+     * @param ident The identifier of the navaid
+     * @param type The kind of navaid
+     * @param x The x coordinate of the navaid
+     * @param y The y coordinate of the navaid
+     * @param z The z coordinate of the navaid
+     * @param range The reception range in meters
+     * @throws IllegalArgumentException if ident or type is null or the range is not positive
+     */
+    public Navaid(String ident, Type type, double x, double y, double z, double range) {
+        if (ident == null || type == null) {
+            String message = "Navaid identifier and type must not be null";
+            logger.error(message);
+            throw new IllegalArgumentException(message);
+        }
+        if (!(range > 0)) {
+            String message = "Navaid range must be positive";
+            logger.error(message);
+            throw new IllegalArgumentException(message);
+        }
+        this.ident = ident;
+        this.type = type;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.range = range;
+        this.rangeSquared = range * range;
+    }
+
+    /**
+     * Indicates whether a point is within the range of the navaid.
+     * Squared distances are compared, so no square root is taken.
+     *
+     * @param px The x coordinate of the point
+     * @param py The y coordinate of the point
+     * @param pz The z coordinate of the point
+     * @return true if the point receives the navaid
+     */
+    public boolean contains(double px, double py, double pz) {
+        return distanceSquared(px, py, pz) <= rangeSquared;
+    }
+
+    /**
+     * Calculates the squared distance between the navaid and a point.
+     *
+     * @param px The x coordinate of the point
+     * @param py The y coordinate of the point
+     * @param pz The z coordinate of the point
+     * @return The squared distance in square meters
+     */
+    public double distanceSquared(double px, double py, double pz) {
+        double dx = px - x;
+        double dy = py - y;
+        double dz = pz - z;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    public String getIdent() { return ident; }
+    public Type getType() { return type; }
+    public double getX() { return x; }
+    public double getY() { return y; }
+    public double getZ() { return z; }
+    public double getRange() { return range; }
+
+    @Override
+    public String toString() {
+        return String.format("Navaid[%s %s, pos=(%f, %f, %f), range=%.1f]", type, ident, x, y, z, range);
+    }
+}
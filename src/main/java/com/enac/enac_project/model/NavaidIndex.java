@@ -0,0 +1,279 @@
+package com.enac.enac_project.model;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable spatial index of navaids over a uniform horizontal grid.
+ * Each navaid is stored in every cell its reception range overlaps, so finding the navaids received at a
+ * position only inspects the single cell containing it, whatever the number of navaids in the index.
+ * Cells are kept in an open-addressing hash table keyed by their coordinates, which makes lookups
+ * allocation-free and lets the grid cover a whole region without allocating empty cells.
+ * Cells are sized for the marker beacons; a navaid whose range is larger than a cell, such as a DME station,
+ * would cover many cells, so the few of them are kept apart and checked on every query instead.
+ * Once built, an index can be queried by any number of threads.
+ */
+public final class NavaidIndex {
+    private static final Logger logger = LoggerFactory.getLogger(NavaidIndex.class);
+
+    private static final double MIN_CELL_SIZE = 100;
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final double cellSize;
+    private final double inverseCellSize;
+    private final int navaidCount;
+    private final int mask;
+    private final long[] cellKeys;
+    private final int[] cellStarts;
+    private final int[] cellCounts;
+    private final Navaid[] entries;
+    private final Navaid[] wide;   // Navaids whose range is larger than a cell
+
+    /**
+     * Constructs an index whose cell size is twice the largest marker beacon range, so that each marker
+     * overlaps at most four cells. Without any marker, the largest range of the navaids is used.
+     *
+     * @param navaids The navaids to index
+     * @throws IllegalArgumentException if navaids is null or contains null
+     */
+    public NavaidIndex(Collection<Navaid> navaids) {
+        this(navaids, 2 * markerRange(navaids));
+    }
+
+    /**
+     * Constructs an index.
+     *
+     * @param navaids The navaids to index
+     * @param cellSize The side of a grid cell in meters; navaids with a larger range are not put in the grid
+     * @throws IllegalArgumentException if navaids is null or contains null
+     */
+    public NavaidIndex(Collection<Navaid> navaids, double cellSize) {
+        validate(navaids);
+        this.cellSize = Math.max(cellSize, MIN_CELL_SIZE);
+        this.inverseCellSize = 1 / this.cellSize;
+        this.navaidCount = navaids.size();
+
+        Map<Long, List<Navaid>> cells = new HashMap<>();
+        List<Navaid> wideNavaids = new ArrayList<>();
+        int entryCount = 0;
+        for (Navaid navaid : navaids) {
+            if (navaid.getRange() > this.cellSize) {
+                wideNavaids.add(navaid);
+                continue;
+            }
+            int minX = cell(navaid.getX() - navaid.getRange());
+            int maxX = cell(navaid.getX() + navaid.getRange());
+            int minZ = cell(navaid.getZ() - navaid.getRange());
+            int maxZ = cell(navaid.getZ() + navaid.getRange());
+            for (int cx = minX; cx <= maxX; cx++) {
+                for (int cz = minZ; cz <= maxZ; cz++) {
+                    cells.computeIfAbsent(key(cx, cz), k -> new ArrayList<>()).add(navaid);
+                    entryCount++;
+                }
+            }
+        }
+
+        // Load factor of at most one half keeps probe sequences short
+        int capacity = Integer.highestOneBit(Math.max(cells.size(), 1) * 2 - 1) << 1;
+        this.mask = capacity - 1;
+        this.cellKeys = new long[capacity];
+        this.cellStarts = new int[capacity];
+        this.cellCounts = new int[capacity];
+        this.entries = new Navaid[entryCount];
+        this.wide = wideNavaids.toArray(new Navaid[0]);
+        Arrays.fill(cellKeys, EMPTY);
+
+        int next = 0;
+        for (Map.Entry<Long, List<Navaid>> cell : cells.entrySet()) {
+            int slot = slot(cell.getKey());
+            while (cellKeys[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            cellKeys[slot] = cell.getKey();
+            cellStarts[slot] = next;
+            cellCounts[slot] = cell.getValue().size();
+            for (Navaid navaid : cell.getValue()) {
+                entries[next++] = navaid;
+            }
+        }
+
+        logger.info("Navaid index built with {} navaids in {} cells of {} meters, {} of them outside the grid",
+                   navaidCount, cells.size(), this.cellSize, wide.length);
+    }
+
+    /**
+     * Finds every navaid whose range contains a position.
+     *
+     * @param x The x coordinate of the position
+     * @param y The y coordinate of the position
+     * @param z The z coordinate of the position
+     * @param result The list receiving the navaids, cleared first and typically reused from one tick to the next
+     * @return The number of navaids found
+     */
+    public int findContaining(double x, double y, double z, List<Navaid> result) {
+        result.clear();
+        int slot = find(key(cell(x), cell(z)));
+        if (slot >= 0) {
+            int end = cellStarts[slot] + cellCounts[slot];
+            for (int i = cellStarts[slot]; i < end; i++) {
+                if (entries[i].contains(x, y, z)) {
+                    result.add(entries[i]);
+                }
+            }
+        }
+        for (Navaid navaid : wide) {
+            if (navaid.contains(x, y, z)) {
+                result.add(navaid);
+            }
+        }
+        return result.size();
+    }
+
+    /**
+     * Finds a navaid of a given type whose range contains a position, without allocating.
+     *
+     * @param x The x coordinate of the position
+     * @param y The y coordinate of the position
+     * @param z The z coordinate of the position
+     * @param type The kind of navaid looked for
+     * @return The closest such navaid, or null if none is received
+     */
+    public Navaid findContaining(double x, double y, double z, Navaid.Type type) {
+        Navaid closest = null;
+        double closestDistance = Double.POSITIVE_INFINITY;
+        int slot = find(key(cell(x), cell(z)));
+        if (slot >= 0) {
+            int end = cellStarts[slot] + cellCounts[slot];
+            for (int i = cellStarts[slot]; i < end; i++) {
+                Navaid navaid = entries[i];
+                if (navaid.getType() == type && navaid.contains(x, y, z)) {
+                    double distance = navaid.distanceSquared(x, y, z);
+                    if (distance < closestDistance) {
+                        closest = navaid;
+                        closestDistance = distance;
+                    }
+                }
+            }
+        }
+        for (Navaid navaid : wide) {
+            if (navaid.getType() == type && navaid.contains(x, y, z)) {
+                double distance = navaid.distanceSquared(x, y, z);
+                if (distance < closestDistance) {
+                    closest = navaid;
+                    closestDistance = distance;
+                }
+            }
+        }
+        return closest;
+    }
+
+    /**
+     * Indicates which marker beacons are received at a position.
+     *
+     * @param x The x coordinate of the position
+     * @param y The y coordinate of the position
+     * @param z The z coordinate of the position
+     * @return A bit mask with bit 0 set for an outer marker, bit 1 for a middle marker and bit 2 for an inner marker
+     */
+    public int markerMask(double x, double y, double z) {
+        int markers = 0;
+        int slot = find(key(cell(x), cell(z)));
+        if (slot >= 0) {
+            int end = cellStarts[slot] + cellCounts[slot];
+            for (int i = cellStarts[slot]; i < end; i++) {
+                markers |= markerBit(entries[i], x, y, z);
+            }
+        }
+        for (Navaid navaid : wide) {
+            markers |= markerBit(navaid, x, y, z);
+        }
+        return markers;
+    }
+
+    /**
+     * Gets the number of navaids in the index.
+     *
+     * @return The navaid count
+     */
+    public int size() { return navaidCount; }
+
+    /**
+     * Gets the side of a grid cell.
+     *
+     * @return The cell size in meters
+     */
+    public double getCellSize() { return cellSize; }
+
+    private static int markerBit(Navaid navaid, double x, double y, double z) {
+        switch (navaid.getType()) {
+            case OUTER_MARKER:
+                return navaid.contains(x, y, z) ? 1 : 0;
+            case MIDDLE_MARKER:
+                return navaid.contains(x, y, z) ? 2 : 0;
+            case INNER_MARKER:
+                return navaid.contains(x, y, z) ? 4 : 0;
+            default:
+                return 0;
+        }
+    }
+
+    private int cell(double coordinate) {
+        return (int) Math.floor(coordinate * inverseCellSize);
+    }
+
+    private static long key(int cx, int cz) {
+        return ((long) cx << 32) | (cz & 0xFFFFFFFFL);
+    }
+
+    private int slot(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private int find(long key) {
+        int slot = slot(key);
+        long stored;
+        while ((stored = cellKeys[slot]) != EMPTY) {
+            if (stored == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private static void validate(Collection<Navaid> navaids) {
+        if (navaids == null) {
+            String message = "Navaids must not be null";
+            logger.error(message);
+            throw new IllegalArgumentException(message);
+        }
+        for (Navaid navaid : navaids) {
+            if (navaid == null) {
+                String message = "Navaids must not be null";
+                logger.error(message);
+                throw new IllegalArgumentException(message);
+            }
+        }
+    }
+
+    private static double markerRange(Collection<Navaid> navaids) {
+        validate(navaids);
+        double markers = 0;
+        double all = 0;
+        for (Navaid navaid : navaids) {
+            if (navaid.getType() != Navaid.Type.DME) {
+                markers = Math.max(markers, navaid.getRange());
+            }
+            all = Math.max(all, navaid.getRange());
+        }
+        return markers > 0 ? markers : all;
+    }
+}
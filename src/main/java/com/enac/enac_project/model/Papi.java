@@ -39,7 +39,29 @@ public class Papi {
      * @param aircraft The aircraft for which to update the PAPI state
      */
     public void updatePapiState(Aircraft aircraft) {
-        double descentAngle = glidePath.calculateGlideSlopeAngle(new Point3DCustom(aircraft.getX(), aircraft.getY(), aircraft.getZ()));
+        updatePapiState(glidePath.calculateGlideSlopeAngle(aircraft.getX(), aircraft.getY(), aircraft.getZ()));
+    }
+
+    /**
+     * Updates the PAPI state based on a position.
+     *
+     * @param position The position from which the PAPI is observed
+     */
+    public void updatePapiState(Vector3D position) {
+        updatePapiState(glidePath.calculateGlideSlopeAngle(position));
+    }
+
+    /**
+     * Updates the PAPI state from guidance already computed by an ILS sharing this PAPI's glide path.
+     * This avoids evaluating the glide slope angle a second time on every tick.
+     *
+     * @param guidance The guidance computed for the aircraft position
+     */
+    public void updatePapiState(GuidanceResult guidance) {
+        updatePapiState(guidance.getGlideSlopeAngle());
+    }
+
+    private void updatePapiState(double descentAngle) {
         if (descentAngle > angleBeta + idealDescentAngle) {
             papiLevel = 1;
         } else if (descentAngle > angleAlpha + idealDescentAngle) {
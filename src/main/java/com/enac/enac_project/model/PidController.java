@@ -0,0 +1,79 @@
+package com.enac.enac_project.model;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A proportional-integral-derivative controller with a bounded output.
+ * The integral term is frozen while the output is saturated, so that it does not wind up
+ * during large deviations and overshoot once the deviation shrinks.
+ * The derivative is taken on the error and skipped on the first update after a reset.
+ */
+public class PidController {
+    private static final Logger logger = LoggerFactory.getLogger(PidController.class);
+
+    private final double kp;
+    private final double ki;
+    private final double kd;
+    private final double minOutput;
+    private final double maxOutput;
+    private double integral;
+    private double previousError;
+    private boolean hasPrevious;
+
+    /**
+     * Constructs a PID controller.
+     *
+     * @param kp The proportional gain
+     * @param ki The integral gain, per second
+     * @param kd The derivative gain, in seconds
+     * @param minOutput The lowest output
+     * @param maxOutput The highest output
+     * @throws IllegalArgumentException if minOutput is greater than maxOutput
+     */
+    public PidController(double kp, double ki, double kd, double minOutput, double maxOutput) {
+        if (minOutput > maxOutput) {
+            String message = "Minimum output cannot be greater than maximum output";
+            logger.error(message);
+            throw new IllegalArgumentException(message);
+        }
+        this.kp = kp;
+        this.ki = ki;
+        this.kd = kd;
+        this.minOutput = minOutput;
+        this.maxOutput = maxOutput;
+    }
+
+    /**
+     * Computes the output for a new error sample.
+     *
+     * @param error The difference between the set point and the measured value
+     * @param dt The time elapsed since the previous sample in seconds
+     * @return The bounded output
+     */
+    public double update(double error, double dt) {
+        double derivative = hasPrevious && dt > 0 ? (error - previousError) / dt : 0;
+        previousError = error;
+        hasPrevious = true;
+
+        double candidateIntegral = integral + error * dt;
+        double output = kp * error + ki * candidateIntegral + kd * derivative;
+        if (output > maxOutput) {
+            return maxOutput;
+        }
+        if (output < minOutput) {
+            return minOutput;
+        }
+        integral = candidateIntegral;
+        return output;
+    }
+
+    /**
+     * Clears the integral and derivative history.
+     */
+    public void reset() {
+        integral = 0;
+        previousError = 0;
+        hasPrevious = false;
+    }
+}
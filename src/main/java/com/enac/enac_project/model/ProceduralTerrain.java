@@ -0,0 +1,204 @@
+package com.enac.enac_project.model;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * A deterministic hilly terrain generated from fractal value noise around the runways of an airport.
+ * The ground is flat at the runway level on and around each runway and under its approach corridor, so that the hills
+ * never rise into a final approach, and blends into the full relief further away. Between runways at different
+ * levels, the flat ground slopes smoothly from the level of one runway to the level of the other.
+ * The same seed always gives the same terrain, on every platform.
+ */
+public final class ProceduralTerrain implements HeightField {
+    private static final Logger logger = LoggerFactory.getLogger(ProceduralTerrain.class);
+
+    private static final long DEFAULT_SEED = 0x5EEDL;
+    private static final int GENERATOR_VERSION = 1;         // To be increased whenever the relief formula changes
+
+    private static final double AMPLITUDE = 180;            // Height of the highest hills above the runway, in meters
+    private static final double BASE_WAVELENGTH = 6000;     // Size of the largest relief features, in meters
+    private static final int OCTAVES = 5;
+    private static final double PERSISTENCE = 0.5;          // Amplitude ratio between two successive octaves
+    private static final double FLAT_MARGIN = 1500;         // Flat ground kept around the runway
+    private static final double CORRIDOR_HALF_WIDTH = 1500; // Flat ground kept on each side of the approach axis
+    private static final double CORRIDOR_LENGTH = 30000;    // Length of the approach corridor before the threshold
+    private static final double BLEND_DISTANCE = 5000;      // Distance over which the relief reaches its full height
+
+    private final RunwayModel[] runways;
+    private final long seed;
+    private final double normalization;
+
+    /**
+     * Constructs the default terrain around a runway.
+     *
+     * @param runway The runway
+     */
+    public ProceduralTerrain(RunwayModel runway) {
+        this(List.of(runway), DEFAULT_SEED);
+    }
+
+    /**
+     * Constructs the default terrain around the runways of an airport.
+     *
+     * @param runways The runways
+     */
+    public ProceduralTerrain(List<RunwayModel> runways) {
+        this(runways, DEFAULT_SEED);
+    }
+
+    /**
+     * Constructs a terrain around the runways of an airport.
+     *
+     * @param runways The runways
+     * @param seed The seed of the relief
+     * @throws IllegalArgumentException if there is no runway
+     */
+    public ProceduralTerrain(List<RunwayModel> runways, long seed) {
+        if (runways == null || runways.isEmpty()) {
+            String message = "Terrain needs at least one runway";
+            logger.error(message);
+            throw new IllegalArgumentException(message);
+        }
+        this.runways = runways.toArray(new RunwayModel[0]);
+        this.seed = seed;
+        double total = 0;
+        double amplitude = 1;
+        for (int octave = 0; octave < OCTAVES; octave++) {
+            total += amplitude;
+            amplitude *= PERSISTENCE;
+        }
+        this.normalization = 1 / total;
+    }
+
+    @Override
+    public double getGroundY(double x, double z) {
+        // The flat ground follows the nearest runways, weighted by the inverse square of the distance to their flat
+        // area: in the flat area of a runway, the other runways shift the level by a few millimetres at most,
+        // unless their flat areas overlap, where the level is shared between them
+        double distance = Double.POSITIVE_INFINITY;
+        double level = 0;
+        double weights = 0;
+        for (RunwayModel runway : runways) {
+            double runwayDistance = flatDistance(runway, x, z);
+            double weight = 1 / square(Math.max(0, runwayDistance) + 1);
+            distance = Math.min(distance, runwayDistance);
+            level += weight * runway.getY();
+            weights += weight;
+        }
+        if (runways.length > 1) {
+            level /= weights;
+        } else {
+            level = runways[0].getY();
+        }
+        if (distance <= 0) {
+            return level;
+        }
+        double t = Math.min(1, distance / BLEND_DISTANCE);
+        double blend = t * t * (3 - 2 * t);
+        return level - blend * AMPLITUDE * relief(x, z);
+    }
+
+    /**
+     * Computes a fingerprint of everything the terrain depends on: the generator version and parameters, the seed
+     * and the runway geometry. Two terrains with the same fingerprint have the same ground, so the fingerprint
+     * identifies heightmap tiles sampled from this terrain.
+     *
+     * @return The CRC-32 of the terrain parameters
+     */
+    public long getFingerprint() {
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES * 3 + Long.BYTES + Double.BYTES * (7 + 6 * runways.length));
+        buffer.putInt(GENERATOR_VERSION).putLong(seed).putInt(OCTAVES)
+              .putDouble(AMPLITUDE).putDouble(BASE_WAVELENGTH).putDouble(PERSISTENCE).putDouble(FLAT_MARGIN)
+              .putDouble(CORRIDOR_HALF_WIDTH).putDouble(CORRIDOR_LENGTH).putDouble(BLEND_DISTANCE)
+              .putInt(runways.length);
+        for (RunwayModel runway : runways) {
+            buffer.putDouble(runway.getX()).putDouble(runway.getY()).putDouble(runway.getZ())
+                  .putDouble(runway.getHeading()).putDouble(runway.getLength()).putDouble(runway.getWidth());
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array());
+        return crc.getValue();
+    }
+
+    /**
+     * Computes the distance from a position to the flat ground kept around a runway and its approach corridor,
+     * zero or negative inside it.
+     */
+    private static double flatDistance(RunwayModel runway, double x, double z) {
+        double dx = x - runway.getX();
+        double dz = z - runway.getZ();
+        double along = dx * runway.getAxisX() + dz * runway.getAxisZ();
+        double lateral = Math.abs(dx * runway.getAxisZ() - dz * runway.getAxisX());
+        double halfLength = runway.getLength() / 2;
+
+        double outsideAlong = Math.max(0, Math.abs(along) - halfLength);
+        double outsideLateral = Math.max(0, lateral - runway.getWidth() / 2);
+        double distance = Math.sqrt(outsideAlong * outsideAlong + outsideLateral * outsideLateral) - FLAT_MARGIN;
+        if (along < -halfLength && along > -halfLength - CORRIDOR_LENGTH) {
+            distance = Math.min(distance, lateral - CORRIDOR_HALF_WIDTH);
+        }
+        return distance;
+    }
+
+    private static double square(double value) {
+        return value * value;
+    }
+
+    /**
+     * Sums the octaves of value noise into a relief between 0 and 1.
+     */
+    private double relief(double x, double z) {
+        double sum = 0;
+        double amplitude = 1;
+        double frequency = 1 / BASE_WAVELENGTH;
+        for (int octave = 0; octave < OCTAVES; octave++) {
+            sum += amplitude * valueNoise(x * frequency, z * frequency, octave);
+            amplitude *= PERSISTENCE;
+            frequency *= 2;
+        }
+        double relief = sum * normalization;
+        return relief * relief;  // Wider valleys and sharper summits
+    }
+
+    /**
+     * Interpolates random values, between 0 and 1, given at the integer points of a lattice.
+     */
+    private double valueNoise(double u, double v, int octave) {
+        double floorU = Math.floor(u);
+        double floorV = Math.floor(v);
+        long i = (long) floorU;
+        long j = (long) floorV;
+        double fu = fade(u - floorU);
+        double fv = fade(v - floorV);
+
+        double v00 = lattice(i, j, octave);
+        double v10 = lattice(i + 1, j, octave);
+        double v01 = lattice(i, j + 1, octave);
+        double v11 = lattice(i + 1, j + 1, octave);
+        double top = v00 + (v10 - v00) * fu;
+        double bottom = v01 + (v11 - v01) * fu;
+        return top + (bottom - top) * fv;
+    }
+
+    private static double fade(double t) {
+        return t * t * (3 - 2 * t);
+    }
+
+    private double lattice(long i, long j, int octave) {
+        long h = seed ^ (i * 0x9E3779B97F4A7C15L) ^ (j * 0xC2B2AE3D27D4EB4FL) ^ ((long) octave << 56);
+        h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+        h ^= h >>> 31;
+        return (h >>> 11) * 0x1.0p-53;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ProceduralTerrain[seed=%d, around %d runways]", seed, runways.length);
+    }
+}
@@ -0,0 +1,72 @@
+package com.enac.enac_project.model;
+
+/**
+ * Accumulates the count, mean, variance and extremes of a series of values in a single pass.
+ * Two accumulators can be merged, which allows statistics gathered on several threads to be combined.
+ */
+public class RunningStatistics {
+    private long count;
+    private double mean;
+    private double squaredDeviations;  // Sum of squared differences from the mean
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    /**
+     * Adds a value to the statistics.
+     *
+     * @param value The value to add
+     */
+    public void add(double value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        squaredDeviations += delta * (value - mean);
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Merges the values accumulated by another instance into this one.
+     *
+     * @param other The statistics to merge
+     */
+    public void merge(RunningStatistics other) {
+        if (other.count == 0) {
+            return;
+        }
+        if (count == 0) {
+            count = other.count;
+            mean = other.mean;
+            squaredDeviations = other.squaredDeviations;
+            min = other.min;
+            max = other.max;
+            return;
+        }
+
+        long total = count + other.count;
+        double delta = other.mean - mean;
+        mean += delta * other.count / total;
+        squaredDeviations += other.squaredDeviations + delta * delta * count * other.count / total;
+        count = total;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    public long getCount() { return count; }
+
+    public double getMean() { return count > 0 ? mean : Double.NaN; }
+
+    public double getStandardDeviation() {
+        return count > 1 ? Math.sqrt(squaredDeviations / (count - 1)) : 0;
+    }
+
+    public double getMin() { return count > 0 ? min : Double.NaN; }
+
+    public double getMax() { return count > 0 ? max : Double.NaN; }
+
+    @Override
+    public String toString() {
+        return String.format("n=%d, mean=%.3f, sd=%.3f, min=%.3f, max=%.3f",
+                           count, getMean(), getStandardDeviation(), getMin(), getMax());
+    }
+}
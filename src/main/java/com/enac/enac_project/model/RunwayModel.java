@@ -1,11 +1,22 @@
 package com.enac.enac_project.model;
 
+import javafx.beans.InvalidationListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
 /**
  * The RunwayModel class represents a landing runway with specific dimensions and a defined position.
- * It inherits from Point3DCustom to use its position as the runway threshold.
+ * It inherits from Point3DCustom to use its position as the runway center.
+ * A runway can have any heading: its rotation into the runway-local frame is precomputed with the rest of the
+ * derived geometry (extents, threshold, touchdown point and axis) into primitive fields, read by the per-tick
+ * simulation through allocation-free accessors and recomputed only when the runway moves.
+ * Moving a runway is meant to happen while no simulation is stepping against it.
+ *
+ * <p>In the runway-local frame of a {@link RunwayPosition}, the origin is the threshold, the first axis points
+ * along the runway in the landing direction, the second one to the right of it, and heights are measured upwards.</p>
  */
 public class RunwayModel extends Point3DCustom {
     private static final Logger logger = LoggerFactory.getLogger(RunwayModel.class);
@@ -13,6 +24,22 @@ public class RunwayModel extends Point3DCustom {
     private final double width;
     private final double height;
     private final double length;
+    private final double heading;
+    private final double axisX;   // Unit vector along the runway, in the landing direction
+    private final double axisZ;
+    private final List<Runnable> geometryListeners = new CopyOnWriteArrayList<>();
+
+    // Derived geometry, recomputed whenever the runway moves
+    private double minX;
+    private double maxX;
+    private double minZ;
+    private double maxZ;
+    private double thresholdX;
+    private double thresholdY;
+    private double thresholdZ;
+    private double touchdownX;
+    private double touchdownZ;
+    private int geometryVersion;
 
     // Minimum and maximum values for runway dimensions (in meters)
     private static final double MIN_WIDTH = 30;    // Minimum runway width
@@ -21,32 +48,73 @@ public class RunwayModel extends Point3DCustom {
     private static final double MAX_HEIGHT = 10;   // Maximum runway height
     private static final double MIN_LENGTH = 1000; // Minimum runway length
     private static final double MAX_LENGTH = 10000;// Maximum runway length
+    private static final double MIN_HEADING = 0;   // Headings are in degrees, clockwise from the z axis
+    private static final double MAX_HEADING = 360;
 
     /**
-     * Constructor for RunwayModel that initializes the runway with a specific position and dimensions.
+     * Constructor for RunwayModel that initializes the runway with a specific position and dimensions,
+     * aligned with the z axis.
      *
-     * @param x The x-coordinate of the runway threshold
-     * @param y The y-coordinate of the runway threshold
-     * @param z The z-coordinate of the runway threshold
+     * @param x The x-coordinate of the runway center
+     * @param y The y-coordinate of the runway center
+     * @param z The z-coordinate of the runway center
      * @param width The width of the runway (must be between MIN_WIDTH and MAX_WIDTH)
      * @param height The height of the runway (must be between MIN_HEIGHT and MAX_HEIGHT)
      * @param length The length of the runway (must be between MIN_LENGTH and MAX_LENGTH)
      * @throws IllegalArgumentException if any dimension is outside its valid range
      */
     public RunwayModel(double x, double y, double z, double width, double height, double length) {
+        this(x, y, z, width, height, length, 0);
+    }
+
+    /**
+     * Constructor for RunwayModel that initializes the runway with a specific position, dimensions and heading.
+     *
+     * @param x The x-coordinate of the runway center
+     * @param y The y-coordinate of the runway center
+     * @param z The z-coordinate of the runway center
+     * @param width The width of the runway (must be between MIN_WIDTH and MAX_WIDTH)
+     * @param height The height of the runway (must be between MIN_HEIGHT and MAX_HEIGHT)
+     * @param length The length of the runway (must be between MIN_LENGTH and MAX_LENGTH)
+     * @param heading The landing direction in degrees, clockwise from the z axis towards the x axis,
+     *                the same convention as the aircraft yaw (must be at least 0 and below 360)
+     * @throws IllegalArgumentException if any dimension is outside its valid range
+     */
+    public RunwayModel(double x, double y, double z, double width, double height, double length, double heading) {
         super(x, y, z);
         
         // Validate dimensions
         validateDimension("width", width, MIN_WIDTH, MAX_WIDTH);
         validateDimension("height", height, MIN_HEIGHT, MAX_HEIGHT);
         validateDimension("length", length, MIN_LENGTH, MAX_LENGTH);
+        if (!(heading >= MIN_HEADING && heading < MAX_HEADING)) {
+            String message = String.format("heading must be at least %.2f and below %.2f, but was %.2f",
+                                        MIN_HEADING, MAX_HEADING, heading);
+            logger.error(message);
+            throw new IllegalArgumentException(message);
+        }
 
         this.width = width;
         this.height = height;
         this.length = length;
+        this.heading = heading;
+        double headingRad = Math.toRadians(heading);
+        this.axisX = Math.sin(headingRad);
+        this.axisZ = Math.cos(headingRad);
+        updateGeometry();
 
-        logger.info("Runway created at position ({}, {}, {}) with dimensions: width={}, height={}, length={}",
-                   x, y, z, width, height, length);
+        InvalidationListener moved = observable -> {
+            updateGeometry();
+            for (Runnable listener : geometryListeners) {
+                listener.run();
+            }
+        };
+        this.x.addListener(moved);
+        this.y.addListener(moved);
+        this.z.addListener(moved);
+
+        logger.info("Runway created at position ({}, {}, {}) with dimensions: width={}, height={}, length={}, heading={}",
+                   x, y, z, width, height, length, heading);
     }
 
     /**
@@ -68,41 +136,158 @@ public class RunwayModel extends Point3DCustom {
     }
 
     /**
-     * Gets the threshold point of the runway, which is the base position inherited from Point3DCustom.
+     * Registers a hook called after the runway has moved and its derived geometry has been recomputed,
+     * so that objects caching values derived from the runway can refresh them.
      *
-     * @return The runway threshold point
+     * @param listener The hook to call
+     */
+    public void addGeometryListener(Runnable listener) {
+        geometryListeners.add(listener);
+    }
+
+    /**
+     * Unregisters a hook added by {@link #addGeometryListener(Runnable)}.
+     *
+     * @param listener The hook to remove
+     */
+    public void removeGeometryListener(Runnable listener) {
+        geometryListeners.remove(listener);
+    }
+
+    private void updateGeometry() {
+        double halfExtentX = width / 2 * Math.abs(axisZ) + length / 2 * Math.abs(axisX);
+        double halfExtentZ = width / 2 * Math.abs(axisX) + length / 2 * Math.abs(axisZ);
+        minX = getX() - halfExtentX;
+        maxX = getX() + halfExtentX;
+        minZ = getZ() - halfExtentZ;
+        maxZ = getZ() + halfExtentZ;
+        thresholdX = getX() - length / 2 * axisX;
+        thresholdY = getY();
+        thresholdZ = getZ() - length / 2 * axisZ;
+        touchdownX = getX() - length / 3 * axisX;
+        touchdownZ = getZ() - length / 3 * axisZ;
+        geometryVersion++;
+    }
+
+    /**
+     * Transforms a position into the runway-local frame.
+     *
+     * @param px The x coordinate of the position
+     * @param py The y coordinate of the position
+     * @param pz The z coordinate of the position
+     * @param result The object receiving the local coordinates, typically reused from one tick to the next
+     * @return The result object
+     */
+    public RunwayPosition toLocal(double px, double py, double pz, RunwayPosition result) {
+        double dx = px - thresholdX;
+        double dz = pz - thresholdZ;
+        result.set(this, geometryVersion, px, py, pz,
+                   dx * axisX + dz * axisZ,
+                   dx * axisZ - dz * axisX,
+                   thresholdY - py);
+        return result;
+    }
+
+    /**
+     * Indicates whether a position is over the runway surface, at or below the given height above it.
+     *
+     * @param px The x coordinate of the position
+     * @param py The y coordinate of the position
+     * @param pz The z coordinate of the position
+     * @param margin The height above the runway under which the position counts as on the runway
+     * @return true if the position is on the runway
+     */
+    public boolean isOnSurface(double px, double py, double pz, double margin) {
+        double dx = px - thresholdX;
+        double dz = pz - thresholdZ;
+        return isWithinSurface(dx * axisX + dz * axisZ, dx * axisZ - dz * axisX, thresholdY - py, margin);
+    }
+
+    /**
+     * Indicates whether a position already transformed into the runway-local frame is over the runway surface,
+     * at or below the given height above it.
+     *
+     * @param position The local position, which must have been computed for this runway
+     * @param margin The height above the runway under which the position counts as on the runway
+     * @return true if the position is on the runway
+     */
+    public boolean isOnSurface(RunwayPosition position, double margin) {
+        return isWithinSurface(position.getAlong(), position.getLateral(), position.getHeight(), margin);
+    }
+
+    private boolean isWithinSurface(double along, double lateral, double heightAbove, double margin) {
+        return along >= 0 && along <= length && Math.abs(lateral) <= width / 2 && heightAbove <= margin;
+    }
+
+    /**
+     * Gets the threshold point of the runway.
+     * The simulation reads {@link #getThresholdX()}, {@link #getThresholdY()} and {@link #getThresholdZ()} instead,
+     * which do not allocate.
+     *
+     * @return A new point at the runway threshold
      */
     public Point3DCustom getThresholdPoint() {
-        Point3DCustom thresholdPoint = new Point3DCustom(getX(), getY(), getZ() - length / 2);
-        logger.debug("Calculated threshold point: ({}, {}, {})",
-                    thresholdPoint.getX(), thresholdPoint.getY(), thresholdPoint.getZ());
-        return thresholdPoint;
+        return new Point3DCustom(thresholdX, thresholdY, thresholdZ);
     }
 
     /**
      * Gets the center point of the runway.
      *
-     * @return The runway center point
+     * @return A new point at the runway center
      */
     public Point3DCustom getCenterPoint() {
-        Point3DCustom centerPoint = new Point3DCustom(getX(), getY(), getZ());
-        logger.debug("Calculated center point: ({}, {}, {})",
-                    centerPoint.getX(), centerPoint.getY(), centerPoint.getZ());
-        return centerPoint;
+        return new Point3DCustom(getX(), getY(), getZ());
     }
 
     /**
      * Gets the touchdown point of the runway.
      *
-     * @return The runway touchdown point
+     * @return A new point at the runway touchdown point
      */
     public Point3DCustom getTouchdownPoint() {
-        Point3DCustom touchdownPoint = new Point3DCustom(getX(), getY(), getZ() - length / 3);
-        logger.debug("Calculated touchdown point: ({}, {}, {})",
-                    touchdownPoint.getX(), touchdownPoint.getY(), touchdownPoint.getZ());
-        return touchdownPoint;
+        return new Point3DCustom(touchdownX, getY(), touchdownZ);
     }
 
+    // Allocation-free accessors for the derived geometry
+    public double getThresholdX() { return thresholdX; }
+    public double getThresholdY() { return thresholdY; }
+    public double getThresholdZ() { return thresholdZ; }
+    public double getTouchdownX() { return touchdownX; }
+    public double getTouchdownZ() { return touchdownZ; }
+    public double getMinX() { return minX; }
+    public double getMaxX() { return maxX; }
+    public double getMinZ() { return minZ; }
+    public double getMaxZ() { return maxZ; }
+
+    /**
+     * Gets the x component of the unit vector pointing along the runway, in the landing direction.
+     *
+     * @return The x component of the runway axis
+     */
+    public double getAxisX() { return axisX; }
+
+    /**
+     * Gets the z component of the unit vector pointing along the runway, in the landing direction.
+     *
+     * @return The z component of the runway axis
+     */
+    public double getAxisZ() { return axisZ; }
+
+    /**
+     * Gets a counter incremented every time the derived geometry is recomputed, which lets a
+     * {@link RunwayPosition} tell whether it is still valid.
+     *
+     * @return The geometry version
+     */
+    int getGeometryVersion() { return geometryVersion; }
+
+    /**
+     * Gets the landing direction of the runway.
+     *
+     * @return The heading in degrees, clockwise from the z axis
+     */
+    public double getHeading() { return heading; }
+
     // Getter methods for runway dimensions
     public double getWidth() { return width; }
     public double getHeight() { return height; }
@@ -110,7 +295,7 @@ public class RunwayModel extends Point3DCustom {
 
     @Override
     public String toString() {
-        return String.format("RunwayModel[pos=(%f, %f, %f), width=%f, height=%f, length=%f]",
-                           getX(), getY(), getZ(), width, height, length);
+        return String.format("RunwayModel[pos=(%f, %f, %f), width=%f, height=%f, length=%f, heading=%f]",
+                           getX(), getY(), getZ(), width, height, length, heading);
     }
 }
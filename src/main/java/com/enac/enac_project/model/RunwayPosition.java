@@ -0,0 +1,86 @@
+package com.enac.enac_project.model;
+
+/**
+ * A position expressed both in world coordinates and in the local frame of a runway: distance along the runway
+ * from the threshold, lateral offset to the right of the axis and height above the runway.
+ * It is computed once per tick by {@link RunwayModel#toLocal} and then shared by the localizer, the glide path,
+ * the PAPI and the runway contact test, instead of each of them rotating the position again.
+ * Instances are mutable and meant to be reused from one tick to the next by a single thread.
+ */
+public final class RunwayPosition {
+    private RunwayModel runway;
+    private int geometryVersion;
+    private double x;
+    private double y;
+    private double z;
+    private double along;
+    private double lateral;
+    private double height;
+    private double horizontalDistance;
+
+    void set(RunwayModel runway, int geometryVersion, double x, double y, double z,
+             double along, double lateral, double height) {
+        this.runway = runway;
+        this.geometryVersion = geometryVersion;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.along = along;
+        this.lateral = lateral;
+        this.height = height;
+        this.horizontalDistance = Math.sqrt(lateral * lateral + along * along);
+    }
+
+    /**
+     * Indicates whether this position was computed for the given runway, in its current location, and
+     * for the given world coordinates.
+     *
+     * @param runway The runway
+     * @param x The x coordinate
+     * @param y The y coordinate
+     * @param z The z coordinate
+     * @return true if the local coordinates can be reused
+     */
+    public boolean isCurrent(RunwayModel runway, double x, double y, double z) {
+        return this.runway == runway && geometryVersion == runway.getGeometryVersion()
+               && this.x == x && this.y == y && this.z == z;
+    }
+
+    public RunwayModel getRunway() { return runway; }
+    public double getX() { return x; }
+    public double getY() { return y; }
+    public double getZ() { return z; }
+
+    /**
+     * Gets the distance along the runway axis from the threshold, negative before the threshold.
+     *
+     * @return The distance in meters
+     */
+    public double getAlong() { return along; }
+
+    /**
+     * Gets the offset from the runway axis, positive to the right when facing the landing direction.
+     *
+     * @return The offset in meters
+     */
+    public double getLateral() { return lateral; }
+
+    /**
+     * Gets the height above the runway threshold.
+     *
+     * @return The height in meters, positive above the runway
+     */
+    public double getHeight() { return height; }
+
+    /**
+     * Gets the horizontal distance to the runway threshold.
+     *
+     * @return The distance in meters
+     */
+    public double getHorizontalDistance() { return horizontalDistance; }
+
+    @Override
+    public String toString() {
+        return String.format("RunwayPosition[along=%f, lateral=%f, height=%f]", along, lateral, height);
+    }
+}
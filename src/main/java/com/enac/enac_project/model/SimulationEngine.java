@@ -0,0 +1,335 @@
+package com.enac.enac_project.model;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+
+/**
+ * The SimulationEngine advances an aircraft and its navigation aids (ILS and PAPI) independently of any
+ * user interface. It can either run on its own background thread or be stepped directly by a caller,
+ * which allows approaches to be simulated on machines without a display.
+ * Physics are integrated with a fixed time step, so the simulated trajectory does not depend on how
+ * regularly the engine thread is scheduled.
+ * After every tick an immutable {@link SimulationSnapshot} is published to the registered listeners.
+ */
+public class SimulationEngine {
+    private static final Logger logger = LoggerFactory.getLogger(SimulationEngine.class);
+
+    private static final double DEFAULT_FREQUENCY = 1.0 / Aircraft.REFERENCE_TICK_SECONDS;
+    private static final long STOP_TIMEOUT_MILLIS = 1000;
+
+    private final Aircraft aircraft;
+    private final FixedTimestepIntegrator integrator;
+    private final DoubleConsumer stepFunction = this::step;
+    private final Queue<Consumer<Aircraft>> pendingCommands = new ConcurrentLinkedQueue<>();
+    private final List<Consumer<SimulationSnapshot>> listeners = new CopyOnWriteArrayList<>();
+    private final GuidanceResult guidance = new GuidanceResult();
+    private final SnapshotExchange exchange = new SnapshotExchange();
+    private final AtomicBoolean running = new AtomicBoolean();
+    private ScheduledExecutorService executor;
+    private volatile Thread engineThread;
+    private volatile Autopilot autopilot;
+    private long lastAdvanceNanos;
+    private long tick;
+    private double simulationTime;
+    private boolean terrainWarning;
+    private boolean terrainContact;
+
+    /**
+     * Constructs a simulation engine for the given aircraft running at the default physics frequency.
+     *
+     * @param aircraft The aircraft to simulate
+     * @throws IllegalArgumentException if aircraft is null
+     */
+    public SimulationEngine(Aircraft aircraft) {
+        this(aircraft, DEFAULT_FREQUENCY);
+    }
+
+    /**
+     * Constructs a simulation engine for the given aircraft.
+     *
+     * @param aircraft The aircraft to simulate
+     * @param frequencyHz The physics frequency in Hz
+     * @throws IllegalArgumentException if aircraft is null or the frequency is invalid
+     */
+    public SimulationEngine(Aircraft aircraft, double frequencyHz) {
+        if (aircraft == null) {
+            String message = "Aircraft cannot be null";
+            logger.error(message);
+            throw new IllegalArgumentException(message);
+        }
+
+        this.aircraft = aircraft;
+        this.integrator = new FixedTimestepIntegrator(frequencyHz);
+        exchange.publish(captureSnapshot());
+    }
+
+    /**
+     * Advances the simulation by one fixed time step.
+     *
+     * @return The snapshot describing the state after the tick
+     * @see #step(double)
+     */
+    public SimulationSnapshot step() {
+        step(integrator.getStepSeconds());
+        return exchange.peek();
+    }
+
+    /**
+     * Advances the simulation by one tick: applies pending commands, moves the aircraft over the
+     * given time step, evaluates the ILS and PAPI and publishes the resulting snapshot.
+     * This method must only be called from one thread at a time.
+     *
+     * @param dt The time step in seconds
+     */
+    public void step(double dt) {
+        applyPendingCommands();
+        Autopilot pilot = autopilot;
+        if (pilot != null) {
+            // Flies on the guidance published with the previous snapshot
+            pilot.apply(aircraft, guidance, dt);
+        }
+        aircraft.updatePosition(dt);
+        tick++;
+        simulationTime += dt;
+        reportTerrain();
+        publish(captureSnapshot());
+    }
+
+    /**
+     * Advances the simulation by the given amount of real time, executing as many fixed
+     * steps as fit in it. The remainder is carried over to the next call.
+     *
+     * @param elapsedSeconds The real time elapsed since the previous call, in seconds
+     * @return The number of steps executed
+     */
+    public int advance(double elapsedSeconds) {
+        return integrator.advance(elapsedSeconds, stepFunction);
+    }
+
+    /**
+     * Starts stepping the simulation on a background thread, following real time.
+     * Calling this method while the engine is already running has no effect.
+     */
+    public synchronized void start() {
+        if (executor != null) {
+            return;
+        }
+
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "simulation-engine");
+            thread.setDaemon(true);
+            engineThread = thread;
+            return thread;
+        });
+        running.set(true);
+        integrator.reset();
+        lastAdvanceNanos = System.nanoTime();
+        long periodNanos = Math.round(integrator.getStepSeconds() * 1e9);
+        executor.scheduleAtFixedRate(this::advanceRealTime, periodNanos, periodNanos, TimeUnit.NANOSECONDS);
+        logger.info("Simulation engine started at {} Hz", integrator.getFrequency());
+    }
+
+    /**
+     * Stops the background thread. When called from another thread, returns once any tick in progress
+     * has completed. The engine can still be stepped manually afterwards.
+     */
+    public synchronized void stop() {
+        if (executor == null) {
+            return;
+        }
+        running.set(false);
+        executor.shutdownNow();
+        if (Thread.currentThread() != engineThread) {
+            try {
+                if (!executor.awaitTermination(STOP_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    logger.warn("Simulation engine thread did not stop within {} ms", STOP_TIMEOUT_MILLIS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        executor = null;
+        logger.info("Simulation engine stopped");
+    }
+
+    /**
+     * Indicates whether the engine is currently running on its background thread.
+     *
+     * @return true if the engine is running, false otherwise
+     */
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    /**
+     * Queues a command to be applied to the aircraft at the beginning of the next tick.
+     * This is the thread-safe way for controllers to act on the simulated aircraft.
+     *
+     * @param command The command to apply
+     */
+    public void submit(Consumer<Aircraft> command) {
+        if (command == null) {
+            String message = "Command cannot be null";
+            logger.error(message);
+            throw new IllegalArgumentException(message);
+        }
+        pendingCommands.add(command);
+    }
+
+    /**
+     * Resets the aircraft to its initial state. When the engine is stopped the reset is applied
+     * immediately and a new snapshot is published, otherwise it is applied on the next tick.
+     */
+    public synchronized void reset() {
+        submit(Aircraft::reset);
+        if (executor == null) {
+            applyPendingCommands();
+            publish(captureSnapshot());
+        }
+    }
+
+    /**
+     * Engages or disengages the autopilot. The autopilot takes effect on the next tick and overrides
+     * the control inputs submitted by the user while it is engaged.
+     *
+     * @param autopilot The autopilot flying the aircraft, or null to fly it manually
+     */
+    public void setAutopilot(Autopilot autopilot) {
+        if (autopilot != null) {
+            autopilot.reset();
+        }
+        this.autopilot = autopilot;
+    }
+
+    /**
+     * Gets the engaged autopilot.
+     *
+     * @return The autopilot, or null if the aircraft is flown manually
+     */
+    public Autopilot getAutopilot() { return autopilot; }
+
+    /**
+     * Registers a listener notified with every published snapshot.
+     * Listeners are called on the thread that stepped the engine.
+     *
+     * @param listener The listener to register
+     */
+    public void addListener(Consumer<SimulationSnapshot> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Unregisters a snapshot listener.
+     *
+     * @param listener The listener to remove
+     */
+    public void removeListener(Consumer<SimulationSnapshot> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Gets the most recently published snapshot.
+     *
+     * @return The latest snapshot
+     */
+    public SimulationSnapshot getLatestSnapshot() {
+        return exchange.peek();
+    }
+
+    /**
+     * Gets the handoff through which the renderer takes the newest snapshot without the engine
+     * ever queuing work for it. The engine is its only producer.
+     *
+     * @return The snapshot exchange
+     */
+    public SnapshotExchange getSnapshotExchange() {
+        return exchange;
+    }
+
+    public Aircraft getAircraft() { return aircraft; }
+
+    /**
+     * Gets the physics time step.
+     *
+     * @return The fixed time step in seconds
+     */
+    public double getStepSeconds() {
+        return integrator.getStepSeconds();
+    }
+
+    private void advanceRealTime() {
+        if (!running.get()) {
+            return;  // Stop requested while this run was already scheduled
+        }
+        try {
+            long now = System.nanoTime();
+            double elapsed = (now - lastAdvanceNanos) / 1e9;
+            lastAdvanceNanos = now;
+            advance(elapsed);
+        } catch (Exception e) {
+            // An exception escaping here would silently cancel the scheduled task
+            logger.error("Error while stepping the simulation", e);
+        }
+    }
+
+    /**
+     * Logs the terrain warning and the terrain impact when they occur.
+     */
+    private void reportTerrain() {
+        boolean warning = aircraft.isTerrainWarning();
+        boolean contact = aircraft.hasHitTerrain();
+        if (warning && !terrainWarning) {
+            logger.warn("Terrain warning at tick {}: position ({}, {}, {}), radio altitude {}", tick,
+                        aircraft.getX(), aircraft.getY(), aircraft.getZ(), aircraft.calculateAltitudeDifference());
+        }
+        if (contact && !terrainContact) {
+            logger.warn("Aircraft hit the terrain at tick {}: position ({}, {}, {})", tick,
+                        aircraft.getX(), aircraft.getY(), aircraft.getZ());
+        }
+        terrainWarning = warning;
+        terrainContact = contact;
+    }
+
+    private void applyPendingCommands() {
+        Consumer<Aircraft> command;
+        while ((command = pendingCommands.poll()) != null) {
+            command.accept(aircraft);
+        }
+    }
+
+    private SimulationSnapshot captureSnapshot() {
+        Papi papi = aircraft.getPapi();
+        aircraft.getILS().computeGuidance(aircraft.getRunwayPosition(), guidance);
+        papi.updatePapiState(guidance);
+
+        return new SimulationSnapshot(exchange.peek(), tick, simulationTime,
+                aircraft.getX(), aircraft.getY(), aircraft.getZ(),
+                aircraft.getSpeed(), aircraft.getYaw(), aircraft.getPitch(), aircraft.getRoll(),
+                aircraft.calculateAltitudeDifference(),
+                guidance.getLocalizerBar(),
+                guidance.getGlidePathBar(),
+                guidance.getDme(),
+                guidance.isOuterMarker(),
+                guidance.isMiddleMarker(),
+                guidance.isInnerMarker(),
+                papi.getPapiLevel());
+    }
+
+    private void publish(SimulationSnapshot snapshot) {
+        exchange.publish(snapshot);
+        for (Consumer<SimulationSnapshot> listener : listeners) {
+            listener.accept(snapshot);
+        }
+    }
+}
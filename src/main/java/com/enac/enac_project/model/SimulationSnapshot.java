@@ -0,0 +1,184 @@
+package com.enac.enac_project.model;
+
+/**
+ * Immutable picture of the simulation state at the end of one engine tick.
+ * Snapshots are produced by the {@link SimulationEngine} and may be handed to any thread,
+ * which lets the view render the aircraft and its instruments without touching the live model.
+ * Each snapshot also keeps the pose of the previous tick so that renderers can interpolate
+ * between the last two physics states.
+ */
+public final class SimulationSnapshot {
+    private final long tick;
+    private final double simulationTime;
+    private final double x;
+    private final double y;
+    private final double z;
+    private final double speed;
+    private final double yaw;
+    private final double pitch;
+    private final double roll;
+    private final double altitude;
+    private final double localizerBar;
+    private final double glidePathBar;
+    private final double dme;
+    private final boolean outerMarker;
+    private final boolean middleMarker;
+    private final boolean innerMarker;
+    private final int papiLevel;
+    private final double previousX;
+    private final double previousY;
+    private final double previousZ;
+    private final double previousYaw;
+    private final double previousPitch;
+    private final double previousRoll;
+
+    /**
+     * Constructs a snapshot. Snapshots are normally produced by the simulation engine; this constructor
+     * also lets recorded flights be turned back into snapshots for replay.
+     *
+     * @param previous The snapshot of the previous tick, whose pose is kept for interpolation, or null
+     * @param tick The tick counter
+     * @param simulationTime The simulation time in seconds
+     * @param x The X coordinate of the aircraft
+     * @param y The Y coordinate of the aircraft
+     * @param z The Z coordinate of the aircraft
+     * @param speed The speed of the aircraft
+     * @param yaw The yaw of the aircraft in degrees
+     * @param pitch The pitch of the aircraft in degrees
+     * @param roll The roll of the aircraft in degrees
+     * @param altitude The radio altitude of the aircraft, above the ground under it
+     * @param localizerBar The position of the localizer bar
+     * @param glidePathBar The position of the glide path bar
+     * @param dme The DME distance
+     * @param outerMarker Whether the aircraft is over the outer marker
+     * @param middleMarker Whether the aircraft is over the middle marker
+     * @param innerMarker Whether the aircraft is over the inner marker
+     * @param papiLevel The PAPI level
+     */
+    public SimulationSnapshot(SimulationSnapshot previous, long tick, double simulationTime,
+                       double x, double y, double z,
+                       double speed, double yaw, double pitch, double roll,
+                       double altitude, double localizerBar, double glidePathBar, double dme,
+                       boolean outerMarker, boolean middleMarker, boolean innerMarker,
+                       int papiLevel) {
+        this.tick = tick;
+        this.simulationTime = simulationTime;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.speed = speed;
+        this.yaw = yaw;
+        this.pitch = pitch;
+        this.roll = roll;
+        this.altitude = altitude;
+        this.localizerBar = localizerBar;
+        this.glidePathBar = glidePathBar;
+        this.dme = dme;
+        this.outerMarker = outerMarker;
+        this.middleMarker = middleMarker;
+        this.innerMarker = innerMarker;
+        this.papiLevel = papiLevel;
+
+        // Only the pose is copied so that snapshots never form a chain retaining the whole history
+        SimulationSnapshot origin = previous != null ? previous : this;
+        this.previousX = origin.x;
+        this.previousY = origin.y;
+        this.previousZ = origin.z;
+        this.previousYaw = origin.yaw;
+        this.previousPitch = origin.pitch;
+        this.previousRoll = origin.roll;
+    }
+
+    /**
+     * Gets the number of engine ticks executed when this snapshot was taken.
+     *
+     * @return The tick counter
+     */
+    public long getTick() { return tick; }
+
+    /**
+     * Gets the simulated time elapsed when this snapshot was taken.
+     *
+     * @return The simulation time in seconds
+     */
+    public double getSimulationTime() { return simulationTime; }
+
+    public double getX() { return x; }
+    public double getY() { return y; }
+    public double getZ() { return z; }
+    public double getSpeed() { return speed; }
+    public double getYaw() { return yaw; }
+    public double getPitch() { return pitch; }
+    public double getRoll() { return roll; }
+
+    /**
+     * Gets the radio altitude of the aircraft, above the ground under it.
+     *
+     * @return The altitude difference in units
+     */
+    public double getAltitude() { return altitude; }
+
+    /**
+     * Gets the localizer bar displacement computed by the ILS.
+     *
+     * @return The displacement in pixels
+     */
+    public double getLocalizerBar() { return localizerBar; }
+
+    /**
+     * Gets the glide path bar displacement computed by the ILS.
+     *
+     * @return The displacement in pixels
+     */
+    public double getGlidePathBar() { return glidePathBar; }
+
+    /**
+     * Gets the DME distance to the runway threshold.
+     *
+     * @return The distance in meters
+     */
+    public double getDme() { return dme; }
+
+    public boolean isOuterMarker() { return outerMarker; }
+    public boolean isMiddleMarker() { return middleMarker; }
+    public boolean isInnerMarker() { return innerMarker; }
+
+    /**
+     * Gets the PAPI level seen from the aircraft position.
+     *
+     * @return The PAPI level, from 1 (too high) to 5 (too low)
+     */
+    public int getPapiLevel() { return papiLevel; }
+
+    /**
+     * Interpolates the X coordinate between the previous tick and this one.
+     *
+     * @param alpha The interpolation factor, 0 for the previous tick and 1 for this one
+     * @return The interpolated X coordinate
+     */
+    public double interpolateX(double alpha) { return lerp(previousX, x, alpha); }
+
+    public double interpolateY(double alpha) { return lerp(previousY, y, alpha); }
+    public double interpolateZ(double alpha) { return lerp(previousZ, z, alpha); }
+
+    /**
+     * Interpolates the yaw between the previous tick and this one, along the shortest arc.
+     *
+     * @param alpha The interpolation factor, 0 for the previous tick and 1 for this one
+     * @return The interpolated yaw, within the [-180, 180] range
+     */
+    public double interpolateYaw(double alpha) { return Aircraft.interpolateYaw(previousYaw, yaw, alpha); }
+
+    public double interpolatePitch(double alpha) { return lerp(previousPitch, pitch, alpha); }
+    public double interpolateRoll(double alpha) { return lerp(previousRoll, roll, alpha); }
+
+    private static double lerp(double from, double to, double alpha) {
+        return from + (to - from) * alpha;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SimulationSnapshot[tick=%d, pos=(%f, %f, %f), speed=%f, papi=%d]",
+                           tick, x, y, z, speed, papiLevel);
+    }
+}
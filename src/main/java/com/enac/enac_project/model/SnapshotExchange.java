@@ -0,0 +1,68 @@
+package com.enac.enac_project.model;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Single-producer, single-consumer handoff of the latest {@link SimulationSnapshot}.
+ * The producer overwrites the current snapshot and never waits for the consumer, while the consumer
+ * polls at its own pace and always receives the newest snapshot; intermediate snapshots are skipped.
+ * Nothing is ever queued, so a slow consumer cannot make memory grow or delay the producer.
+ */
+public final class SnapshotExchange {
+    private final AtomicReference<SimulationSnapshot> latest = new AtomicReference<>();
+    private final AtomicLong published = new AtomicLong();
+    private long consumedSequence;  // Owned by the consumer
+    private long consumed;          // Owned by the consumer
+
+    /**
+     * Publishes a snapshot, replacing the previous one. Must only be called by the producer thread.
+     *
+     * @param snapshot The snapshot to publish
+     */
+    public void publish(SimulationSnapshot snapshot) {
+        latest.set(snapshot);
+        // The sequence is written after the snapshot, so a consumer seeing it also sees the snapshot
+        published.lazySet(published.get() + 1);
+    }
+
+    /**
+     * Takes the newest snapshot if one was published since the previous poll.
+     * Must only be called by the consumer thread.
+     *
+     * @return The newest snapshot, or null if nothing new was published
+     */
+    public SimulationSnapshot poll() {
+        long sequence = published.get();
+        if (sequence == consumedSequence) {
+            return null;
+        }
+        consumedSequence = sequence;
+        consumed++;
+        return latest.get();
+    }
+
+    /**
+     * Gets the newest snapshot without consuming it. May be called from any thread.
+     *
+     * @return The newest snapshot, or null if none was published
+     */
+    public SimulationSnapshot peek() {
+        return latest.get();
+    }
+
+    /**
+     * Gets the number of snapshots published.
+     *
+     * @return The published count
+     */
+    public long getPublished() { return published.get(); }
+
+    /**
+     * Gets the number of snapshots the consumer never saw because a newer one replaced them first.
+     * Must only be called by the consumer thread.
+     *
+     * @return The skipped count
+     */
+    public long getSkipped() { return consumedSequence - consumed; }
+}
@@ -0,0 +1,127 @@
+package com.enac.enac_project.model;
+
+/**
+ * The Vector3D class is a lightweight point or vector in 3D space backed by primitive fields.
+ * Unlike {@link Point3DCustom}, it carries no JavaFX properties, so it is cheap to create and can be
+ * reused as a scratch value by the navigation calculations performed on every simulation tick.
+ * Instances are mutable; classes that keep one as part of their state hand out copies.
+ */
+public final class Vector3D {
+    private double x;
+    private double y;
+    private double z;
+
+    /**
+     * Constructs a vector at the origin.
+     */
+    public Vector3D() {
+    }
+
+    /**
+     * Constructs a vector with the specified coordinates.
+     *
+     * @param x The x coordinate
+     * @param y The y coordinate
+     * @param z The z coordinate
+     */
+    public Vector3D(double x, double y, double z) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+    }
+
+    /**
+     * Constructs a copy of another vector.
+     *
+     * @param other The vector to copy
+     */
+    public Vector3D(Vector3D other) {
+        this(other.x, other.y, other.z);
+    }
+
+    /**
+     * Constructs a vector from the current coordinates of a point.
+     *
+     * @param point The point to copy
+     */
+    public Vector3D(Point3DCustom point) {
+        this(point.getX(), point.getY(), point.getZ());
+    }
+
+    public double getX() { return x; }
+    public double getY() { return y; }
+    public double getZ() { return z; }
+
+    /**
+     * Sets all three coordinates.
+     *
+     * @param x The x coordinate
+     * @param y The y coordinate
+     * @param z The z coordinate
+     * @return This vector
+     */
+    public Vector3D set(double x, double y, double z) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        return this;
+    }
+
+    /**
+     * Copies the current coordinates of a point into this vector.
+     *
+     * @param point The point to copy
+     * @return This vector
+     */
+    public Vector3D set(Point3DCustom point) {
+        return set(point.getX(), point.getY(), point.getZ());
+    }
+
+    /**
+     * Calculates the squared Euclidean distance to another vector, avoiding the square root.
+     *
+     * @param other The other vector
+     * @return The squared distance
+     */
+    public double distanceSquared(Vector3D other) {
+        double dx = x - other.x;
+        double dy = y - other.y;
+        double dz = z - other.z;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    /**
+     * Calculates the Euclidean distance to another vector.
+     *
+     * @param other The other vector
+     * @return The distance
+     */
+    public double distance(Vector3D other) {
+        return Math.sqrt(distanceSquared(other));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Vector3D)) {
+            return false;
+        }
+        Vector3D other = (Vector3D) o;
+        return Double.compare(x, other.x) == 0 && Double.compare(y, other.y) == 0 && Double.compare(z, other.z) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Double.hashCode(x);
+        result = 31 * result + Double.hashCode(y);
+        result = 31 * result + Double.hashCode(z);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Vector3D[%f, %f, %f]", x, y, z);
+    }
+}
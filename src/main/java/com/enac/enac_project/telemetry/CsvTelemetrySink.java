@@ -0,0 +1,105 @@
+package com.enac.enac_project.telemetry;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A telemetry sink writing each frame as a comma separated line to a CSV file, apart from the diagnostic logs.
+ * The file is opened on the first frame and starts with the column names: each run replaces the file of the previous
+ * one, so that the file holds a single session and does not grow from one run to the next. Lines are buffered and
+ * written out on every {@link #flush()}, that is whenever the channel has caught up with the simulation.
+ */
+public class CsvTelemetrySink implements TelemetrySink, AutoCloseable {
+
+    /** The file written by the default sink. */
+    public static final Path DEFAULT_PATH = Path.of("logs", "telemetry.csv");
+
+    /** Column names, in the order in which the values of each line are written. */
+    public static final String HEADER = "tick,time,x,y,z,speed,yaw,pitch,roll,altitude,"
+                                      + "localizerBar,glidePathBar,dme,om,mm,im,papi";
+
+    private final Path path;
+    private final StringBuilder line = new StringBuilder(256);
+    private BufferedWriter writer;
+
+    /**
+     * Creates a sink writing to the default telemetry file.
+     */
+    public CsvTelemetrySink() {
+        this(DEFAULT_PATH);
+    }
+
+    /**
+     * Creates a sink writing to a file, created along with its directory if needed.
+     *
+     * @param path The file to write, replaced if it exists
+     */
+    public CsvTelemetrySink(Path path) {
+        this.path = path;
+    }
+
+    @Override
+    public void write(TelemetryFrame frame) throws IOException {
+        if (writer == null) {
+            open();
+        }
+
+        line.setLength(0);
+        line.append(frame.getTick()).append(',')
+            .append(frame.getSimulationTime()).append(',')
+            .append(frame.getX()).append(',')
+            .append(frame.getY()).append(',')
+            .append(frame.getZ()).append(',')
+            .append(frame.getSpeed()).append(',')
+            .append(frame.getYaw()).append(',')
+            .append(frame.getPitch()).append(',')
+            .append(frame.getRoll()).append(',')
+            .append(frame.getAltitude()).append(',')
+            .append(frame.getLocalizerBar()).append(',')
+            .append(frame.getGlidePathBar()).append(',')
+            .append(frame.getDme()).append(',')
+            .append(frame.isOuterMarker() ? 1 : 0).append(',')
+            .append(frame.isMiddleMarker() ? 1 : 0).append(',')
+            .append(frame.isInnerMarker() ? 1 : 0).append(',')
+            .append(frame.getPapiLevel());
+        writer.append(line).append(System.lineSeparator());
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+
+    private void open() throws IOException {
+        Path directory = path.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                                         StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        writer.append(HEADER).append(System.lineSeparator());
+    }
+
+    /**
+     * Gets the file written by this sink.
+     *
+     * @return The path of the CSV file
+     */
+    public Path getPath() {
+        return path;
+    }
+}
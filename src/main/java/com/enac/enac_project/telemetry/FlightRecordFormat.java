@@ -0,0 +1,94 @@
+package com.enac.enac_project.telemetry;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Layout of the binary flight recorder files.
+ * A file starts with a fixed header followed by fixed-width little-endian records, one per recorded tick.
+ * Every field sits at the same offset in every record, so a single column can be scanned by striding
+ * through the file without decoding the others. The flight column identifies the approach a record
+ * belongs to, so that a whole batch of approaches can be stored in a single file. The header names the approach
+ * that was flown, so that a replay shows the same runway, terrain and markers; files of the first version do not.
+ *
+ * <pre>
+ * header  : magic "ENACFDR1" (8) | version (int) | record size (int) | record count (long) |
+ *           approach length (short) | approach identifier (UTF-8, up to 38 bytes) | reserved
+ * record  : tick (long) | time, x, y, z, speed, yaw, pitch, roll, altitude,
+ *           localizer bar, glide path bar, dme (double) | markers bitmask (int) | PAPI level (int) |
+ *           flight (int) | reserved (int)
+ * </pre>
+ */
+final class FlightRecordFormat {
+    static final long MAGIC = 0x3152444643414E45L;  // "ENACFDR1" read as a little-endian long
+    static final int VERSION = 2;
+    static final int FIRST_VERSION = 1;   // Without the approach identifier, still readable
+    static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    static final int HEADER_SIZE = 64;
+    static final int HEADER_MAGIC = 0;
+    static final int HEADER_VERSION = 8;
+    static final int HEADER_RECORD_SIZE = 12;
+    static final int HEADER_RECORD_COUNT = 16;
+    static final int HEADER_APPROACH_LENGTH = 24;
+    static final int HEADER_APPROACH = 26;
+    static final int MAX_APPROACH_LENGTH = HEADER_SIZE - HEADER_APPROACH;
+
+    static final int TICK = 0;
+    static final int TIME = 8;
+    static final int X = 16;
+    static final int Y = 24;
+    static final int Z = 32;
+    static final int SPEED = 40;
+    static final int YAW = 48;
+    static final int PITCH = 56;
+    static final int ROLL = 64;
+    static final int ALTITUDE = 72;
+    static final int LOCALIZER_BAR = 80;
+    static final int GLIDE_PATH_BAR = 88;
+    static final int DME = 96;
+    static final int MARKERS = 104;
+    static final int PAPI_LEVEL = 108;
+    static final int FLIGHT = 112;
+    static final int RECORD_SIZE = 120;
+
+    private FlightRecordFormat() {
+    }
+
+    static void writeRecord(ByteBuffer buffer, int offset, int flight, TelemetryFrame frame) {
+        buffer.putLong(offset + TICK, frame.tick);
+        buffer.putDouble(offset + TIME, frame.simulationTime);
+        buffer.putDouble(offset + X, frame.x);
+        buffer.putDouble(offset + Y, frame.y);
+        buffer.putDouble(offset + Z, frame.z);
+        buffer.putDouble(offset + SPEED, frame.speed);
+        buffer.putDouble(offset + YAW, frame.yaw);
+        buffer.putDouble(offset + PITCH, frame.pitch);
+        buffer.putDouble(offset + ROLL, frame.roll);
+        buffer.putDouble(offset + ALTITUDE, frame.altitude);
+        buffer.putDouble(offset + LOCALIZER_BAR, frame.localizerBar);
+        buffer.putDouble(offset + GLIDE_PATH_BAR, frame.glidePathBar);
+        buffer.putDouble(offset + DME, frame.dme);
+        buffer.putInt(offset + MARKERS, frame.markers);
+        buffer.putInt(offset + PAPI_LEVEL, frame.papiLevel);
+        buffer.putInt(offset + FLIGHT, flight);
+    }
+
+    static void readRecord(ByteBuffer buffer, int offset, TelemetryFrame frame) {
+        frame.tick = buffer.getLong(offset + TICK);
+        frame.simulationTime = buffer.getDouble(offset + TIME);
+        frame.x = buffer.getDouble(offset + X);
+        frame.y = buffer.getDouble(offset + Y);
+        frame.z = buffer.getDouble(offset + Z);
+        frame.speed = buffer.getDouble(offset + SPEED);
+        frame.yaw = buffer.getDouble(offset + YAW);
+        frame.pitch = buffer.getDouble(offset + PITCH);
+        frame.roll = buffer.getDouble(offset + ROLL);
+        frame.altitude = buffer.getDouble(offset + ALTITUDE);
+        frame.localizerBar = buffer.getDouble(offset + LOCALIZER_BAR);
+        frame.glidePathBar = buffer.getDouble(offset + GLIDE_PATH_BAR);
+        frame.dme = buffer.getDouble(offset + DME);
+        frame.markers = buffer.getInt(offset + MARKERS);
+        frame.papiLevel = buffer.getInt(offset + PAPI_LEVEL);
+    }
+}
@@ -0,0 +1,211 @@
+package com.enac.enac_project.telemetry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The FlightRecordReader gives random access to the records of a flight data file written by a
+ * {@link FlightRecorder}. The file is memory-mapped read-only, so reading a record or a single column
+ * of a record does not copy anything but the requested values.
+ */
+public class FlightRecordReader implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(FlightRecordReader.class);
+
+    private static final int WINDOW_RECORDS = Integer.MAX_VALUE / FlightRecordFormat.RECORD_SIZE;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer[] windows;
+    private final long recordCount;
+    private String approach;
+
+    /**
+     * Opens a flight data file.
+     *
+     * @param path The file to read
+     * @throws IOException if the file cannot be read or is not a flight data file
+     * @throws IllegalArgumentException if path is null
+     */
+    public FlightRecordReader(Path path) throws IOException {
+        if (path == null) {
+            String message = "Path must not be null";
+            logger.error(message);
+            throw new IllegalArgumentException(message);
+        }
+
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            this.recordCount = readHeader();
+            int windowCount = (int) ((recordCount + WINDOW_RECORDS - 1) / WINDOW_RECORDS);
+            this.windows = new MappedByteBuffer[windowCount];
+            for (int i = 0; i < windowCount; i++) {
+                long first = (long) i * WINDOW_RECORDS;
+                long records = Math.min(WINDOW_RECORDS, recordCount - first);
+                windows[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+                                         FlightRecordFormat.HEADER_SIZE + first * FlightRecordFormat.RECORD_SIZE,
+                                         records * FlightRecordFormat.RECORD_SIZE);
+                windows[i].order(FlightRecordFormat.BYTE_ORDER);
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        logger.info("Opened flight record file {} with {} records", path, recordCount);
+    }
+
+    /**
+     * Gets the number of records in the file.
+     *
+     * @return The record count
+     */
+    public long getRecordCount() { return recordCount; }
+
+    /**
+     * Gets the path of the file being read.
+     *
+     * @return The file path
+     */
+    public Path getPath() { return path; }
+
+    /**
+     * Gets the identifier of the approach that was flown, as written in the header by the recorder.
+     *
+     * @return The approach identifier, for instance "LFBO/14R", or null if the file does not name it
+     */
+    public String getApproach() { return approach; }
+
+    /**
+     * Reads a whole record into a frame.
+     *
+     * @param index The index of the record
+     * @param frame The frame receiving the record
+     * @return The frame
+     * @throws IndexOutOfBoundsException if index is outside the file
+     */
+    public TelemetryFrame read(long index, TelemetryFrame frame) {
+        FlightRecordFormat.readRecord(window(index), offset(index), frame);
+        return frame;
+    }
+
+    /**
+     * Gets the tick number of a record.
+     *
+     * @param index The index of the record
+     * @return The tick number
+     */
+    public long getTick(long index) {
+        return window(index).getLong(offset(index) + FlightRecordFormat.TICK);
+    }
+
+    /**
+     * Gets the simulation time of a record.
+     *
+     * @param index The index of the record
+     * @return The simulation time in seconds
+     */
+    public double getSimulationTime(long index) {
+        return window(index).getDouble(offset(index) + FlightRecordFormat.TIME);
+    }
+
+    /**
+     * Gets the flight identifier of a record.
+     *
+     * @param index The index of the record
+     * @return The flight identifier
+     */
+    public int getFlight(long index) {
+        return window(index).getInt(offset(index) + FlightRecordFormat.FLIGHT);
+    }
+
+    /**
+     * Finds the first record of a range whose simulation time is not before the given time.
+     * Records of a single flight are in increasing time order, so the search is a binary search.
+     *
+     * @param from The index of the first record of the range, inclusive
+     * @param to The index of the last record of the range, exclusive
+     * @param time The simulation time in seconds
+     * @return The index of the record, or {@code to} if every record of the range is earlier
+     */
+    public long findTime(long from, long to, double time) {
+        long low = from;
+        long high = to;
+        while (low < high) {
+            long middle = (low + high) >>> 1;
+            if (getSimulationTime(middle) < time) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Closes the file.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private ByteBuffer window(long index) {
+        if (index < 0 || index >= recordCount) {
+            throw new IndexOutOfBoundsException("Record " + index + " outside of " + path + " (" + recordCount + " records)");
+        }
+        return windows[(int) (index / WINDOW_RECORDS)];
+    }
+
+    private static int offset(long index) {
+        return (int) (index % WINDOW_RECORDS) * FlightRecordFormat.RECORD_SIZE;
+    }
+
+    private long readHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(FlightRecordFormat.HEADER_SIZE).order(FlightRecordFormat.BYTE_ORDER);
+        long position = 0;
+        while (header.hasRemaining()) {
+            int read = channel.read(header, position);
+            if (read < 0) {
+                throw new IOException("Truncated flight record header in " + path);
+            }
+            position += read;
+        }
+
+        if (header.getLong(FlightRecordFormat.HEADER_MAGIC) != FlightRecordFormat.MAGIC) {
+            throw new IOException("Not a flight record file: " + path);
+        }
+        int version = header.getInt(FlightRecordFormat.HEADER_VERSION);
+        int recordSize = header.getInt(FlightRecordFormat.HEADER_RECORD_SIZE);
+        if (version < FlightRecordFormat.FIRST_VERSION || version > FlightRecordFormat.VERSION
+                || recordSize != FlightRecordFormat.RECORD_SIZE) {
+            throw new IOException("Unsupported flight record version " + version + " in " + path);
+        }
+        if (version > FlightRecordFormat.FIRST_VERSION) {
+            int length = header.getShort(FlightRecordFormat.HEADER_APPROACH_LENGTH);
+            if (length < 0 || length > FlightRecordFormat.MAX_APPROACH_LENGTH) {
+                throw new IOException("Corrupted flight record header in " + path);
+            }
+            if (length > 0) {
+                byte[] ident = new byte[length];
+                header.get(FlightRecordFormat.HEADER_APPROACH, ident);
+                approach = new String(ident, StandardCharsets.UTF_8);
+            }
+        }
+        long count = header.getLong(FlightRecordFormat.HEADER_RECORD_COUNT);
+        long available = (channel.size() - FlightRecordFormat.HEADER_SIZE) / FlightRecordFormat.RECORD_SIZE;
+        if (count < 0 || count > available) {
+            throw new IOException("Corrupted flight record header in " + path);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,225 @@
+package com.enac.enac_project.telemetry;
+
+import com.enac.enac_project.model.SimulationSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The FlightRecorder writes per-tick aircraft state and guidance outputs to a binary flight data file
+ * in the fixed-width format described by {@link FlightRecordFormat}. Records are written into a memory-mapped
+ * window of the file which is moved forward as the file grows, so recording a tick is a handful of stores
+ * into memory and never a system call. The header is mapped as well, so publishing the record count on
+ * {@link #flush()} is a single store; the records are only forced to the storage device when a window is moved
+ * forward and when the recorder is closed.
+ * The recorder can be used as the sink of a {@link TelemetryChannel} or fed directly with {@link #record}.
+ * It is not thread-safe: records must be written from one thread at a time.
+ */
+public class FlightRecorder implements TelemetrySink, AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(FlightRecorder.class);
+
+    private static final int DEFAULT_WINDOW_RECORDS = 8192;  // About 1 MB of records mapped at a time
+
+    private final Path path;
+    private final String approach;
+    private final FileChannel channel;
+    private final int windowRecords;
+    private final TelemetryFrame scratch = new TelemetryFrame();
+    private final MappedByteBuffer header;
+    private MappedByteBuffer window;
+    private long windowStart;     // Index of the first record of the current window
+    private int windowPosition;   // Number of records written in the current window
+    private long recordCount;
+    private int flight;
+    private boolean closed;
+
+    /**
+     * Creates a recorder writing to a new file, replacing any existing file at that path.
+     *
+     * @param path The file to write
+     * @throws IOException if the file cannot be created
+     */
+    public FlightRecorder(Path path) throws IOException {
+        this(path, null);
+    }
+
+    /**
+     * Creates a recorder writing the flights of an approach to a new file, replacing any existing file at that path.
+     *
+     * @param path The file to write
+     * @param approach The identifier of the approach flown, for instance "LFBO/14R", or null if unknown
+     * @throws IOException if the file cannot be created
+     * @throws IllegalArgumentException if path is null or the approach identifier is too long
+     */
+    public FlightRecorder(Path path, String approach) throws IOException {
+        this(path, DEFAULT_WINDOW_RECORDS, approach);
+    }
+
+    /**
+     * Creates a recorder writing to a new file, replacing any existing file at that path.
+     *
+     * @param path The file to write
+     * @param windowRecords The number of records mapped at once
+     * @param approach The identifier of the approach flown, for instance "LFBO/14R", or null if unknown
+     * @throws IOException if the file cannot be created
+     * @throws IllegalArgumentException if path is null, windowRecords is not positive
+     *                                  or the approach identifier is too long
+     */
+    public FlightRecorder(Path path, int windowRecords, String approach) throws IOException {
+        if (path == null || windowRecords < 1 || windowRecords > Integer.MAX_VALUE / FlightRecordFormat.RECORD_SIZE) {
+            String message = "Path must not be null and window size must be positive";
+            logger.error(message);
+            throw new IllegalArgumentException(message);
+        }
+        if (approach != null
+                && approach.getBytes(StandardCharsets.UTF_8).length > FlightRecordFormat.MAX_APPROACH_LENGTH) {
+            String message = String.format("Approach identifier %s is longer than %d bytes",
+                                           approach, FlightRecordFormat.MAX_APPROACH_LENGTH);
+            logger.error(message);
+            throw new IllegalArgumentException(message);
+        }
+
+        this.path = path;
+        this.approach = approach;
+        this.windowRecords = windowRecords;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                                        StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.header = channel.map(FileChannel.MapMode.READ_WRITE, 0, FlightRecordFormat.HEADER_SIZE);
+        header.order(FlightRecordFormat.BYTE_ORDER);
+        writeHeader();
+        mapWindow(0);
+        logger.info("Flight recorder writing to {}", path);
+    }
+
+    /**
+     * Sets the flight identifier stored with the following records.
+     *
+     * @param flight The flight identifier, for instance the index of an approach in a batch
+     */
+    public void beginFlight(int flight) {
+        this.flight = flight;
+    }
+
+    /**
+     * Records a snapshot under the given flight identifier.
+     *
+     * @param flight The flight identifier
+     * @param snapshot The snapshot to record
+     * @throws IOException if the file cannot be extended
+     */
+    public void record(int flight, SimulationSnapshot snapshot) throws IOException {
+        this.flight = flight;
+        write(scratch.set(snapshot));
+    }
+
+    /**
+     * Records a snapshot under the current flight identifier.
+     *
+     * @param snapshot The snapshot to record
+     * @throws IOException if the file cannot be extended
+     */
+    public void record(SimulationSnapshot snapshot) throws IOException {
+        write(scratch.set(snapshot));
+    }
+
+    @Override
+    public void write(TelemetryFrame frame) throws IOException {
+        if (closed) {
+            throw new IOException("Flight recorder is closed: " + path);
+        }
+        if (windowPosition == windowRecords) {
+            mapWindow(windowStart + windowRecords);
+        }
+        FlightRecordFormat.writeRecord(window, windowPosition * FlightRecordFormat.RECORD_SIZE, flight, frame);
+        windowPosition++;
+        recordCount++;
+    }
+
+    /**
+     * Updates the record count in the header, so that a reader opening the file sees the records written so far.
+     * Nothing is forced to the storage device: the channel flushes its sink whenever it has caught up, that is
+     * about every tick.
+     */
+    @Override
+    public void flush() {
+        if (closed) {
+            return;
+        }
+        header.putLong(FlightRecordFormat.HEADER_RECORD_COUNT, recordCount);
+        byte[] ident = approach != null ? approach.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        header.putShort(FlightRecordFormat.HEADER_APPROACH_LENGTH, (short) ident.length);
+        header.put(FlightRecordFormat.HEADER_APPROACH, ident);
+    }
+
+    /**
+     * Forces the records to the storage device and closes the file, trimming the unused part of the last window.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        flush();
+        window.force();
+        header.force();
+        closed = true;
+        window = null;
+        try {
+            channel.truncate(FlightRecordFormat.HEADER_SIZE + recordCount * FlightRecordFormat.RECORD_SIZE);
+        } catch (IOException e) {
+            // Some platforms refuse to truncate a file that is still mapped; the header count stays authoritative
+            logger.warn("Could not trim flight record file {}: {}", path, e.getMessage());
+        } finally {
+            channel.close();
+        }
+        logger.info("Flight recorder closed {} with {} records", path, recordCount);
+    }
+
+    /**
+     * Gets the number of records written.
+     *
+     * @return The record count
+     */
+    public long getRecordCount() { return recordCount; }
+
+    /**
+     * Gets the path of the file being written.
+     *
+     * @return The file path
+     */
+    public Path getPath() { return path; }
+
+    /**
+     * Gets the identifier of the approach stored in the header.
+     *
+     * @return The approach identifier, or null if unknown
+     */
+    public String getApproach() { return approach; }
+
+    private void mapWindow(long firstRecord) throws IOException {
+        if (window != null) {
+            window.force();
+        }
+        long position = FlightRecordFormat.HEADER_SIZE + firstRecord * FlightRecordFormat.RECORD_SIZE;
+        window = channel.map(FileChannel.MapMode.READ_WRITE, position,
+                             (long) windowRecords * FlightRecordFormat.RECORD_SIZE);
+        window.order(FlightRecordFormat.BYTE_ORDER);
+        windowStart = firstRecord;
+        windowPosition = 0;
+    }
+
+    private void writeHeader() {
+        header.putLong(FlightRecordFormat.HEADER_MAGIC, FlightRecordFormat.MAGIC);
+        header.putInt(FlightRecordFormat.HEADER_VERSION, FlightRecordFormat.VERSION);
+        header.putInt(FlightRecordFormat.HEADER_RECORD_SIZE, FlightRecordFormat.RECORD_SIZE);
+        header.putLong(FlightRecordFormat.HEADER_RECORD_COUNT, recordCount);
+    }
+}
@@ -0,0 +1,261 @@
+package com.enac.enac_project.telemetry;
+
+import com.enac.enac_project.model.Aircraft;
+import com.enac.enac_project.model.SimulationSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+
+/**
+ * The ReplayEngine plays back a flight recorded by a {@link FlightRecorder} without re-running any physics.
+ * It keeps a replay clock, expressed in recorded simulation time, which the caller advances with the real
+ * time elapsed: the clock runs at an arbitrary multiple of real time, can be paused and can be moved to any
+ * instant. The state at the clock is interpolated between the two surrounding records and returned as a
+ * {@link SimulationSnapshot}, so the replay can drive the same views as a live simulation.
+ * Records are located through an index of the flights of the file and a binary search on the time column,
+ * and sequential playback only looks at the next few records.
+ * The engine is not thread-safe: it must be driven from one thread, for instance the JavaFX thread.
+ */
+public class ReplayEngine {
+    private static final Logger logger = LoggerFactory.getLogger(ReplayEngine.class);
+
+    private static final int MAX_SEQUENTIAL_SCAN = 16;  // Records checked before falling back to a binary search
+
+    private final FlightRecordReader reader;
+    private final int[] flightIds;
+    private final long[] flightStarts;  // Index of the first record of each flight, plus the record count
+    private final TelemetryFrame lower = new TelemetryFrame();
+    private final TelemetryFrame upper = new TelemetryFrame();
+    private long first;
+    private long end;
+    private long cursor;
+    private double time;
+    private double speed = 1;
+    private boolean paused;
+
+    /**
+     * Constructs a replay engine over a flight data file and selects its first flight.
+     *
+     * @param reader The flight data file
+     * @throws IllegalArgumentException if reader is null or the file holds no record
+     */
+    public ReplayEngine(FlightRecordReader reader) {
+        if (reader == null || reader.getRecordCount() == 0) {
+            String message = "Replay needs a flight record file with at least one record";
+            logger.error(message);
+            throw new IllegalArgumentException(message);
+        }
+        this.reader = reader;
+
+        // The records of a flight are contiguous, so one pass over the flight column indexes the whole file
+        int[] ids = new int[16];
+        long[] starts = new long[17];
+        int count = 0;
+        long records = reader.getRecordCount();
+        for (long i = 0; i < records; i++) {
+            int flight = reader.getFlight(i);
+            if (count == 0 || ids[count - 1] != flight) {
+                if (count == ids.length) {
+                    ids = Arrays.copyOf(ids, count * 2);
+                    starts = Arrays.copyOf(starts, count * 2 + 1);
+                }
+                ids[count] = flight;
+                starts[count] = i;
+                count++;
+            }
+        }
+        starts[count] = records;
+        this.flightIds = Arrays.copyOf(ids, count);
+        this.flightStarts = Arrays.copyOf(starts, count + 1);
+
+        selectFlightAt(0);
+        logger.info("Replay of {} ready: {} records in {} flights", reader.getPath(), records, count);
+    }
+
+    /**
+     * Gets the number of flights in the file.
+     *
+     * @return The flight count
+     */
+    public int getFlightCount() { return flightIds.length; }
+
+    /**
+     * Gets the identifier of the n-th flight of the file.
+     *
+     * @param n The position of the flight in the file
+     * @return The flight identifier
+     */
+    public int getFlightId(int n) { return flightIds[n]; }
+
+    /**
+     * Selects the flight to replay and moves the clock to its first record.
+     *
+     * @param flightId The identifier of the flight
+     * @throws IllegalArgumentException if the file has no such flight
+     */
+    public void selectFlight(int flightId) {
+        for (int n = 0; n < flightIds.length; n++) {
+            if (flightIds[n] == flightId) {
+                selectFlightAt(n);
+                return;
+            }
+        }
+        String message = "No flight " + flightId + " in " + reader.getPath();
+        logger.error(message);
+        throw new IllegalArgumentException(message);
+    }
+
+    /**
+     * Gets the recorded time of the first record of the selected flight.
+     *
+     * @return The start time in seconds
+     */
+    public double getStartTime() { return reader.getSimulationTime(first); }
+
+    /**
+     * Gets the recorded time of the last record of the selected flight.
+     *
+     * @return The end time in seconds
+     */
+    public double getEndTime() { return reader.getSimulationTime(end - 1); }
+
+    /**
+     * Gets the replay clock.
+     *
+     * @return The current replay time in seconds of recorded time
+     */
+    public double getTime() { return time; }
+
+    /**
+     * Moves the replay clock, clamped to the selected flight.
+     *
+     * @param time The new replay time in seconds of recorded time
+     */
+    public void seek(double time) {
+        this.time = Math.max(getStartTime(), Math.min(getEndTime(), time));
+    }
+
+    /**
+     * Gets the replay speed.
+     *
+     * @return The number of recorded seconds replayed per real second
+     */
+    public double getSpeed() { return speed; }
+
+    /**
+     * Sets the replay speed, for instance 50 to replay fifty times faster than real time.
+     *
+     * @param speed The number of recorded seconds replayed per real second
+     * @throws IllegalArgumentException if speed is not positive
+     */
+    public void setSpeed(double speed) {
+        if (!(speed > 0)) {
+            String message = "Replay speed must be positive";
+            logger.error(message);
+            throw new IllegalArgumentException(message);
+        }
+        this.speed = speed;
+    }
+
+    /**
+     * Pauses or resumes the replay clock.
+     *
+     * @param paused true to pause the replay
+     */
+    public void setPaused(boolean paused) { this.paused = paused; }
+
+    public boolean isPaused() { return paused; }
+
+    /**
+     * Checks whether the replay clock has reached the end of the selected flight.
+     *
+     * @return true if the whole flight has been replayed
+     */
+    public boolean isFinished() { return time >= getEndTime(); }
+
+    /**
+     * Advances the replay clock by the given real time, scaled by the replay speed, unless paused.
+     *
+     * @param elapsedSeconds The real time elapsed since the previous call, in seconds
+     * @return The state at the new replay time
+     */
+    public SimulationSnapshot advance(double elapsedSeconds) {
+        if (!paused && elapsedSeconds > 0) {
+            seek(time + elapsedSeconds * speed);
+        }
+        return snapshotAt(time);
+    }
+
+    /**
+     * Gets the state of the selected flight at any recorded time, interpolated between the two surrounding records.
+     * The pose of the earlier record is kept as the previous pose of the snapshot.
+     *
+     * @param time The recorded time in seconds, clamped to the selected flight
+     * @return The interpolated state
+     */
+    public SimulationSnapshot snapshotAt(double time) {
+        double t = Math.max(getStartTime(), Math.min(getEndTime(), time));
+        long next = locate(t);
+        reader.read(next, upper);
+        if (next == first || upper.simulationTime == t) {
+            return toSnapshot(upper, upper, 1);
+        }
+
+        reader.read(next - 1, lower);
+        double alpha = (t - lower.simulationTime) / (upper.simulationTime - lower.simulationTime);
+        return toSnapshot(lower, upper, alpha);
+    }
+
+    private void selectFlightAt(int n) {
+        first = flightStarts[n];
+        end = flightStarts[n + 1];
+        cursor = first;
+        time = getStartTime();
+    }
+
+    /**
+     * Finds the first record of the selected flight whose time is not before the given time.
+     * Playback moves forward in small steps, so the records following the previous result are checked first.
+     */
+    private long locate(double t) {
+        if (cursor > first && reader.getSimulationTime(cursor - 1) < t) {
+            long limit = Math.min(end, cursor + MAX_SEQUENTIAL_SCAN);
+            for (long i = cursor; i < limit; i++) {
+                if (reader.getSimulationTime(i) >= t) {
+                    cursor = i;
+                    return i;
+                }
+            }
+        }
+        cursor = Math.min(end - 1, reader.findTime(first, end, t));
+        return cursor;
+    }
+
+    private static SimulationSnapshot toSnapshot(TelemetryFrame from, TelemetryFrame to, double alpha) {
+        // Discrete outputs are held at the value of the earlier record until the next one is reached
+        TelemetryFrame held = alpha >= 1 ? to : from;
+        SimulationSnapshot previous = new SimulationSnapshot(null, from.tick, from.simulationTime,
+                from.x, from.y, from.z, from.speed, from.yaw, from.pitch, from.roll,
+                from.altitude, from.localizerBar, from.glidePathBar, from.dme,
+                from.isOuterMarker(), from.isMiddleMarker(), from.isInnerMarker(), from.papiLevel);
+        return new SimulationSnapshot(previous, held.tick,
+                lerp(from.simulationTime, to.simulationTime, alpha),
+                lerp(from.x, to.x, alpha),
+                lerp(from.y, to.y, alpha),
+                lerp(from.z, to.z, alpha),
+                lerp(from.speed, to.speed, alpha),
+                Aircraft.interpolateYaw(from.yaw, to.yaw, alpha),
+                lerp(from.pitch, to.pitch, alpha),
+                lerp(from.roll, to.roll, alpha),
+                lerp(from.altitude, to.altitude, alpha),
+                lerp(from.localizerBar, to.localizerBar, alpha),
+                lerp(from.glidePathBar, to.glidePathBar, alpha),
+                lerp(from.dme, to.dme, alpha),
+                held.isOuterMarker(), held.isMiddleMarker(), held.isInnerMarker(), held.papiLevel);
+    }
+
+    private static double lerp(double from, double to, double alpha) {
+        return from + (to - from) * alpha;
+    }
+}
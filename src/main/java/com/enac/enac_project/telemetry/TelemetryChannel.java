@@ -0,0 +1,243 @@
+package com.enac.enac_project.telemetry;
+
+import com.enac.enac_project.model.SimulationSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * The TelemetryChannel records per-tick simulation state into a bounded, lock-free ring buffer that a
+ * dedicated writer thread drains into a {@link TelemetrySink}. Offering a snapshot never blocks and never
+ * allocates: frames are preallocated and overwritten in place. When the buffer is full the configured
+ * {@link OverflowPolicy} decides what is lost, so the simulation thread never waits on I/O.
+ * The channel is a single-producer, single-consumer queue: snapshots must be offered from one thread at a time,
+ * which is the case when it is registered as a {@code SimulationEngine} listener.
+ */
+public class TelemetryChannel implements Consumer<SimulationSnapshot>, AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(TelemetryChannel.class);
+
+    private static final int MIN_CAPACITY = 2;
+    private static final int MAX_SAMPLING_BACKOFF = 1024;  // Maximum slowdown applied by ADAPTIVE_SAMPLING
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    /**
+     * What to do when a frame is offered while the buffer is full.
+     */
+    public enum OverflowPolicy {
+        /** The new frame is dropped and counted. */
+        DROP_NEWEST,
+        /**
+         * The new frame is dropped and the sampling interval is doubled until the writer catches up,
+         * then progressively restored to its configured value.
+         */
+        ADAPTIVE_SAMPLING
+    }
+
+    private final TelemetryFrame[] slots;
+    private final int mask;
+    private final TelemetrySink sink;
+    private final OverflowPolicy policy;
+    private final int samplingInterval;
+    private final AtomicLong head = new AtomicLong();  // Next slot to read, written by the writer thread
+    private final AtomicLong tail = new AtomicLong();  // Next slot to write, written by the producer
+    private volatile boolean running;
+    private Thread writer;
+
+    // Producer-side counters, written by the producing thread only
+    private volatile long offered;
+    private volatile long dropped;
+    private volatile int currentInterval;
+
+    /**
+     * Constructs a telemetry channel.
+     *
+     * @param capacity The number of frames the buffer can hold, rounded up to a power of two
+     * @param samplingInterval Record one snapshot out of this many; 1 records every tick
+     * @param policy The policy applied when the buffer is full
+     * @param sink The destination of the recorded frames
+     * @throws IllegalArgumentException if a parameter is invalid
+     */
+    public TelemetryChannel(int capacity, int samplingInterval, OverflowPolicy policy, TelemetrySink sink) {
+        if (capacity < MIN_CAPACITY || capacity > 1 << 30) {
+            String message = String.format("Capacity must be between %d and %d, but was %d",
+                                         MIN_CAPACITY, 1 << 30, capacity);
+            logger.error(message);
+            throw new IllegalArgumentException(message);
+        }
+        if (samplingInterval < 1) {
+            String message = "Sampling interval must be at least 1";
+            logger.error(message);
+            throw new IllegalArgumentException(message);
+        }
+        if (policy == null || sink == null) {
+            String message = "Overflow policy and sink must not be null";
+            logger.error(message);
+            throw new IllegalArgumentException(message);
+        }
+
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new TelemetryFrame[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new TelemetryFrame();
+        }
+        this.mask = size - 1;
+        this.sink = sink;
+        this.policy = policy;
+        this.samplingInterval = samplingInterval;
+        this.currentInterval = samplingInterval;
+    }
+
+    /**
+     * Starts the writer thread draining the buffer into the sink.
+     */
+    public synchronized void start() {
+        if (writer != null) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::drainLoop, "telemetry-writer");
+        writer.setDaemon(true);
+        writer.start();
+        logger.info("Telemetry channel started with {} slots, sampling 1/{}, policy {}",
+                   slots.length, samplingInterval, policy);
+    }
+
+    /**
+     * Offers a snapshot to the channel. Returns immediately whatever the state of the writer thread.
+     *
+     * @param snapshot The snapshot to record
+     * @return true if the snapshot was recorded, false if it was sampled out or dropped
+     */
+    public boolean offer(SimulationSnapshot snapshot) {
+        long count = offered;
+        offered = count + 1;
+        int interval = currentInterval;
+        if (count % interval != 0) {
+            return false;
+        }
+
+        long t = tail.get();
+        long used = t - head.get();
+        if (used >= slots.length) {
+            dropped++;
+            if (policy == OverflowPolicy.ADAPTIVE_SAMPLING && interval < samplingInterval * MAX_SAMPLING_BACKOFF) {
+                currentInterval = interval * 2;
+            }
+            return false;
+        }
+        if (policy == OverflowPolicy.ADAPTIVE_SAMPLING && interval > samplingInterval && used < slots.length / 4) {
+            currentInterval = interval / 2;
+        }
+
+        slots[(int) (t & mask)].set(snapshot);
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    /**
+     * Offers a snapshot; allows the channel to be registered directly as a simulation listener.
+     *
+     * @param snapshot The snapshot to record
+     */
+    @Override
+    public void accept(SimulationSnapshot snapshot) {
+        offer(snapshot);
+    }
+
+    /**
+     * Stops the writer thread after it has drained the pending frames, then closes the sink.
+     */
+    @Override
+    public synchronized void close() {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writer = null;
+
+        try {
+            sink.close();
+        } catch (Exception e) {
+            logger.error("Error closing telemetry sink", e);
+        }
+        logger.info("Telemetry channel closed: {} offered, {} recorded, {} dropped",
+                   offered, getRecorded(), dropped);
+    }
+
+    /**
+     * Gets the number of snapshots offered to the channel.
+     *
+     * @return The offered count
+     */
+    public long getOffered() { return offered; }
+
+    /**
+     * Gets the number of frames dropped because the buffer was full.
+     *
+     * @return The dropped count
+     */
+    public long getDropped() { return dropped; }
+
+    /**
+     * Gets the number of frames accepted into the buffer.
+     *
+     * @return The recorded count
+     */
+    public long getRecorded() { return tail.get(); }
+
+    /**
+     * Gets the sampling interval currently in force, which may be larger than the configured one
+     * under the adaptive sampling policy.
+     *
+     * @return The current sampling interval
+     */
+    public int getCurrentSamplingInterval() { return currentInterval; }
+
+    private void drainLoop() {
+        boolean unflushed = false;
+        while (true) {
+            boolean stopping = !running;
+            long h = head.get();
+            long t = tail.get();
+            if (h == t) {
+                if (unflushed) {
+                    flushSink();
+                    unflushed = false;
+                }
+                if (stopping) {
+                    return;
+                }
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+
+            for (; h < t; h++) {
+                try {
+                    sink.write(slots[(int) (h & mask)]);
+                } catch (Exception e) {
+                    logger.error("Error writing telemetry frame", e);
+                }
+                head.lazySet(h + 1);
+            }
+            unflushed = true;
+        }
+    }
+
+    private void flushSink() {
+        try {
+            sink.flush();
+        } catch (Exception e) {
+            logger.error("Error flushing telemetry sink", e);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.enac.enac_project.telemetry;
+
+import com.enac.enac_project.model.SimulationSnapshot;
+
+/**
+ * The TelemetryFrame class holds one recorded tick of aircraft state and guidance outputs.
+ * Frames are mutable and reused: a sink receiving a frame must copy what it needs before returning.
+ */
+public final class TelemetryFrame {
+    static final int OUTER_MARKER_BIT = 1;
+    static final int MIDDLE_MARKER_BIT = 2;
+    static final int INNER_MARKER_BIT = 4;
+
+    long tick;
+    double simulationTime;
+    double x;
+    double y;
+    double z;
+    double speed;
+    double yaw;
+    double pitch;
+    double roll;
+    double altitude;
+    double localizerBar;
+    double glidePathBar;
+    double dme;
+    int markers;
+    int papiLevel;
+
+    /**
+     * Copies the content of a snapshot into this frame.
+     *
+     * @param snapshot The snapshot to copy
+     * @return This frame
+     */
+    public TelemetryFrame set(SimulationSnapshot snapshot) {
+        tick = snapshot.getTick();
+        simulationTime = snapshot.getSimulationTime();
+        x = snapshot.getX();
+        y = snapshot.getY();
+        z = snapshot.getZ();
+        speed = snapshot.getSpeed();
+        yaw = snapshot.getYaw();
+        pitch = snapshot.getPitch();
+        roll = snapshot.getRoll();
+        altitude = snapshot.getAltitude();
+        localizerBar = snapshot.getLocalizerBar();
+        glidePathBar = snapshot.getGlidePathBar();
+        dme = snapshot.getDme();
+        markers = (snapshot.isOuterMarker() ? OUTER_MARKER_BIT : 0)
+                | (snapshot.isMiddleMarker() ? MIDDLE_MARKER_BIT : 0)
+                | (snapshot.isInnerMarker() ? INNER_MARKER_BIT : 0);
+        papiLevel = snapshot.getPapiLevel();
+        return this;
+    }
+
+    public long getTick() { return tick; }
+    public double getSimulationTime() { return simulationTime; }
+    public double getX() { return x; }
+    public double getY() { return y; }
+    public double getZ() { return z; }
+    public double getSpeed() { return speed; }
+    public double getYaw() { return yaw; }
+    public double getPitch() { return pitch; }
+    public double getRoll() { return roll; }
+    public double getAltitude() { return altitude; }
+    public double getLocalizerBar() { return localizerBar; }
+    public double getGlidePathBar() { return glidePathBar; }
+    public double getDme() { return dme; }
+    public boolean isOuterMarker() { return (markers & OUTER_MARKER_BIT) != 0; }
+    public boolean isMiddleMarker() { return (markers & MIDDLE_MARKER_BIT) != 0; }
+    public boolean isInnerMarker() { return (markers & INNER_MARKER_BIT) != 0; }
+    public int getPapiLevel() { return papiLevel; }
+
+    @Override
+    public String toString() {
+        return String.format("TelemetryFrame[tick=%d, t=%.3f, pos=(%f, %f, %f), speed=%f, papi=%d]",
+                           tick, simulationTime, x, y, z, speed, papiLevel);
+    }
+}
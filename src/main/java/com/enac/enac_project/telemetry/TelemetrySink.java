@@ -0,0 +1,33 @@
+package com.enac.enac_project.telemetry;
+
+/**
+ * A destination for telemetry frames drained from a {@link TelemetryChannel}.
+ * Sinks are always called from the channel's writer thread, never from the simulation thread,
+ * so they are free to perform blocking I/O.
+ */
+public interface TelemetrySink {
+
+    /**
+     * Writes one frame. The frame is reused after this call returns.
+     *
+     * @param frame The frame to write
+     * @throws Exception if the frame cannot be written
+     */
+    void write(TelemetryFrame frame) throws Exception;
+
+    /**
+     * Flushes buffered frames. Called whenever the channel has drained all pending frames.
+     *
+     * @throws Exception if the frames cannot be flushed
+     */
+    default void flush() throws Exception {
+    }
+
+    /**
+     * Releases the resources held by the sink.
+     *
+     * @throws Exception if the sink cannot be closed
+     */
+    default void close() throws Exception {
+    }
+}
@@ -6,7 +6,10 @@ import javafx.scene.control.Label;
  * La classe AltitudeIndicator gère l'affichage de l'altitude sur une interface utilisateur.
  */
 public class AltitudeIndicator {
+    private static final String PREFIX = "Altitude: ";
     private Label altitudeLabel;
+    private final StringBuilder text = new StringBuilder(32);
+    private long displayedHundredths = Long.MIN_VALUE;
 
     /**
      * Constructeur qui initialise l'indicateur d'altitude.
@@ -18,12 +21,19 @@ public class AltitudeIndicator {
 
     /**
      * Met à jour l'affichage de l'altitude dans l'interface utilisateur.
-     * L'altitude est formatée pour s'afficher avec deux décimales et ajustée pour être positive si elle est négative.
+     * L'altitude est formatée pour s'afficher avec deux décimales ; le texte n'est reconstruit que si la valeur affichée change.
      *
      * @param altitude L'altitude actuelle à afficher, en mètres.
      */
     public void updateAltitude(double altitude) {
-        altitudeLabel.setText(String.format("Altitude: %.2f m", altitude));
+        long hundredths = altitude < 0 ? -Math.round(-altitude * 100) : Math.round(altitude * 100);
+        if (hundredths == displayedHundredths) {
+            return;
+        }
+        displayedHundredths = hundredths;
+        text.setLength(0);
+        HudModel.appendHundredths(text.append(PREFIX), hundredths).append(" m");
+        altitudeLabel.setText(text.toString());
     }
 
     /**
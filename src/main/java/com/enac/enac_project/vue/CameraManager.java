@@ -1,6 +1,5 @@
 package com.enac.enac_project.vue;
 
-import com.enac.enac_project.model.Aircraft;
 import javafx.scene.PerspectiveCamera;
 import javafx.scene.transform.Rotate;
 
@@ -32,7 +31,7 @@ public class CameraManager {
 
         camera.getTransforms().addAll(rotateX, rotateY, rotateZ);
         camera.setNearClip(1);
-        camera.setFarClip(20000);
+        camera.setFarClip(40000); // Au-delà de la portée du terrain
         camera.setFieldOfView(60);
     }
 
@@ -46,20 +45,16 @@ public class CameraManager {
     }
 
     /**
-     * Attache la caméra à un avion, permettant à la caméra de suivre automatiquement les changements de position de l'avion.
+     * Déplace la caméra à la position spécifiée, typiquement celle de l'avion.
      *
-     * @param aircraft L'avion auquel la caméra doit être attachée.
+     * @param x Position de la caméra sur l'axe X.
+     * @param y Position de la caméra sur l'axe Y.
+     * @param z Position de la caméra sur l'axe Z.
      */
-    public void attachToAircraft(Aircraft aircraft) {
-        aircraft.xProperty().addListener((observable, oldValue, newValue) -> {
-            camera.setTranslateX(newValue.doubleValue());
-        });
-        aircraft.yProperty().addListener((observable, oldValue, newValue) -> {
-            camera.setTranslateY(newValue.doubleValue());
-        });
-        aircraft.zProperty().addListener((observable, oldValue, newValue) -> {
-            camera.setTranslateZ(newValue.doubleValue());
-        });
+    public void updatePosition(double x, double y, double z) {
+        camera.setTranslateX(x);
+        camera.setTranslateY(y);
+        camera.setTranslateZ(z);
     }
 
     /**
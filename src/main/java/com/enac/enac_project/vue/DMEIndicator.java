@@ -7,7 +7,10 @@ import javafx.scene.control.Label;
  * Elle encapsule un Label de JavaFX pour montrer la distance jusqu'à un point de référence spécifique, typiquement lié à l'aviation.
  */
 public class DMEIndicator {
+    private static final String PREFIX = "DME: ";
     private Label distanceLabel;
+    private final StringBuilder text = new StringBuilder(32);
+    private long displayedHundredths = Long.MIN_VALUE;
 
     /**
      * Constructeur qui initialise l'indicateur DME.
@@ -19,12 +22,19 @@ public class DMEIndicator {
 
     /**
      * Met à jour l'affichage de la distance DME dans l'interface utilisateur.
-     * La distance est formatée pour s'afficher avec deux décimales.
+     * La distance est formatée pour s'afficher avec deux décimales ; le texte n'est reconstruit que si la valeur affichée change.
      *
      * @param distance La distance actuelle à afficher, en milles nautiques.
      */
     public void updateDistance(double distance) {
-        distanceLabel.setText(String.format("DME: %.2f nm", distance));
+        long hundredths = distance < 0 ? -Math.round(-distance * 100) : Math.round(distance * 100);
+        if (hundredths == displayedHundredths) {
+            return;
+        }
+        displayedHundredths = hundredths;
+        text.setLength(0);
+        HudModel.appendHundredths(text.append(PREFIX), hundredths).append(" nm");
+        distanceLabel.setText(text.toString());
     }
 
     /**
@@ -0,0 +1,135 @@
+package com.enac.enac_project.vue;
+
+import com.enac.enac_project.model.SimulationSnapshot;
+
+/**
+ * La classe HudModel fait le lien entre les états de la simulation et les instruments affichés.
+ * Les états reçus sont simplement mémorisés : seul le plus récent est appliqué, une fois par image,
+ * lors de l'appel à {@link #flush()}. Les ticks de simulation plus rapides que l'affichage sont ainsi regroupés.
+ * Chaque valeur est arrondie à un quantum d'affichage, et un instrument n'est modifié que si sa valeur
+ * arrondie a changé depuis la dernière image.
+ */
+public class HudModel {
+    private static final double BAR_QUANTUM = 0.25;      // Déplacement minimal des barres ILS, en pixels
+    private static final double LABEL_QUANTUM = 0.01;    // Les étiquettes affichent deux décimales
+    private static final long UNSET = Long.MIN_VALUE;
+
+    private final MainView mainView;
+    private volatile SimulationSnapshot pending;
+    private SimulationSnapshot flushed;
+
+    // Dernières valeurs affichées, exprimées en nombre de quanta
+    private long localizerBar = UNSET;
+    private long glidePathBar = UNSET;
+    private long altitude = UNSET;
+    private long dme = UNSET;
+    private int markers = -1;
+    private int papiLevel = -1;
+
+    /**
+     * Constructeur qui associe le modèle aux instruments de la vue principale.
+     *
+     * @param mainView La vue principale contenant les instruments.
+     */
+    public HudModel(MainView mainView) {
+        this.mainView = mainView;
+    }
+
+    /**
+     * Mémorise le dernier état de la simulation. Peut être appelée depuis n'importe quel thread
+     * et aussi souvent que nécessaire : la vue n'est pas modifiée.
+     *
+     * @param snapshot Le dernier état de la simulation.
+     */
+    public void update(SimulationSnapshot snapshot) {
+        pending = snapshot;
+    }
+
+    /**
+     * Applique aux instruments les valeurs du dernier état reçu qui ont changé d'au moins un quantum.
+     * Doit être appelée sur le thread JavaFX, une fois par image.
+     */
+    public void flush() {
+        SimulationSnapshot snapshot = pending;
+        if (snapshot == null || snapshot == flushed) {
+            return;
+        }
+        flushed = snapshot;
+
+        long quantizedLocalizer = quantize(snapshot.getLocalizerBar(), BAR_QUANTUM);
+        if (quantizedLocalizer != localizerBar) {
+            localizerBar = quantizedLocalizer;
+            mainView.getIndicator().moveLocalizerBar(quantizedLocalizer * BAR_QUANTUM);
+        }
+        long quantizedGlidePath = quantize(snapshot.getGlidePathBar(), BAR_QUANTUM);
+        if (quantizedGlidePath != glidePathBar) {
+            glidePathBar = quantizedGlidePath;
+            mainView.getIndicator().adjustGlidePathBars(quantizedGlidePath * BAR_QUANTUM);
+        }
+
+        long quantizedAltitude = quantize(snapshot.getAltitude(), LABEL_QUANTUM);
+        if (quantizedAltitude != altitude) {
+            altitude = quantizedAltitude;
+            mainView.setAltitude(quantizedAltitude * LABEL_QUANTUM);
+        }
+        long quantizedDme = quantize(snapshot.getDme(), LABEL_QUANTUM);
+        if (quantizedDme != dme) {
+            dme = quantizedDme;
+            mainView.setDMEApproche(quantizedDme * LABEL_QUANTUM);
+        }
+
+        int markerState = (snapshot.isOuterMarker() ? 1 : 0)
+                        | (snapshot.isMiddleMarker() ? 2 : 0)
+                        | (snapshot.isInnerMarker() ? 4 : 0);
+        if (markerState != markers) {
+            markers = markerState;
+            mainView.setMarkersOM(snapshot.isOuterMarker());
+            mainView.setMarkersMM(snapshot.isMiddleMarker());
+            mainView.setMarkersIM(snapshot.isInnerMarker());
+        }
+
+        if (snapshot.getPapiLevel() != papiLevel) {
+            papiLevel = snapshot.getPapiLevel();
+            mainView.getPAPI().setIndicatorState(papiLevel);
+            mainView.getPAPILED().updateStatus(papiLevel);
+        }
+    }
+
+    /**
+     * Oublie les valeurs affichées, de sorte que le prochain appel à {@link #flush()} redessine tous les instruments,
+     * par exemple après une réinitialisation de la vue.
+     */
+    public void invalidate() {
+        flushed = null;
+        localizerBar = UNSET;
+        glidePathBar = UNSET;
+        altitude = UNSET;
+        dme = UNSET;
+        markers = -1;
+        papiLevel = -1;
+    }
+
+    private static long quantize(double value, double quantum) {
+        return Math.round(value / quantum);
+    }
+
+    /**
+     * Écrit une valeur exprimée en centièmes avec deux décimales, sans passer par {@code String.format}.
+     *
+     * @param text Le texte auquel ajouter la valeur.
+     * @param hundredths La valeur en centièmes.
+     * @return Le texte.
+     */
+    static StringBuilder appendHundredths(StringBuilder text, long hundredths) {
+        if (hundredths < 0) {
+            text.append('-');
+            hundredths = -hundredths;
+        }
+        long fraction = hundredths % 100;
+        text.append(hundredths / 100).append('.');
+        if (fraction < 10) {
+            text.append('0');
+        }
+        return text.append(fraction);
+    }
+}
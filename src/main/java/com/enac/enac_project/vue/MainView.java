@@ -1,6 +1,8 @@
 package com.enac.enac_project.vue;
 
 import com.enac.enac_project.model.Aircraft;
+import com.enac.enac_project.model.Approach;
+import com.enac.enac_project.model.HeightmapTileStore;
 import com.enac.enac_project.model.Point3DCustom;
 
 import javafx.geometry.Insets;
@@ -9,7 +11,8 @@ import javafx.scene.*;
 import javafx.scene.control.Button;
 import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
-import javafx.scene.transform.Translate;
+
+import java.nio.file.Path;
 
 
 /**
@@ -20,7 +23,10 @@ public class MainView {
     private Scene scene;
     private final Group root = new Group();
     private CameraManager cameraManager;
+    private TextureAtlas textureAtlas;
     private RunwayView runwayView;
+    private HeightmapTileStore heightmap;
+    private TerrainView terrainView;
     private ILSIndicator indicator;
     private PapiStatusLED papiStatusLED;
     private Button startButton = new Button("Start");
@@ -41,7 +47,10 @@ public class MainView {
     public MainView(Aircraft aircraft) {
         root.setFocusTraversable(true);
         cameraManager = new CameraManager(aircraft.getX(), aircraft.getY(), aircraft.getZ());
-        runwayView = new RunwayView(aircraft.getRunwayModel());
+        textureAtlas = new TextureAtlas(cacheDirectory());
+        runwayView = new RunwayView(aircraft.getRunwayModel(), runwayDesignator(aircraft), textureAtlas);
+        heightmap = aircraft.getApproach().getGround().getHeightmap();
+        terrainView = new TerrainView(heightmap, textureAtlas, cameraManager.getCamera().getFieldOfView(), 800.0 / 600);
         indicator = new ILSIndicator(new Point3DCustom(200,200, 0));
         DMEApproche = new DMEIndicator();
         altitude = new AltitudeIndicator();
@@ -52,6 +61,47 @@ public class MainView {
         initialize();
     }
 
+    /**
+     * Retourne le répertoire des tuiles de relief de l'aéroport, dans le répertoire personnel de l'utilisateur.
+     * Les tuiles absentes y sont écrites au premier vol. Le nom du répertoire porte l'empreinte du relief et du
+     * découpage en tuiles : modifier les pistes, le relief ou les tuiles mène à un autre répertoire, sans jamais
+     * relire des tuiles d'un autre relief. Le sol de l'aéroport doit être ouvert sur ce répertoire avant la création
+     * de l'avion, pour que la simulation et la vue lisent les mêmes tuiles.
+     *
+     * @param approach L'approche, dont l'aéroport détermine le relief.
+     * @return Le répertoire des tuiles.
+     */
+    public static Path terrainDirectory(Approach approach) {
+        String ident = approach.getIdent();
+        int separator = ident.indexOf('/');
+        String airport = separator >= 0 ? ident.substring(0, separator) : ident;
+        String fingerprint = HeightmapTileStore.fingerprint(approach.getTerrain().getTerrain().getFingerprint(),
+                HeightmapTileStore.DEFAULT_TILE_SIZE, HeightmapTileStore.DEFAULT_SAMPLES);
+        return Path.of(System.getProperty("user.home"), ".enac_project", "terrain", airport + "-" + fingerprint);
+    }
+
+    /**
+     * Retourne le numéro de la piste de l'approche, qui suit l'aéroport dans son identifiant (par exemple "14R"
+     * pour "LFBO/14R").
+     *
+     * @param aircraft L'avion, dont l'approche détermine la piste.
+     * @return Le numéro de la piste, ou null si l'identifiant de l'approche n'en contient pas.
+     */
+    private static String runwayDesignator(Aircraft aircraft) {
+        String ident = aircraft.getApproach().getIdent();
+        int separator = ident.lastIndexOf('/');
+        return separator >= 0 ? ident.substring(separator + 1) : null;
+    }
+
+    /**
+     * Retourne le répertoire où l'atlas de textures assemblé est conservé d'un lancement à l'autre.
+     *
+     * @return Le répertoire du cache.
+     */
+    private static Path cacheDirectory() {
+        return Path.of(System.getProperty("user.home"), ".enac_project", "cache");
+    }
+
     public Button getStartButton() {
         return startButton;
     }
@@ -66,17 +116,15 @@ public class MainView {
 
 
     /**
-     * Crée la vue de la caméra, qui inclut la piste et les indicateurs PAPI.
+     * Crée la vue de la caméra, qui inclut le terrain, la piste et les indicateurs PAPI.
      * @return Un SubScene contenant la vue de la caméra.
      */
     private SubScene createCameraView() {
         Group cameraViewRoot = new Group();
+        cameraViewRoot.getChildren().add(terrainView);
         cameraViewRoot.getChildren().add(runwayView);
 
-        Group papiView = PAPI.getSpheres();
-        double papiX = runwayView.getBoundsInParent().getMaxX() - 200;
-        papiView.getTransforms().add(new Translate(papiX, 0, -1150));
-        cameraViewRoot.getChildren().add(papiView);
+        cameraViewRoot.getChildren().add(PAPI.getSpheres());
 
         SubScene cameraView = new SubScene(cameraViewRoot, 800, 600, true, SceneAntialiasing.BALANCED);
         cameraView.setFill(Color.LIGHTBLUE);
@@ -150,6 +198,19 @@ public class MainView {
 
     public CameraManager getCameraManager() {return cameraManager;}
 
+    public TerrainView getTerrainView() {return terrainView;}
+
+    public HeightmapTileStore getHeightmap() {return heightmap;}
+
+    /**
+     * Arrête les threads de la vue : le calcul des tuiles du terrain et le chargement du relief, partagé avec
+     * la simulation. Appelée à la fermeture de l'application, une fois la simulation arrêtée.
+     */
+    public void dispose() {
+        terrainView.dispose();
+        heightmap.close();
+    }
+
     public void resetCamera() {
         cameraManager.resetCamera();
         markers.resetMM();
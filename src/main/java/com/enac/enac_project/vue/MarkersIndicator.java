@@ -2,7 +2,6 @@ package com.enac.enac_project.vue;
 
 import javafx.scene.Group;
 import javafx.scene.paint.Color;
-import javafx.scene.paint.PhongMaterial;
 import javafx.scene.shape.Cylinder;
 import javafx.scene.shape.Sphere;
 import javafx.scene.transform.Rotate;
@@ -23,6 +22,9 @@ public class MarkersIndicator extends Group {
     private Sphere middleMarker;
     private Sphere innerMarker;
     private Timeline markerAnimation;
+    private boolean outerActive;
+    private boolean middleActive;
+    private boolean innerActive;
 
     public MarkersIndicator() {
         super();
@@ -43,10 +45,7 @@ public class MarkersIndicator extends Group {
 
     private Sphere createMarker(double x, double y, double z, Color color) {
         Sphere marker = new Sphere(10);
-        PhongMaterial material = new PhongMaterial(color);
-        material.setSpecularColor(color.brighter());
-        material.setSpecularPower(100);
-        marker.setMaterial(material);
+        marker.setMaterial(MaterialCache.getGlossy(color));
         marker.setTranslateX(x);
         marker.setTranslateY(y);
         marker.setTranslateZ(z);
@@ -63,10 +62,11 @@ public class MarkersIndicator extends Group {
 
     private void setupAnimation() {
         markerAnimation = new Timeline(
+            // Only the markers being overflown blink
             new KeyFrame(Duration.seconds(0.5), e -> {
-                outerMarker.setVisible(!outerMarker.isVisible());
-                middleMarker.setVisible(!middleMarker.isVisible());
-                innerMarker.setVisible(!innerMarker.isVisible());
+                outerMarker.setVisible(outerActive && !outerMarker.isVisible());
+                middleMarker.setVisible(middleActive && !middleMarker.isVisible());
+                innerMarker.setVisible(innerActive && !innerMarker.isVisible());
             })
         );
         markerAnimation.setCycleCount(Animation.INDEFINITE);
@@ -86,26 +86,32 @@ public class MarkersIndicator extends Group {
     }
 
     public void resetOM() {
+        outerActive = false;
         outerMarker.setVisible(false);
     }
 
     public void resetMM() {
+        middleActive = false;
         middleMarker.setVisible(false);
     }
 
     public void resetIM() {
+        innerActive = false;
         innerMarker.setVisible(false);
     }
 
     public void setOM(boolean visible) {
+        outerActive = visible;
         outerMarker.setVisible(visible);
     }
 
     public void setMM(boolean visible) {
+        middleActive = visible;
         middleMarker.setVisible(visible);
     }
 
     public void setIM(boolean visible) {
+        innerActive = visible;
         innerMarker.setVisible(visible);
     }
 
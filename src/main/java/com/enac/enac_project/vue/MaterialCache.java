@@ -0,0 +1,67 @@
+package com.enac.enac_project.vue;
+
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.PhongMaterial;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * La classe MaterialCache partage les matériaux entre toutes les vues : un seul matériau est créé par
+ * couleur et par aspect, puis réutilisé par chaque nœud qui en a besoin. Changer la couleur d'un nœud
+ * revient ainsi à changer une référence, sans allouer de nouveau matériau.
+ * Les matériaux partagés ne doivent pas être modifiés. Cette classe n'est utilisée que depuis le thread JavaFX.
+ */
+public final class MaterialCache {
+    private static final double GLOSSY_SPECULAR_POWER = 100;
+
+    private static final Map<Color, PhongMaterial> plainMaterials = new HashMap<>();
+    private static final Map<Color, PhongMaterial> glossyMaterials = new HashMap<>();
+    private static final Map<Color, PhongMaterial> emissiveMaterials = new HashMap<>();
+
+    private MaterialCache() {
+    }
+
+    /**
+     * Retourne le matériau mat d'une couleur.
+     *
+     * @param color La couleur diffuse du matériau.
+     * @return Le matériau partagé.
+     */
+    public static PhongMaterial get(Color color) {
+        return plainMaterials.computeIfAbsent(color, PhongMaterial::new);
+    }
+
+    /**
+     * Retourne le matériau brillant d'une couleur, avec des reflets plus clairs que la couleur diffuse.
+     *
+     * @param color La couleur diffuse du matériau.
+     * @return Le matériau partagé.
+     */
+    public static PhongMaterial getGlossy(Color color) {
+        return glossyMaterials.computeIfAbsent(color, c -> {
+            PhongMaterial material = new PhongMaterial(c);
+            material.setSpecularColor(c.brighter());
+            material.setSpecularPower(GLOSSY_SPECULAR_POWER);
+            return material;
+        });
+    }
+
+    /**
+     * Retourne le matériau émissif d'une couleur : sa couleur provient de l'auto-illumination
+     * et ne dépend pas de l'éclairage de la scène.
+     *
+     * @param color La couleur émise par le matériau.
+     * @return Le matériau partagé.
+     */
+    public static PhongMaterial getEmissive(Color color) {
+        return emissiveMaterials.computeIfAbsent(color, c -> {
+            WritableImage emission = new WritableImage(1, 1);
+            emission.getPixelWriter().setColor(0, 0, c);
+            PhongMaterial material = new PhongMaterial(Color.BLACK);
+            material.setSelfIlluminationMap(emission);
+            return material;
+        });
+    }
+}
@@ -3,10 +3,10 @@ package com.enac.enac_project.vue;
 import com.enac.enac_project.model.RunwayModel;
 import javafx.scene.Group;
 import javafx.scene.paint.Color;
-import javafx.scene.paint.PhongMaterial;
 import javafx.scene.shape.Box;
 import javafx.scene.shape.Cylinder;
 import javafx.scene.transform.Rotate;
+import javafx.scene.transform.Translate;
 import javafx.scene.PointLight;
 import javafx.scene.image.Image;
 import java.util.Objects;
@@ -15,21 +15,43 @@ import java.util.Arrays;
 
 /**
  * The PAPIVue class represents the visual display of the Precision Approach Path Indicator (PAPI)
- * in a 3D environment.
+ * in a 3D environment. The lights stand on the left of the runway, abeam its touchdown point, and
+ * turn with the runway heading.
  */
 public class PAPIVue extends Group {
     private static final double LIGHT_SPACING = 20;
     private static final double LIGHT_HEIGHT = 2;
     private static final double LIGHT_RADIUS = 1;
+    private static final double EDGE_DISTANCE = 15;  // Distance between the runway edge and the nearest light
+    private static final int NO_LEVEL = -1;
     
     private Cylinder[] lights;
     private PointLight[] lightSources;
     private Group lightsGroup;
+    private int displayedLevel = NO_LEVEL;
 
     public PAPIVue(RunwayModel runwayModel) {
         super();
         lightsGroup = new Group();
         createPAPILights();
+        placeLights(runwayModel);
+    }
+
+    /**
+     * Places the lights abeam the touchdown point, on the left of the runway as seen on the approach.
+     * Like the runway view, they are laid out along the z axis then turned around the runway center
+     * by the runway heading.
+     */
+    private void placeLights(RunwayModel runwayModel) {
+        double centerOffset = runwayModel.getWidth() / 2 + EDGE_DISTANCE + 1.5 * LIGHT_SPACING;  // Four lights
+        double touchdownDistance = runwayModel.getLength() / 3;  // Before the runway center, as in the model
+        if (runwayModel.getHeading() != 0) {
+            lightsGroup.getTransforms().add(new Rotate(runwayModel.getHeading(), runwayModel.getX(),
+                                                       runwayModel.getY(), runwayModel.getZ(), Rotate.Y_AXIS));
+        }
+        lightsGroup.getTransforms().add(new Translate(runwayModel.getX() - centerOffset,
+                                                      runwayModel.getY() - runwayModel.getHeight() / 2 - LIGHT_RADIUS,
+                                                      runwayModel.getZ() - touchdownDistance));
     }
 
     private void createPAPILights() {
@@ -38,10 +60,7 @@ public class PAPIVue extends Group {
         
         for (int i = 0; i < 4; i++) {
             Cylinder light = new Cylinder(LIGHT_RADIUS, LIGHT_HEIGHT);
-            PhongMaterial material = new PhongMaterial(Color.WHITE);
-            material.setSpecularColor(Color.WHITE.brighter());
-            material.setSpecularPower(100);
-            light.setMaterial(material);
+            light.setMaterial(MaterialCache.getGlossy(Color.WHITE));
             light.setTranslateX(i * LIGHT_SPACING - 30);
             light.setTranslateY(0);
             light.setTranslateZ(0);
@@ -60,53 +79,35 @@ public class PAPIVue extends Group {
         this.getChildren().add(lightsGroup);
     }
 
+    /**
+     * Shows a PAPI level. The lights are only touched when the level differs from the one displayed.
+     *
+     * @param level The PAPI level, from 1 (too high) to 5 (too low)
+     */
     public void setIndicatorState(int level) {
-        // Reset all lights to white
+        if (level == displayedLevel) {
+            return;
+        }
+        displayedLevel = level;
+
+        int redLights = redLightCount(level);
         for (int i = 0; i < 4; i++) {
-            lights[i].setMaterial(new PhongMaterial(Color.WHITE));
-            lightSources[i].setColor(Color.WHITE);
+            Color color = i < redLights ? Color.RED : Color.WHITE;
+            lights[i].setMaterial(MaterialCache.getGlossy(color));
+            lightSources[i].setColor(color);
         }
+    }
 
-        // Set appropriate colors based on PAPI level
+    /**
+     * Gets the number of red lights, counted from the left, for a PAPI level.
+     */
+    private static int redLightCount(int level) {
         switch (level) {
-            case 1: // Too high
-                for (int i = 0; i < 4; i++) {
-                    lights[i].setMaterial(new PhongMaterial(Color.RED));
-                    lightSources[i].setColor(Color.RED);
-                }
-                break;
-            case 2: // Slightly high
-                for (int i = 0; i < 3; i++) {
-                    lights[i].setMaterial(new PhongMaterial(Color.RED));
-                    lightSources[i].setColor(Color.RED);
-                }
-                lights[3].setMaterial(new PhongMaterial(Color.WHITE));
-                lightSources[3].setColor(Color.WHITE);
-                break;
-            case 3: // On glide path
-                for (int i = 0; i < 2; i++) {
-                    lights[i].setMaterial(new PhongMaterial(Color.RED));
-                    lightSources[i].setColor(Color.RED);
-                }
-                for (int i = 2; i < 4; i++) {
-                    lights[i].setMaterial(new PhongMaterial(Color.WHITE));
-                    lightSources[i].setColor(Color.WHITE);
-                }
-                break;
-            case 4: // Slightly low
-                lights[0].setMaterial(new PhongMaterial(Color.RED));
-                lightSources[0].setColor(Color.RED);
-                for (int i = 1; i < 4; i++) {
-                    lights[i].setMaterial(new PhongMaterial(Color.WHITE));
-                    lightSources[i].setColor(Color.WHITE);
-                }
-                break;
-            case 5: // Too low
-                for (int i = 0; i < 4; i++) {
-                    lights[i].setMaterial(new PhongMaterial(Color.WHITE));
-                    lightSources[i].setColor(Color.WHITE);
-                }
-                break;
+            case 1: return 4;  // Too high
+            case 2: return 3;  // Slightly high
+            case 3: return 2;  // On glide path
+            case 4: return 1;  // Slightly low
+            default: return 0; // Too low, or no valid level
         }
     }
 
@@ -11,7 +11,9 @@ import javafx.util.Duration;
  */
 public class PapiStatusLED extends Circle {
     private static final double DIAMETER = 20; // Diamètre de la LED
+    private static final int NO_STATE = -1;
     private FadeTransition blinkTransition; // Transition pour le clignotement
+    private int displayedState = NO_STATE; // État actuellement affiché
 
     /**
      * Constructeur qui initialise la LED avec un diamètre spécifié et configure son clignotement.
@@ -35,9 +37,14 @@ public class PapiStatusLED extends Circle {
 
     /**
      * Met à jour l'état de la LED en fonction de l'état du système PAPI.
+     * La LED n'est modifiée que si l'état change, ce qui laisse le clignotement se poursuivre sans interruption.
      * @param state L'état du système PAPI qui détermine la couleur et le clignotement de la LED.
      */
     public void updateStatus(int state) {
+        if (state == displayedState) {
+            return;
+        }
+        displayedState = state;
         stopBlinking(); // Arrête le clignotement pour tout changement d'état
         switch (state) {
             case 1:
@@ -0,0 +1,157 @@
+package com.enac.enac_project.vue;
+
+import javafx.scene.Group;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.CullFace;
+import javafx.scene.shape.MeshView;
+import javafx.scene.shape.TriangleMesh;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * La classe RunwayLightField dessine un ensemble de feux de piste en regroupant tous les feux d'une même
+ * couleur dans un seul maillage. Le nombre de nœuds du graphe de scène ne dépend donc que du nombre de couleurs,
+ * et non du nombre de feux, ce qui permet d'afficher des dizaines de milliers de feux (rampes d'approche comprises).
+ * Les feux ont un aspect émissif : leur couleur ne dépend pas de l'éclairage de la scène et ils n'ajoutent
+ * aucune source de lumière.
+ */
+public class RunwayLightField extends Group {
+    // Chaque feu est un petit octaèdre, visible sous tous les angles
+    private static final int POINTS_PER_LIGHT = 6;
+    private static final int[] LIGHT_FACES = {
+        0, 2, 4,  0, 4, 3,  0, 3, 5,  0, 5, 2,
+        1, 4, 2,  1, 3, 4,  1, 5, 3,  1, 2, 5
+    };
+
+    private final double lightSize;
+    private final Map<Color, LightBatch> batches = new LinkedHashMap<>();
+    private int lightCount;
+
+    /**
+     * Constructeur qui crée un champ de feux vide.
+     *
+     * @param lightSize Le rayon de chaque feu, en mètres.
+     */
+    public RunwayLightField(double lightSize) {
+        this.lightSize = lightSize;
+    }
+
+    /**
+     * Ajoute un feu. Le maillage n'est mis à jour qu'à l'appel de {@link #build()}.
+     *
+     * @param x La coordonnée X du feu.
+     * @param y La coordonnée Y du feu.
+     * @param z La coordonnée Z du feu.
+     * @param color La couleur du feu.
+     */
+    public void addLight(double x, double y, double z, Color color) {
+        batches.computeIfAbsent(color, LightBatch::new).add((float) x, (float) y, (float) z);
+        lightCount++;
+    }
+
+    /**
+     * Ajoute une rangée de feux régulièrement espacés entre deux points, extrémités comprises.
+     *
+     * @param x0 La coordonnée X du premier feu.
+     * @param y0 La coordonnée Y du premier feu.
+     * @param z0 La coordonnée Z du premier feu.
+     * @param x1 La coordonnée X du dernier feu.
+     * @param y1 La coordonnée Y du dernier feu.
+     * @param z1 La coordonnée Z du dernier feu.
+     * @param count Le nombre de feux de la rangée.
+     * @param color La couleur des feux.
+     */
+    public void addRow(double x0, double y0, double z0, double x1, double y1, double z1, int count, Color color) {
+        for (int i = 0; i < count; i++) {
+            double t = count == 1 ? 0 : (double) i / (count - 1);
+            addLight(x0 + (x1 - x0) * t, y0 + (y1 - y0) * t, z0 + (z1 - z0) * t, color);
+        }
+    }
+
+    /**
+     * Construit un maillage par couleur à partir des feux ajoutés et remplace les maillages précédents.
+     */
+    public void build() {
+        getChildren().clear();
+        for (LightBatch batch : batches.values()) {
+            getChildren().add(batch.createMeshView());
+        }
+    }
+
+    /**
+     * Retourne le nombre de feux ajoutés.
+     *
+     * @return Le nombre de feux.
+     */
+    public int getLightCount() {
+        return lightCount;
+    }
+
+    /**
+     * Les positions des feux d'une même couleur.
+     */
+    private final class LightBatch {
+        private final Color color;
+        private float[] centers = new float[3 * 64];
+        private int size;
+
+        LightBatch(Color color) {
+            this.color = color;
+        }
+
+        void add(float x, float y, float z) {
+            if (size + 3 > centers.length) {
+                centers = Arrays.copyOf(centers, centers.length * 2);
+            }
+            centers[size++] = x;
+            centers[size++] = y;
+            centers[size++] = z;
+        }
+
+        MeshView createMeshView() {
+            int lights = size / 3;
+            float r = (float) lightSize;
+            float[] points = new float[lights * POINTS_PER_LIGHT * 3];
+            int[] faces = new int[lights * LIGHT_FACES.length * 2];
+            int p = 0;
+            int f = 0;
+            for (int light = 0; light < lights; light++) {
+                float x = centers[light * 3];
+                float y = centers[light * 3 + 1];
+                float z = centers[light * 3 + 2];
+                // Sommet, base, puis les quatre points de la ceinture (Y est dirigé vers le bas)
+                p = putPoint(points, p, x, y - r, z);
+                p = putPoint(points, p, x, y + r, z);
+                p = putPoint(points, p, x + r, y, z);
+                p = putPoint(points, p, x - r, y, z);
+                p = putPoint(points, p, x, y, z + r);
+                p = putPoint(points, p, x, y, z - r);
+
+                int base = light * POINTS_PER_LIGHT;
+                for (int vertex : LIGHT_FACES) {
+                    faces[f++] = base + vertex;
+                    faces[f++] = 0;  // Coordonnée de texture unique
+                }
+            }
+
+            TriangleMesh mesh = new TriangleMesh();
+            mesh.getPoints().setAll(points);
+            mesh.getTexCoords().setAll(0, 0);
+            mesh.getFaces().setAll(faces);
+
+            MeshView view = new MeshView(mesh);
+            view.setMaterial(MaterialCache.getEmissive(color));
+            view.setCullFace(CullFace.NONE);
+            return view;
+        }
+
+        private int putPoint(float[] points, int index, float x, float y, float z) {
+            points[index] = x;
+            points[index + 1] = y;
+            points[index + 2] = z;
+            return index + 3;
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package com.enac.enac_project.vue;
+
+import com.enac.enac_project.model.RunwayModel;
+import javafx.scene.shape.TriangleMesh;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * La classe RunwayMarkings génère les marquages peints d'une piste aux deux extrémités : bandes de seuil, numéro de
+ * piste, marques de point visé, marques de zone de toucher des roues, axe en tirets et bandes latérales. Leurs
+ * dimensions suivent les marquages d'une piste aux instruments de précision et s'adaptent à la largeur et à la
+ * longueur de la piste.
+ *
+ * <p>Tous les marquages sont assemblés en un seul maillage, texturé par la région de peinture du
+ * {@link TextureAtlas} : la piste n'ajoute qu'un nœud à la scène quel que soit le nombre de marquages.
+ * Les marquages sont construits dans l'axe z, comme la piste de {@link RunwayView}.</p>
+ */
+public class RunwayMarkings {
+    private static final double PAINT_TEXTURE_SIZE = 30;
+
+    // Bandes de seuil
+    private static final double THRESHOLD_OFFSET = 6;          // Distance entre le seuil et le début des bandes
+    private static final double THRESHOLD_STRIPE_LENGTH = 30;
+    private static final double THRESHOLD_EDGE_MARGIN = 3;     // Les bandes s'arrêtent à 3 m du bord...
+    private static final double THRESHOLD_MAX_HALF_SPAN = 27;  // ...ou à 27 m de l'axe si c'est plus près
+
+    // Numéro de piste, lu depuis l'approche : la lettre est la plus proche du seuil
+    private static final double DESIGNATION_OFFSET = 12;       // Distance après les bandes de seuil
+    private static final double GLYPH_HEIGHT = 9;
+    private static final double GLYPH_WIDTH = 4.5;
+    private static final double GLYPH_SPACING = 1.5;
+    private static final double LINE_SPACING = 6;
+
+    // Point visé et zone de toucher des roues
+    private static final double AIMING_POINT_LENGTH = 50;
+    private static final double AIMING_POINT_MAX_WIDTH = 8;
+    private static final double AIMING_POINT_MAX_GAP = 20;     // Écart entre les deux marques, de part et d'autre de l'axe
+    private static final double TOUCHDOWN_INTERVAL = 150;
+    private static final double TOUCHDOWN_STRIPE_LENGTH = 22.5;
+    private static final double TOUCHDOWN_STRIPE_WIDTH = 1.8;
+    private static final double TOUCHDOWN_STRIPE_SPACING = 1.5;
+    private static final double TOUCHDOWN_CLEARANCE = 30;      // Écart minimal entre une paire et le point visé
+
+    // Axe et bords
+    private static final double CENTERLINE_DASH_LENGTH = 30;
+    private static final double CENTERLINE_GAP = 20;
+    private static final double CENTERLINE_WIDTH = 0.9;
+    private static final double CENTERLINE_OFFSET = 12;        // Distance après le numéro de piste
+    private static final double SIDE_STRIPE_WIDTH = 0.9;
+
+    private static final Pattern DESIGNATOR = Pattern.compile("(\\d{1,2})([LCR]?)");
+
+    // Caractères de 5 × 7 points, la première ligne étant la plus éloignée du seuil
+    private static final String[][] DIGITS = {
+        {".###.", "#...#", "#...#", "#...#", "#...#", "#...#", ".###."},
+        {"..#..", ".##..", "..#..", "..#..", "..#..", "..#..", ".###."},
+        {".###.", "#...#", "....#", "...#.", "..#..", ".#...", "#####"},
+        {"#####", "...#.", "..#..", "...#.", "....#", "#...#", ".###."},
+        {"...#.", "..##.", ".#.#.", "#..#.", "#####", "...#.", "...#."},
+        {"#####", "#....", "####.", "....#", "....#", "#...#", ".###."},
+        {"..##.", ".#...", "#....", "####.", "#...#", "#...#", ".###."},
+        {"#####", "....#", "...#.", "..#..", ".#...", ".#...", ".#..."},
+        {".###.", "#...#", "#...#", ".###.", "#...#", "#...#", ".###."},
+        {".###.", "#...#", "#...#", ".####", "....#", "...#.", ".##.."}
+    };
+    private static final String[] LETTER_L = {"#....", "#....", "#....", "#....", "#....", "#....", "#####"};
+    private static final String[] LETTER_R = {"####.", "#...#", "#...#", "####.", "#.#..", "#..#.", "#...#"};
+    private static final String[] LETTER_C = {".###.", "#...#", "#....", "#....", "#....", "#...#", ".###."};
+
+    private final RunwayModel runway;
+    private final int number;
+    private final char letter;
+
+    private TexturedMeshBuilder builder;
+    private double y;
+    private double thresholdZ;  // Extrémité en cours de marquage
+    private double direction;   // +1 dans le sens d'atterrissage, -1 dans le sens opposé
+
+    /**
+     * Constructeur qui prépare les marquages d'une piste.
+     *
+     * @param runway Le modèle de la piste à marquer.
+     * @param designator Le numéro de la piste dans le sens d'atterrissage, par exemple "14R", ou null pour
+     *                   le déduire du cap de la piste.
+     */
+    public RunwayMarkings(RunwayModel runway, String designator) {
+        this.runway = runway;
+        Matcher matcher = designator != null ? DESIGNATOR.matcher(designator) : null;
+        if (matcher != null && matcher.matches() && Integer.parseInt(matcher.group(1)) >= 1
+                && Integer.parseInt(matcher.group(1)) <= 36) {
+            number = Integer.parseInt(matcher.group(1));
+            letter = matcher.group(2).isEmpty() ? 0 : matcher.group(2).charAt(0);
+        } else {
+            int rounded = (int) Math.round(runway.getHeading() / 10) % 36;
+            number = rounded == 0 ? 36 : rounded;
+            letter = 0;
+        }
+    }
+
+    /**
+     * Construit le maillage de tous les marquages de la piste.
+     *
+     * @param y La coordonnée Y des marquages.
+     * @return Un nouveau maillage.
+     */
+    public TriangleMesh createMesh(double y) {
+        builder = new TexturedMeshBuilder();
+        this.y = y;
+
+        addSideStripes();
+        // Sens d'atterrissage, puis le sens opposé avec le numéro de la piste vue depuis l'autre extrémité
+        addEnd(runway.getZ() - runway.getLength() / 2, 1, number, letter);
+        addEnd(runway.getZ() + runway.getLength() / 2, -1, (number + 17) % 36 + 1, reciprocal(letter));
+        addCenterline();
+
+        TriangleMesh mesh = builder.build();
+        builder = null;
+        return mesh;
+    }
+
+    /**
+     * Ajoute les marquages d'une extrémité de la piste.
+     */
+    private void addEnd(double thresholdZ, double direction, int endNumber, char endLetter) {
+        this.thresholdZ = thresholdZ;
+        this.direction = direction;
+        addThresholdStripes();
+        addDesignation(endNumber, endLetter);
+        addAimingPoint();
+        addTouchdownZone();
+    }
+
+    /**
+     * Les bandes de seuil, régulièrement espacées de part et d'autre de l'axe, avec un intervalle double au centre.
+     * Leur nombre dépend de la largeur de la piste.
+     */
+    private void addThresholdStripes() {
+        double width = runway.getWidth();
+        int stripes = width >= 60 ? 16 : width >= 45 ? 12 : width >= 30 ? 8 : width >= 23 ? 6 : 4;
+        double halfSpan = Math.min(width / 2 - THRESHOLD_EDGE_MARGIN, THRESHOLD_MAX_HALF_SPAN);
+        double stripeWidth = halfSpan / stripes;  // Les intervalles sont aussi larges que les bandes
+        double start = THRESHOLD_OFFSET;
+        double end = start + THRESHOLD_STRIPE_LENGTH;
+        for (int i = 0; i < stripes / 2; i++) {
+            double inner = stripeWidth + 2 * i * stripeWidth;
+            addStripe(start, end, inner, inner + stripeWidth);
+            addStripe(start, end, -inner - stripeWidth, -inner);
+        }
+    }
+
+    /**
+     * Le numéro de piste, avec la lettre des pistes parallèles sur une ligne plus proche du seuil.
+     */
+    private void addDesignation(int endNumber, char endLetter) {
+        double line = designationStart();
+        String[] letterGlyph = glyph(endLetter);
+        if (letterGlyph != null) {
+            addGlyph(letterGlyph, line, -GLYPH_WIDTH / 2);
+            line += GLYPH_HEIGHT + LINE_SPACING;
+        }
+        double left = -(2 * GLYPH_WIDTH + GLYPH_SPACING) / 2;
+        addGlyph(DIGITS[endNumber / 10], line, left);
+        addGlyph(DIGITS[endNumber % 10], line, left + GLYPH_WIDTH + GLYPH_SPACING);
+    }
+
+    /**
+     * Les deux marques de point visé, commençant au point de toucher des roues du modèle de piste.
+     */
+    private void addAimingPoint() {
+        double start = aimingPointDistance();
+        double width = Math.min(AIMING_POINT_MAX_WIDTH, 0.15 * runway.getWidth());
+        double gap = Math.min(AIMING_POINT_MAX_GAP, 0.4 * runway.getWidth());
+        addStripe(start, start + AIMING_POINT_LENGTH, gap / 2, gap / 2 + width);
+        addStripe(start, start + AIMING_POINT_LENGTH, -gap / 2 - width, -gap / 2);
+    }
+
+    /**
+     * Les paires de marques de zone de toucher des roues, tous les 150 m depuis le seuil, de moins en moins
+     * fournies en s'éloignant du seuil. Leur nombre dépend de la longueur de la piste, et les paires qui
+     * tomberaient sur le point visé sont omises.
+     */
+    private void addTouchdownZone() {
+        double length = runway.getLength();
+        int pairs = length >= 2400 ? 6 : length >= 1500 ? 4 : length >= 1200 ? 3 : length >= 900 ? 2 : 1;
+        double aimingStart = aimingPointDistance() - TOUCHDOWN_CLEARANCE;
+        double aimingEnd = aimingPointDistance() + AIMING_POINT_LENGTH + TOUCHDOWN_CLEARANCE;
+        double inner = Math.min(AIMING_POINT_MAX_GAP, 0.4 * runway.getWidth()) / 2;
+        for (int pair = 1; pair <= pairs; pair++) {
+            double start = pair * TOUCHDOWN_INTERVAL;
+            double end = start + TOUCHDOWN_STRIPE_LENGTH;
+            if (end > aimingStart && start < aimingEnd) {
+                continue;
+            }
+            int stripes = pair <= 2 ? 3 : pair <= 4 ? 2 : 1;
+            for (int i = 0; i < stripes; i++) {
+                double lateral = inner + i * (TOUCHDOWN_STRIPE_WIDTH + TOUCHDOWN_STRIPE_SPACING);
+                addStripe(start, end, lateral, lateral + TOUCHDOWN_STRIPE_WIDTH);
+                addStripe(start, end, -lateral - TOUCHDOWN_STRIPE_WIDTH, -lateral);
+            }
+        }
+    }
+
+    /**
+     * L'axe en tirets, entre les numéros de piste des deux extrémités, centré sur la longueur disponible.
+     */
+    private void addCenterline() {
+        thresholdZ = runway.getZ() - runway.getLength() / 2;
+        direction = 1;
+        double start = designationEnd() + CENTERLINE_OFFSET;
+        double end = runway.getLength() - start;
+        int dashes = (int) ((end - start + CENTERLINE_GAP) / (CENTERLINE_DASH_LENGTH + CENTERLINE_GAP));
+        double margin = (end - start - dashes * CENTERLINE_DASH_LENGTH - (dashes - 1) * CENTERLINE_GAP) / 2;
+        for (int i = 0; i < dashes; i++) {
+            double dash = start + margin + i * (CENTERLINE_DASH_LENGTH + CENTERLINE_GAP);
+            addStripe(dash, dash + CENTERLINE_DASH_LENGTH, -CENTERLINE_WIDTH / 2, CENTERLINE_WIDTH / 2);
+        }
+    }
+
+    /**
+     * Les bandes continues le long des deux bords de la piste.
+     */
+    private void addSideStripes() {
+        thresholdZ = runway.getZ() - runway.getLength() / 2;
+        direction = 1;
+        double edge = runway.getWidth() / 2;
+        addStripe(0, runway.getLength(), edge - SIDE_STRIPE_WIDTH, edge);
+        addStripe(0, runway.getLength(), -edge, -edge + SIDE_STRIPE_WIDTH);
+    }
+
+    /**
+     * Ajoute un caractère, point par point, en regroupant les points voisins d'une même ligne en une seule bande.
+     *
+     * @param rows Les lignes du caractère, la première étant la plus éloignée du seuil.
+     * @param bottom La distance au seuil du bas du caractère.
+     * @param left La position latérale du bord gauche du caractère, vu depuis l'approche.
+     */
+    private void addGlyph(String[] rows, double bottom, double left) {
+        double dotLength = GLYPH_HEIGHT / rows.length;
+        double dotWidth = GLYPH_WIDTH / rows[0].length();
+        for (int row = 0; row < rows.length; row++) {
+            double top = bottom + GLYPH_HEIGHT - row * dotLength;
+            String dots = rows[row];
+            int column = 0;
+            while (column < dots.length()) {
+                if (dots.charAt(column) != '#') {
+                    column++;
+                    continue;
+                }
+                int first = column;
+                while (column < dots.length() && dots.charAt(column) == '#') {
+                    column++;
+                }
+                addStripe(top - dotLength, top, left + first * dotWidth, left + column * dotWidth);
+            }
+        }
+    }
+
+    /**
+     * Ajoute une bande peinte à l'extrémité en cours de marquage.
+     *
+     * @param from La distance au seuil du début de la bande.
+     * @param to La distance au seuil de la fin de la bande.
+     * @param left La position latérale d'un bord de la bande, positive à droite vu depuis l'approche.
+     * @param right La position latérale de l'autre bord.
+     */
+    private void addStripe(double from, double to, double left, double right) {
+        double z0 = thresholdZ + direction * from;
+        double z1 = thresholdZ + direction * to;
+        // En regardant vers +z, la droite est du côté des x positifs (le cap tourne de z vers x)
+        double x0 = runway.getX() + direction * left;
+        double x1 = runway.getX() + direction * right;
+        builder.addRectangle(Math.min(x0, x1), Math.min(z0, z1), Math.max(x0, x1), Math.max(z0, z1), y,
+                             TextureAtlas.Region.PAINT, PAINT_TEXTURE_SIZE);
+    }
+
+    private double designationStart() {
+        return THRESHOLD_OFFSET + THRESHOLD_STRIPE_LENGTH + DESIGNATION_OFFSET;
+    }
+
+    private double designationEnd() {
+        double lines = letter != 0 ? 2 : 1;
+        return designationStart() + lines * GLYPH_HEIGHT + (lines - 1) * LINE_SPACING;
+    }
+
+    private double aimingPointDistance() {
+        return Math.hypot(runway.getTouchdownX() - runway.getThresholdX(),
+                          runway.getTouchdownZ() - runway.getThresholdZ());
+    }
+
+    private static String[] glyph(char letter) {
+        switch (letter) {
+            case 'L': return LETTER_L;
+            case 'R': return LETTER_R;
+            case 'C': return LETTER_C;
+            default: return null;
+        }
+    }
+
+    private static char reciprocal(char letter) {
+        switch (letter) {
+            case 'L': return 'R';
+            case 'R': return 'L';
+            default: return letter;
+        }
+    }
+}
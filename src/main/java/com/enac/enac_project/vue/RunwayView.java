@@ -3,15 +3,13 @@ package com.enac.enac_project.vue;
 import com.enac.enac_project.model.RunwayModel;
 import javafx.scene.AmbientLight;
 import javafx.scene.Group;
-import javafx.scene.image.Image;
 import javafx.scene.paint.Color;
-import javafx.scene.paint.PhongMaterial;
 import javafx.scene.shape.Box;
 import javafx.scene.shape.CullFace;
 import javafx.scene.shape.DrawMode;
+import javafx.scene.shape.MeshView;
 import javafx.scene.PointLight;
 import javafx.scene.shape.Sphere;
-import javafx.scene.shape.Cylinder;
 import javafx.scene.transform.Rotate;
 import javafx.animation.Animation;
 import javafx.animation.KeyFrame;
@@ -26,144 +24,103 @@ import java.util.Objects;
  */
 public class RunwayView extends Group {
 
-    private Box runway;
+    private static final double RUNWAY_LIGHT_SIZE = 1;
+    private static final double RUNWAY_TEXTURE_SIZE = 30;  // Côté couvert par une répétition du revêtement
+    private static final double MARKING_OFFSET = 0.1;      // Hauteur des marquages au-dessus du revêtement
+
+    private final TextureAtlas atlas;
+    private MeshView runway;
     private Timeline markerLightsTimeline;
 
     /**
      * Constructeur qui crée une vue de piste basée sur un modèle de piste.
      *
      * @param runwayModel Le modèle de piste utilisé pour définir les dimensions et la position de la piste.
+     * @param designator Le numéro de la piste peint au seuil, par exemple "14R", ou null pour le déduire du cap.
+     * @param atlas L'atlas de textures dont le matériau habille la piste et ses marquages.
      */
-    public RunwayView(RunwayModel runwayModel) {
+    public RunwayView(RunwayModel runwayModel, String designator, TextureAtlas atlas) {
         super();
+        this.atlas = atlas;
         setupLighting();
         drawRunway(runwayModel);
-        drawTerrain(runwayModel);
-        drawRunwayMarkings(runwayModel);
+        drawRunwayMarkings(runwayModel, designator);
         drawRunwayLights(runwayModel);
+
+        // Les éléments sont construits dans l'axe z puis tournés d'un bloc autour du centre de la piste selon son cap
+        if (runwayModel.getHeading() != 0) {
+            getTransforms().add(new Rotate(runwayModel.getHeading(), runwayModel.getX(), runwayModel.getY(),
+                                           runwayModel.getZ(), Rotate.Y_AXIS));
+        }
     }
 
     /**
-     * Dessine la piste en utilisant les dimensions et la position fournies par le modèle de piste.
+     * Dessine la surface de la piste en utilisant les dimensions et la position fournies par le modèle de piste.
+     * La surface est au sommet de l'épaisseur de la piste, et le revêtement de l'atlas s'y répète.
      *
      * @param runwayModel Le modèle de piste fournissant les spécifications nécessaires.
      */
     private void drawRunway(RunwayModel runwayModel) {
-        PhongMaterial material = new PhongMaterial();
-        material.setDiffuseColor(Color.rgb(200, 200, 200)); // Gris clair pour la piste
-        material.setSpecularColor(Color.WHITE);
-        material.setSpecularPower(50);
-
-        runway = new Box(runwayModel.getWidth(), runwayModel.getHeight(), runwayModel.getLength());
-        runway.setTranslateX(runwayModel.getX());
-        runway.setTranslateY(runwayModel.getY());
-        runway.setTranslateZ(runwayModel.getZ());
+        TexturedMeshBuilder surface = new TexturedMeshBuilder();
+        surface.addRectangle(runwayModel.getX() - runwayModel.getWidth()/2, runwayModel.getZ() - runwayModel.getLength()/2,
+                             runwayModel.getX() + runwayModel.getWidth()/2, runwayModel.getZ() + runwayModel.getLength()/2,
+                             surfaceY(runwayModel), TextureAtlas.Region.RUNWAY, RUNWAY_TEXTURE_SIZE);
+
+        runway = new MeshView(surface.build());
         runway.setCullFace(CullFace.BACK);
         runway.setDrawMode(DrawMode.FILL);
-        runway.setMaterial(material);
+        runway.setMaterial(atlas.getMaterial());
         this.getChildren().add(runway);
     }
 
     /**
-     * Dessine un terrain autour de la piste pour simuler un environnement.
-     * @param runwayModel Le modèle de la piste autour de laquelle le terrain sera dessiné.
+     * Dessine les marquages peints des deux extrémités de la piste. Tous les marquages forment un seul maillage,
+     * si bien que la piste n'ajoute qu'un nœud quel que soit leur nombre.
+     *
+     * @param runwayModel Le modèle de la piste à marquer.
+     * @param designator Le numéro de la piste, ou null pour le déduire du cap.
      */
-    private void drawTerrain(RunwayModel runwayModel) {
-        PhongMaterial grassMaterial = new PhongMaterial();
-        grassMaterial.setDiffuseColor(Color.rgb(34, 139, 34)); // Vert foncé pour l'herbe
-        grassMaterial.setSpecularColor(Color.rgb(50, 205, 50)); // Vert plus clair pour les reflets
-        grassMaterial.setSpecularPower(30);
-
-        double margin = 1000;
-        Box terrain = new Box(runwayModel.getWidth() + margin, runwayModel.getHeight(), runwayModel.getLength() + margin);
-        terrain.setTranslateX(runwayModel.getX());
-        terrain.setTranslateY(runwayModel.getY() + 1);
-        terrain.setTranslateZ(runwayModel.getZ());
-        terrain.setCullFace(CullFace.BACK);
-        terrain.setDrawMode(DrawMode.FILL);
-        terrain.setMaterial(grassMaterial);
-        this.getChildren().add(0, terrain);
+    private void drawRunwayMarkings(RunwayModel runwayModel, String designator) {
+        RunwayMarkings markings = new RunwayMarkings(runwayModel, designator);
+        MeshView view = new MeshView(markings.createMesh(surfaceY(runwayModel) - MARKING_OFFSET));
+        view.setCullFace(CullFace.BACK);
+        view.setMaterial(atlas.getMaterial());
+        this.getChildren().add(view);
     }
 
-    private void drawRunwayMarkings(RunwayModel runwayModel) {
-        // Centerline
-        Box centerline = new Box(1, 0.1, runwayModel.getLength());
-        centerline.setMaterial(new PhongMaterial(Color.WHITE));
-        centerline.setTranslateX(runwayModel.getX());
-        centerline.setTranslateY(runwayModel.getY() + 0.1);
-        centerline.setTranslateZ(runwayModel.getZ());
-        this.getChildren().add(centerline);
-
-        // Threshold markings
-        double thresholdWidth = 30;
-        Box threshold = new Box(runwayModel.getWidth(), 0.1, thresholdWidth);
-        threshold.setMaterial(new PhongMaterial(Color.WHITE));
-        threshold.setTranslateX(runwayModel.getX());
-        threshold.setTranslateY(runwayModel.getY() + 0.1);
-        threshold.setTranslateZ(runwayModel.getZ() - runwayModel.getLength()/2 + thresholdWidth/2);
-        this.getChildren().add(threshold);
-
-        // Touchdown zone markings
-        double touchdownWidth = 20;
-        for (int i = 0; i < 3; i++) {
-            Box touchdown = new Box(runwayModel.getWidth(), 0.1, touchdownWidth);
-            touchdown.setMaterial(new PhongMaterial(Color.WHITE));
-            touchdown.setTranslateX(runwayModel.getX());
-            touchdown.setTranslateY(runwayModel.getY() + 0.1);
-            touchdown.setTranslateZ(runwayModel.getZ() - runwayModel.getLength()/3 + i * touchdownWidth * 2);
-            this.getChildren().add(touchdown);
-        }
+    /**
+     * Retourne la coordonnée Y du revêtement, au sommet de l'épaisseur de la piste (Y est dirigé vers le bas).
+     */
+    private static double surfaceY(RunwayModel runwayModel) {
+        return runwayModel.getY() - runwayModel.getHeight()/2;
     }
 
+    /**
+     * Dessine les feux de bord et de seuil de piste. Tous les feux sont regroupés dans un champ de feux
+     * qui n'ajoute qu'un maillage par couleur à la scène.
+     *
+     * @param runwayModel Le modèle de la piste à baliser.
+     */
     private void drawRunwayLights(RunwayModel runwayModel) {
+        RunwayLightField lights = new RunwayLightField(RUNWAY_LIGHT_SIZE);
+
         // Edge lights
         double spacing = 50;
         int numLights = (int)(runwayModel.getLength() / spacing);
         for (int i = 0; i < numLights; i++) {
-            // Left edge
-            createRunwayLight(
-                runwayModel.getX() - runwayModel.getWidth()/2,
-                runwayModel.getY(),
-                runwayModel.getZ() - runwayModel.getLength()/2 + i * spacing,
-                Color.WHITE
-            );
-            // Right edge
-            createRunwayLight(
-                runwayModel.getX() + runwayModel.getWidth()/2,
-                runwayModel.getY(),
-                runwayModel.getZ() - runwayModel.getLength()/2 + i * spacing,
-                Color.WHITE
-            );
+            double z = runwayModel.getZ() - runwayModel.getLength()/2 + i * spacing;
+            lights.addLight(runwayModel.getX() - runwayModel.getWidth()/2, runwayModel.getY(), z, Color.WHITE);
+            lights.addLight(runwayModel.getX() + runwayModel.getWidth()/2, runwayModel.getY(), z, Color.WHITE);
         }
 
         // Threshold lights
-        for (int i = 0; i < 6; i++) {
-            createRunwayLight(
-                runwayModel.getX() - runwayModel.getWidth()/2 + i * runwayModel.getWidth()/5,
-                runwayModel.getY(),
-                runwayModel.getZ() - runwayModel.getLength()/2,
-                Color.GREEN
-            );
-        }
-    }
+        double thresholdZ = runwayModel.getZ() - runwayModel.getLength()/2;
+        lights.addRow(runwayModel.getX() - runwayModel.getWidth()/2, runwayModel.getY(), thresholdZ,
+                      runwayModel.getX() + runwayModel.getWidth()/2, runwayModel.getY(), thresholdZ,
+                      6, Color.GREEN);
 
-    private void createRunwayLight(double x, double y, double z, Color color) {
-        Cylinder light = new Cylinder(1, 2);
-        PhongMaterial material = new PhongMaterial(color);
-        material.setSpecularColor(color.brighter());
-        material.setSpecularPower(100);
-        light.setMaterial(material);
-        light.setTranslateX(x);
-        light.setTranslateY(y);
-        light.setTranslateZ(z);
-        light.getTransforms().add(new Rotate(90, Rotate.X_AXIS));
-        this.getChildren().add(light);
-
-        PointLight pointLight = new PointLight(color);
-        pointLight.setTranslateX(x);
-        pointLight.setTranslateY(y);
-        pointLight.setTranslateZ(z);
-        this.getChildren().add(pointLight);
+        lights.build();
+        this.getChildren().add(lights);
     }
 
     /**
@@ -182,11 +139,11 @@ public class RunwayView extends Group {
     }
 
     /**
-     * Retourne l'objet Box qui représente la piste.
+     * Retourne le maillage qui représente la surface de la piste.
      *
-     * @return L'objet Box représentant la piste.
+     * @return Le maillage représentant la piste.
      */
-    public Box getRunway() {
+    public MeshView getRunway() {
         return runway;
     }
 
@@ -195,19 +152,19 @@ public class RunwayView extends Group {
      */
     private void tracerRepere() {
         Sphere zero = new Sphere(20);
-        zero.setMaterial(new PhongMaterial(Color.RED));
+        zero.setMaterial(MaterialCache.get(Color.RED));
         this.getChildren().add(zero);
         Box axeX = new Box(500, 3, 3);
         axeX.setTranslateX(250);
-        axeX.setMaterial(new PhongMaterial(Color.BLUE));
+        axeX.setMaterial(MaterialCache.get(Color.BLUE));
         this.getChildren().add(axeX);
         Box axeY = new Box(3, 500, 3);
         axeY.setTranslateY(250);
-        axeY.setMaterial(new PhongMaterial(Color.RED));
+        axeY.setMaterial(MaterialCache.get(Color.RED));
         this.getChildren().add(axeY);
         Box axeZ = new Box(3, 3, 500);
         axeZ.setTranslateZ(250);
-        axeZ.setMaterial(new PhongMaterial(Color.GREEN));
+        axeZ.setMaterial(MaterialCache.get(Color.GREEN));
         this.getChildren().add(axeZ);
     }
 }
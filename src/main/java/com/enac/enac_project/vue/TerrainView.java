@@ -0,0 +1,468 @@
+package com.enac.enac_project.vue;
+
+import com.enac.enac_project.model.HeightField;
+import javafx.geometry.Point3D;
+import javafx.scene.Camera;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.paint.PhongMaterial;
+import javafx.scene.shape.CullFace;
+import javafx.scene.shape.MeshView;
+import javafx.scene.shape.TriangleMesh;
+import javafx.scene.transform.Transform;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * La classe TerrainView affiche le relief autour de la caméra sous forme de tuiles carrées construites à partir
+ * d'un champ de hauteurs. Chaque tuile existe en plusieurs niveaux de détail, choisis selon sa distance à la caméra ;
+ * seules les tuiles à portée de vue et dans le champ de la caméra font partie du graphe de scène.
+ *
+ * <p>Les maillages sont calculés en arrière-plan puis installés par le thread JavaFX dans la limite d'un budget par
+ * image, ce qui garde une cadence régulière quand l'avion avance vite. Tant que le niveau voulu n'est pas prêt,
+ * la tuile est affichée avec un autre niveau déjà calculé. Les maillages récemment utilisés sont conservés dans un
+ * cache borné. Le bord de chaque tuile porte une jupe verticale qui masque les fentes entre deux niveaux de détail.
+ * L'herbe de l'atlas de textures se répète sur le dessus des tuiles, à la même échelle pour tous les niveaux.
+ * Une tuile dont le calcul échoue est redemandée après un délai qui double à chaque échec, puis abandonnée ;
+ * seul le premier échec est journalisé avec sa trace.</p>
+ *
+ * <p>Hormis le calcul des maillages, cette classe n'est utilisée que depuis le thread JavaFX.</p>
+ */
+public class TerrainView extends Group {
+    private static final Logger logger = LoggerFactory.getLogger(TerrainView.class);
+
+    private static final double TILE_SIZE = 2000;
+    private static final double VIEW_DISTANCE = 32000;            // Couvre une approche de plus de 15 NM
+    private static final int[] LEVEL_SEGMENTS = {64, 32, 16, 8};  // Subdivisions d'une tuile pour chaque niveau
+    private static final double[] LEVEL_DISTANCES = {3000, 7000, 15000};  // Au-delà, le niveau le plus grossier
+    private static final double SKIRT_DEPTH = 60;
+    private static final double GRASS_TEXTURE_SIZE = 250;         // Côté couvert par une répétition de l'herbe
+    private static final double VERTICAL_MARGIN = 300;            // Marge de relief de la sphère englobante
+    private static final double CULLING_MARGIN = Math.toRadians(5);
+    private static final int MESHES_PER_FRAME = 4;
+    private static final int CACHE_CAPACITY = 1024;
+    private static final int WORKER_THREADS = 2;
+    private static final long FIRST_RETRY_NANOS = TimeUnit.SECONDS.toNanos(1);  // Doublé à chaque nouvel échec
+    private static final int MAX_ATTEMPTS = 5;
+
+    private final HeightField heightField;
+    private final double cullingHalfAngle;
+    private final PhongMaterial material;
+    private final ExecutorService workers;
+
+    private final Map<Long, MeshView> cache = new LinkedHashMap<>(CACHE_CAPACITY, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, MeshView> eldest) {
+            return size() > CACHE_CAPACITY;
+        }
+    };
+    private final Map<Long, Future<?>> pending = new HashMap<>();
+    private final Queue<TileMesh> ready = new ConcurrentLinkedQueue<>();
+    private final Queue<TileFailure> failed = new ConcurrentLinkedQueue<>();
+    private final Map<Long, RetryState> retries = new HashMap<>();
+    private final Set<Long> wanted = new HashSet<>();
+    private final List<TileRequest> requests = new ArrayList<>();
+    private final List<Node> visible = new ArrayList<>();
+
+    /**
+     * Constructeur qui crée une vue du terrain vide ; les tuiles apparaissent au fil des appels à
+     * {@link #update(Camera)}.
+     *
+     * @param heightField Le champ de hauteurs du terrain.
+     * @param atlas L'atlas de textures dont le matériau habille le terrain.
+     * @param fieldOfView L'angle de vue vertical de la caméra, en degrés.
+     * @param aspectRatio Le rapport entre la largeur et la hauteur de la vue.
+     */
+    public TerrainView(HeightField heightField, TextureAtlas atlas, double fieldOfView, double aspectRatio) {
+        this.heightField = heightField;
+
+        // Demi-angle du cône contenant la pyramide de vision, mesuré selon la diagonale de l'image
+        double halfHeight = Math.tan(Math.toRadians(fieldOfView) / 2);
+        this.cullingHalfAngle = Math.atan(halfHeight * Math.sqrt(1 + aspectRatio * aspectRatio)) + CULLING_MARGIN;
+
+        material = atlas.getMaterial();
+
+        workers = Executors.newFixedThreadPool(WORKER_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "terrain-tiles");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Met à jour les tuiles affichées selon la position et l'orientation de la caméra.
+     * Appelée à chaque image, après le placement de la caméra.
+     *
+     * @param camera La caméra de la vue.
+     */
+    public void update(Camera camera) {
+        long now = System.nanoTime();
+        installReadyMeshes(now);
+
+        Transform transform = camera.getLocalToSceneTransform();
+        double eyeX = transform.getTx();
+        double eyeY = transform.getTy();
+        double eyeZ = transform.getTz();
+        Point3D forward = transform.deltaTransform(0, 0, 1).normalize();
+
+        double radius = TILE_SIZE * Math.sqrt(0.5) + VERTICAL_MARGIN;
+        int minI = (int) Math.floor((eyeX - VIEW_DISTANCE) / TILE_SIZE);
+        int maxI = (int) Math.floor((eyeX + VIEW_DISTANCE) / TILE_SIZE);
+        int minJ = (int) Math.floor((eyeZ - VIEW_DISTANCE) / TILE_SIZE);
+        int maxJ = (int) Math.floor((eyeZ + VIEW_DISTANCE) / TILE_SIZE);
+
+        visible.clear();
+        wanted.clear();
+        requests.clear();
+        for (int i = minI; i <= maxI; i++) {
+            for (int j = minJ; j <= maxJ; j++) {
+                double centerX = (i + 0.5) * TILE_SIZE;
+                double centerZ = (j + 0.5) * TILE_SIZE;
+                double dx = centerX - eyeX;
+                double dz = centerZ - eyeZ;
+                double horizontal = Math.sqrt(dx * dx + dz * dz);
+                if (horizontal > VIEW_DISTANCE + radius) {
+                    continue;
+                }
+                double dy = heightField.getGroundY(centerX, centerZ) - eyeY;
+                double distance = Math.sqrt(horizontal * horizontal + dy * dy);
+                if (!isInView(forward, dx, dy, dz, distance, radius)) {
+                    continue;
+                }
+                showTile(i, j, levelFor(horizontal), horizontal, now);
+            }
+        }
+
+        cancelUnwantedRequests();
+        requests.sort(Comparator.comparingDouble(request -> request.distance));
+        for (TileRequest request : requests) {
+            pending.put(request.key, workers.submit(request));
+        }
+        if (!visible.equals(getChildren())) {
+            getChildren().setAll(visible);
+        }
+    }
+
+    /**
+     * Arrête le calcul des tuiles en arrière-plan.
+     */
+    public void dispose() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * Indique si la sphère englobant une tuile coupe le cône de vision de la caméra.
+     */
+    private boolean isInView(Point3D forward, double dx, double dy, double dz, double distance, double radius) {
+        if (distance <= radius) {
+            return true;
+        }
+        double cos = (forward.getX() * dx + forward.getY() * dy + forward.getZ() * dz) / distance;
+        double angle = Math.acos(Math.max(-1, Math.min(1, cos)));
+        return angle <= cullingHalfAngle + Math.asin(radius / distance);
+    }
+
+    private static int levelFor(double distance) {
+        for (int level = 0; level < LEVEL_DISTANCES.length; level++) {
+            if (distance < LEVEL_DISTANCES[level]) {
+                return level;
+            }
+        }
+        return LEVEL_DISTANCES.length;
+    }
+
+    /**
+     * Affiche une tuile au niveau voulu s'il est prêt, sinon avec un autre niveau déjà calculé en attendant.
+     * Une tuile dont le calcul a échoué n'est redemandée qu'une fois son délai écoulé.
+     */
+    private void showTile(int i, int j, int level, double distance, long now) {
+        long key = key(i, j, level);
+        wanted.add(key);
+        MeshView view = cache.get(key);
+        if (view == null) {
+            RetryState retry = retries.get(key);
+            if (!pending.containsKey(key) && (retry == null || retry.canRetry(now))) {
+                requests.add(new TileRequest(key, i, j, level, distance));
+            }
+            for (int other = LEVEL_SEGMENTS.length - 1; other >= 0 && view == null; other--) {
+                if (other != level) {
+                    view = cache.get(key(i, j, other));
+                }
+            }
+        }
+        if (view != null) {
+            visible.add(view);
+        }
+    }
+
+    /**
+     * Abandonne le calcul des tuiles sorties du champ avant qu'il ne commence.
+     */
+    private void cancelUnwantedRequests() {
+        Iterator<Map.Entry<Long, Future<?>>> iterator = pending.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Long, Future<?>> entry = iterator.next();
+            if (!wanted.contains(entry.getKey())) {
+                entry.getValue().cancel(false);
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Crée les nœuds des maillages calculés en arrière-plan, dans la limite du budget de l'image.
+     * Les tuiles dont le calcul a échoué ne sont plus en attente : elles seront redemandées après leur délai si elles
+     * restent voulues, sauf après trop d'échecs.
+     */
+    private void installReadyMeshes(long now) {
+        for (TileFailure failure = failed.poll(); failure != null; failure = failed.poll()) {
+            pending.remove(failure.key);
+            recordFailure(failure, now);
+        }
+        for (int count = 0; count < MESHES_PER_FRAME; count++) {
+            TileMesh tile = ready.poll();
+            if (tile == null) {
+                return;
+            }
+            pending.remove(tile.key);
+            retries.remove(tile.key);
+
+            TriangleMesh mesh = new TriangleMesh();
+            mesh.getPoints().setAll(tile.points);
+            mesh.getTexCoords().setAll(tile.texCoords);
+            mesh.getFaces().setAll(tile.faces);
+            mesh.getFaceSmoothingGroups().setAll(tile.smoothingGroups);
+
+            MeshView view = new MeshView(mesh);
+            view.setMaterial(material);
+            view.setCullFace(CullFace.BACK);
+            view.setTranslateX(tile.originX);
+            view.setTranslateZ(tile.originZ);
+            cache.put(tile.key, view);
+        }
+    }
+
+    /**
+     * Compte un échec de calcul et fixe le moment où la tuile pourra être redemandée. Le premier échec est journalisé
+     * avec sa trace, l'abandon d'une tuile par un avertissement ; les échecs intermédiaires ne le sont qu'en debug.
+     */
+    private void recordFailure(TileFailure failure, long now) {
+        RetryState retry = retries.computeIfAbsent(failure.key, key -> new RetryState());
+        retry.attempts++;
+        if (retry.attempts == 1) {
+            logger.error("Failed to build terrain tile ({}, {}) at level {}, retrying later",
+                         failure.i, failure.j, failure.level, failure.error);
+        } else if (retry.attempts >= MAX_ATTEMPTS) {
+            logger.warn("Giving up terrain tile ({}, {}) at level {} after {} failures: {}",
+                        failure.i, failure.j, failure.level, retry.attempts, failure.error.toString());
+        } else if (logger.isDebugEnabled()) {
+            logger.debug("Terrain tile ({}, {}) at level {} failed again: {}",
+                         failure.i, failure.j, failure.level, failure.error.toString());
+        }
+        retry.retryAt = retry.attempts >= MAX_ATTEMPTS
+                        ? Long.MAX_VALUE
+                        : now + (FIRST_RETRY_NANOS << (retry.attempts - 1));
+    }
+
+    private static long key(int i, int j, int level) {
+        return ((i & 0xFFFFFFL) << 28) | ((j & 0xFFFFFFL) << 4) | level;
+    }
+
+    /**
+     * Les tableaux d'un maillage de tuile, calculés en arrière-plan. Les coordonnées X et Z des points sont relatives
+     * à l'origine de la tuile, pour garder la précision des flottants loin de l'aéroport.
+     */
+    private static final class TileMesh {
+        final long key;
+        final double originX;
+        final double originZ;
+        final float[] points;
+        final float[] texCoords;
+        final int[] faces;
+        final int[] smoothingGroups;
+
+        TileMesh(long key, double originX, double originZ, float[] points, float[] texCoords,
+                 int[] faces, int[] smoothingGroups) {
+            this.key = key;
+            this.originX = originX;
+            this.originZ = originZ;
+            this.points = points;
+            this.texCoords = texCoords;
+            this.faces = faces;
+            this.smoothingGroups = smoothingGroups;
+        }
+    }
+
+    /**
+     * L'échec du calcul d'une tuile, transmis au thread JavaFX.
+     */
+    private static final class TileFailure {
+        final long key;
+        final int i;
+        final int j;
+        final int level;
+        final RuntimeException error;
+
+        TileFailure(long key, int i, int j, int level, RuntimeException error) {
+            this.key = key;
+            this.i = i;
+            this.j = j;
+            this.level = level;
+            this.error = error;
+        }
+    }
+
+    /**
+     * Les échecs d'une tuile et le moment à partir duquel elle peut être redemandée.
+     */
+    private static final class RetryState {
+        int attempts;
+        long retryAt;
+
+        boolean canRetry(long now) {
+            return retryAt != Long.MAX_VALUE && now - retryAt >= 0;
+        }
+    }
+
+    /**
+     * Le calcul du maillage d'une tuile à un niveau de détail.
+     */
+    private final class TileRequest implements Runnable {
+        final long key;
+        final int i;
+        final int j;
+        final int level;
+        final double distance;
+
+        TileRequest(long key, int i, int j, int level, double distance) {
+            this.key = key;
+            this.i = i;
+            this.j = j;
+            this.level = level;
+            this.distance = distance;
+        }
+
+        @Override
+        public void run() {
+            try {
+                ready.add(build());
+            } catch (RuntimeException e) {
+                failed.add(new TileFailure(key, i, j, level, e));
+            }
+        }
+
+        private TileMesh build() {
+            int n = LEVEL_SEGMENTS[level];
+            double originX = i * TILE_SIZE;
+            double originZ = j * TILE_SIZE;
+            float step = (float) (TILE_SIZE / n);
+            heightField.preload(originX, originZ, originX + TILE_SIZE, originZ + TILE_SIZE);
+            int gridPoints = (n + 1) * (n + 1);
+            int skirtPoints = 4 * n;
+
+            float[] points = new float[(gridPoints + skirtPoints) * 3];
+            int p = 0;
+            for (int row = 0; row <= n; row++) {
+                for (int column = 0; column <= n; column++) {
+                    points[p++] = column * step;
+                    points[p++] = (float) heightField.getGroundY(originX + column * step, originZ + row * step);
+                    points[p++] = row * step;
+                }
+            }
+
+            // L'herbe couvre un carré de repeat × repeat cellules : chaque cellule prend les coordonnées de texture
+            // de sa place dans ce carré, sans dupliquer les points qu'elle partage avec ses voisines
+            int repeat = Math.max(1, (int) Math.round(GRASS_TEXTURE_SIZE / step));
+            float[] texCoords = new float[(repeat + 1) * (repeat + 1) * 2];
+            int t = 0;
+            for (int row = 0; row <= repeat; row++) {
+                for (int column = 0; column <= repeat; column++) {
+                    texCoords[t++] = TextureAtlas.Region.GRASS.getU((double) column / repeat);
+                    texCoords[t++] = TextureAtlas.Region.GRASS.getV((double) row / repeat);
+                }
+            }
+
+            // Le tour de la tuile, parcouru de sorte que les faces de la jupe regardent vers l'extérieur
+            int[] perimeter = new int[skirtPoints];
+            int k = 0;
+            for (int row = 0; row < n; row++) {
+                perimeter[k++] = row * (n + 1);
+            }
+            for (int column = 0; column < n; column++) {
+                perimeter[k++] = n * (n + 1) + column;
+            }
+            for (int row = n; row > 0; row--) {
+                perimeter[k++] = row * (n + 1) + n;
+            }
+            for (int column = n; column > 0; column--) {
+                perimeter[k++] = column;
+            }
+            for (int vertex : perimeter) {
+                points[p++] = points[vertex * 3];
+                points[p++] = points[vertex * 3 + 1] + (float) SKIRT_DEPTH;
+                points[p++] = points[vertex * 3 + 2];
+            }
+
+            int topFaces = 2 * n * n;
+            int[] faces = new int[(topFaces + 2 * skirtPoints) * 6];
+            int[] smoothingGroups = new int[topFaces + 2 * skirtPoints];
+            int f = 0;
+            int s = 0;
+            // Dessus, orienté vers le haut (Y est dirigé vers le bas)
+            for (int row = 0; row < n; row++) {
+                for (int column = 0; column < n; column++) {
+                    int a = row * (n + 1) + column;
+                    int b = a + 1;
+                    int c = a + n + 1;
+                    int d = c + 1;
+                    int ta = (row % repeat) * (repeat + 1) + column % repeat;
+                    int tb = ta + 1;
+                    int tc = ta + repeat + 1;
+                    int td = tc + 1;
+                    f = putFace(faces, f, a, ta, b, tb, c, tc);
+                    f = putFace(faces, f, b, tb, d, td, c, tc);
+                    smoothingGroups[s++] = 1;
+                    smoothingGroups[s++] = 1;
+                }
+            }
+            // Jupe, à facettes plates, de la couleur d'un seul point de l'herbe
+            for (int edge = 0; edge < skirtPoints; edge++) {
+                int top0 = perimeter[edge];
+                int top1 = perimeter[(edge + 1) % skirtPoints];
+                int bottom0 = gridPoints + edge;
+                int bottom1 = gridPoints + (edge + 1) % skirtPoints;
+                f = putFace(faces, f, top0, 0, top1, 0, bottom1, 0);
+                f = putFace(faces, f, top0, 0, bottom1, 0, bottom0, 0);
+                smoothingGroups[s++] = 0;
+                smoothingGroups[s++] = 0;
+            }
+            return new TileMesh(key, originX, originZ, points, texCoords, faces, smoothingGroups);
+        }
+    }
+
+    private static int putFace(int[] faces, int index, int p0, int t0, int p1, int t1, int p2, int t2) {
+        faces[index] = p0;
+        faces[index + 1] = t0;
+        faces[index + 2] = p1;
+        faces[index + 3] = t1;
+        faces[index + 4] = p2;
+        faces[index + 5] = t2;
+        return index + 6;
+    }
+}
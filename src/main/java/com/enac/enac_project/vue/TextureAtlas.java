@@ -0,0 +1,353 @@
+package com.enac.enac_project.vue;
+
+import javafx.application.Platform;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.PhongMaterial;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * La classe TextureAtlas regroupe les textures de la scène (herbe, revêtement de la piste, peinture des marquages)
+ * dans une seule image portée par un seul matériau : le terrain, la piste et ses marquages partagent ce matériau,
+ * chaque maillage désignant sa région de l'atlas par ses coordonnées de texture.
+ *
+ * <p>Les images sont décodées et réduites à la taille de leur région par un thread en arrière-plan, pour ne pas
+ * retarder la première image ; en attendant, le matériau porte un petit atlas aux couleurs des régions. L'atlas
+ * assemblé est enregistré dans le répertoire de cache et relu tel quel aux démarrages suivants, tant que les images
+ * sources n'ont pas changé. Une image absente ou illisible est remplacée par un grain généré de la couleur de
+ * sa région. En cas d'échec, le matériau garde l'atlas provisoire et l'erreur est journalisée.</p>
+ *
+ * <p>Les coordonnées de texture ne bouclent pas à l'intérieur d'une région : une surface sur laquelle la texture
+ * se répète doit être découpée en morceaux couvrant chacun au plus une fois la région.</p>
+ */
+public class TextureAtlas {
+    private static final Logger logger = LoggerFactory.getLogger(TextureAtlas.class);
+    private static final int FORMAT_VERSION = 1;
+    private static final int SLOTS = 2;                   // Régions sur chaque côté de l'atlas
+    private static final int SLOT_SIZE = 512;
+    private static final int ATLAS_SIZE = SLOTS * SLOT_SIZE;
+    private static final int GUTTER = 8;                  // Bord recopié autour de chaque région, contre le filtrage
+    private static final int CONTENT_SIZE = SLOT_SIZE - 2 * GUTTER;
+    private static final int PLACEHOLDER_SLOT_SIZE = 8;
+    private static final double GRAIN = 0.06;             // Variation de luminosité des textures générées
+    private static final double PAINT_WEAR = 0.15;        // Part du revêtement visible à travers la peinture
+    private static final String ASSET_DIRECTORY = "/assets/";
+    private static final String CACHE_PREFIX = "atlas-";
+    private static final String CACHE_EXTENSION = ".argb";
+
+    /**
+     * Les régions de l'atlas, chacune occupant une case de la grille de l'atlas.
+     */
+    public enum Region {
+        GRASS("grass_texture.jpg", 0, 0, Color.rgb(34, 139, 34)),
+        RUNWAY("runway_texture.jpg", 1, 0, Color.rgb(160, 160, 160)),
+        PAINT(null, 0, 1, Color.WHITE);  // Tirée du revêtement de la piste
+
+        private final String asset;
+        private final int column;
+        private final int row;
+        private final Color color;
+
+        Region(String asset, int column, int row, Color color) {
+            this.asset = asset;
+            this.column = column;
+            this.row = row;
+            this.color = color;
+        }
+
+        /**
+         * Convertit une abscisse relative à la région en coordonnée de texture de l'atlas.
+         *
+         * @param s L'abscisse dans la région, entre 0 et 1.
+         * @return La coordonnée U dans l'atlas.
+         */
+        public float getU(double s) {
+            return (float) ((column * SLOT_SIZE + GUTTER + s * CONTENT_SIZE) / ATLAS_SIZE);
+        }
+
+        /**
+         * Convertit une ordonnée relative à la région en coordonnée de texture de l'atlas.
+         *
+         * @param t L'ordonnée dans la région, entre 0 et 1.
+         * @return La coordonnée V dans l'atlas.
+         */
+        public float getV(double t) {
+            return (float) ((row * SLOT_SIZE + GUTTER + t * CONTENT_SIZE) / ATLAS_SIZE);
+        }
+    }
+
+    private final Path cacheDirectory;
+    private final PhongMaterial material;
+
+    /**
+     * Constructeur qui crée le matériau de l'atlas et lance la préparation de l'atlas en arrière-plan.
+     * Doit être appelé depuis le thread JavaFX.
+     *
+     * @param cacheDirectory Le répertoire où l'atlas assemblé est conservé, ou null pour ne pas le conserver.
+     */
+    public TextureAtlas(Path cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+        material = new PhongMaterial(Color.WHITE);
+        material.setSpecularColor(Color.gray(0.2));
+        material.setSpecularPower(30);
+        material.setDiffuseMap(createPlaceholder());
+
+        Thread loader = new Thread(this::load, "texture-atlas");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * Retourne le matériau partagé portant l'atlas. Ce matériau ne doit pas être modifié.
+     *
+     * @return Le matériau de l'atlas.
+     */
+    public PhongMaterial getMaterial() {
+        return material;
+    }
+
+    /**
+     * Prépare l'atlas puis l'installe dans le matériau depuis le thread JavaFX. Un échec est journalisé plutôt que
+     * d'interrompre silencieusement le thread, le matériau gardant alors l'atlas provisoire.
+     */
+    private void load() {
+        try {
+            int[] pixels = loadPixels();
+            WritableImage image = new WritableImage(ATLAS_SIZE, ATLAS_SIZE);
+            image.getPixelWriter().setPixels(0, 0, ATLAS_SIZE, ATLAS_SIZE, PixelFormat.getIntArgbInstance(),
+                                             pixels, 0, ATLAS_SIZE);
+            Platform.runLater(() -> material.setDiffuseMap(image));
+        } catch (RuntimeException e) {
+            logger.error("Failed to load the texture atlas, keeping the placeholder", e);
+        }
+    }
+
+    /**
+     * Relit l'atlas du cache s'il correspond aux images sources, sinon l'assemble et l'enregistre.
+     */
+    private int[] loadPixels() {
+        Map<Region, byte[]> sources = readAssets();
+        Path file = null;
+        if (cacheDirectory != null) {
+            file = cacheDirectory.resolve(String.format("%s%08x%s", CACHE_PREFIX, checksum(sources), CACHE_EXTENSION));
+            int[] cached = readCache(file);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        int[] pixels = assemble(sources);
+        if (file != null) {
+            writeCache(file, pixels);
+        }
+        return pixels;
+    }
+
+    private static Map<Region, byte[]> readAssets() {
+        Map<Region, byte[]> sources = new EnumMap<>(Region.class);
+        for (Region region : Region.values()) {
+            if (region.asset == null) {
+                continue;
+            }
+            try (InputStream input = TextureAtlas.class.getResourceAsStream(ASSET_DIRECTORY + region.asset)) {
+                if (input != null) {
+                    sources.put(region, input.readAllBytes());
+                } else {
+                    logger.warn("Texture {} not found, using a generated texture", region.asset);
+                }
+            } catch (IOException e) {
+                logger.warn("Failed to read texture {}, using a generated texture", region.asset, e);
+            }
+        }
+        return sources;
+    }
+
+    /**
+     * Calcule l'empreinte des images sources et du format de l'atlas, qui nomme le fichier du cache.
+     */
+    private static long checksum(Map<Region, byte[]> sources) {
+        CRC32 crc = new CRC32();
+        crc.update(ByteBuffer.allocate(3 * Integer.BYTES).putInt(FORMAT_VERSION).putInt(SLOT_SIZE).putInt(GUTTER).array());
+        for (Map.Entry<Region, byte[]> source : sources.entrySet()) {
+            crc.update(source.getKey().ordinal());
+            crc.update(source.getValue());
+        }
+        return crc.getValue();
+    }
+
+    private static int[] assemble(Map<Region, byte[]> sources) {
+        int[] atlas = new int[ATLAS_SIZE * ATLAS_SIZE];
+        int[] runway = decode(sources.get(Region.RUNWAY), Region.RUNWAY);
+        put(atlas, Region.GRASS, decode(sources.get(Region.GRASS), Region.GRASS));
+        put(atlas, Region.RUNWAY, runway);
+        put(atlas, Region.PAINT, paint(runway));
+        return atlas;
+    }
+
+    /**
+     * Décode une image réduite à la taille de sa région, ou génère un grain de la couleur de la région si l'image
+     * est absente ou illisible.
+     */
+    private static int[] decode(byte[] source, Region region) {
+        int[] pixels = new int[CONTENT_SIZE * CONTENT_SIZE];
+        if (source != null) {
+            Image image = new Image(new ByteArrayInputStream(source), CONTENT_SIZE, CONTENT_SIZE, false, true);
+            PixelReader reader = image.getPixelReader();
+            if (!image.isError() && reader != null
+                    && image.getWidth() == CONTENT_SIZE && image.getHeight() == CONTENT_SIZE) {
+                reader.getPixels(0, 0, CONTENT_SIZE, CONTENT_SIZE, PixelFormat.getIntArgbInstance(),
+                                 pixels, 0, CONTENT_SIZE);
+                return pixels;
+            }
+            logger.warn("Failed to decode texture {}, using a generated texture", region.asset, image.getException());
+        }
+        for (int y = 0; y < CONTENT_SIZE; y++) {
+            for (int x = 0; x < CONTENT_SIZE; x++) {
+                pixels[y * CONTENT_SIZE + x] = shade(region.color, 1 + GRAIN * noise(x, y));
+            }
+        }
+        return pixels;
+    }
+
+    /**
+     * La peinture des marquages : du blanc laissant paraître un peu du revêtement.
+     */
+    private static int[] paint(int[] runway) {
+        int[] pixels = new int[runway.length];
+        for (int i = 0; i < runway.length; i++) {
+            int argb = runway[i];
+            int red = (int) (255 * (1 - PAINT_WEAR) + ((argb >> 16) & 0xFF) * PAINT_WEAR);
+            int green = (int) (255 * (1 - PAINT_WEAR) + ((argb >> 8) & 0xFF) * PAINT_WEAR);
+            int blue = (int) (255 * (1 - PAINT_WEAR) + (argb & 0xFF) * PAINT_WEAR);
+            pixels[i] = 0xFF000000 | red << 16 | green << 8 | blue;
+        }
+        return pixels;
+    }
+
+    /**
+     * Copie le contenu d'une région dans l'atlas en prolongeant ses bords sur la marge qui l'entoure.
+     */
+    private static void put(int[] atlas, Region region, int[] content) {
+        int left = region.column * SLOT_SIZE;
+        int top = region.row * SLOT_SIZE;
+        for (int y = 0; y < SLOT_SIZE; y++) {
+            int sourceY = Math.max(0, Math.min(CONTENT_SIZE - 1, y - GUTTER));
+            for (int x = 0; x < SLOT_SIZE; x++) {
+                int sourceX = Math.max(0, Math.min(CONTENT_SIZE - 1, x - GUTTER));
+                atlas[(top + y) * ATLAS_SIZE + left + x] = content[sourceY * CONTENT_SIZE + sourceX];
+            }
+        }
+    }
+
+    /**
+     * Crée l'atlas provisoire, chaque région étant remplie de sa couleur.
+     */
+    private static WritableImage createPlaceholder() {
+        WritableImage placeholder = new WritableImage(SLOTS * PLACEHOLDER_SLOT_SIZE, SLOTS * PLACEHOLDER_SLOT_SIZE);
+        for (Region region : Region.values()) {
+            for (int y = 0; y < PLACEHOLDER_SLOT_SIZE; y++) {
+                for (int x = 0; x < PLACEHOLDER_SLOT_SIZE; x++) {
+                    placeholder.getPixelWriter().setColor(region.column * PLACEHOLDER_SLOT_SIZE + x,
+                                                          region.row * PLACEHOLDER_SLOT_SIZE + y, region.color);
+                }
+            }
+        }
+        return placeholder;
+    }
+
+    private static int shade(Color color, double factor) {
+        int red = (int) Math.round(Math.min(1, color.getRed() * factor) * 255);
+        int green = (int) Math.round(Math.min(1, color.getGreen() * factor) * 255);
+        int blue = (int) Math.round(Math.min(1, color.getBlue() * factor) * 255);
+        return 0xFF000000 | red << 16 | green << 8 | blue;
+    }
+
+    /**
+     * Un bruit déterministe entre -1 et 1 pour chaque pixel.
+     */
+    private static double noise(int x, int y) {
+        int hash = x * 374761393 + y * 668265263;
+        hash = (hash ^ (hash >>> 13)) * 1274126177;
+        hash ^= hash >>> 16;
+        return (hash & 0xFFFF) / 32767.5 - 1;
+    }
+
+    private static int[] readCache(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long expected = (long) ATLAS_SIZE * ATLAS_SIZE * Integer.BYTES;
+            if (channel.size() != expected) {
+                logger.warn("Ignoring texture atlas cache {} of unexpected size {}", file, channel.size());
+                return null;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, expected);
+            int[] pixels = new int[ATLAS_SIZE * ATLAS_SIZE];
+            buffer.asIntBuffer().get(pixels);
+            return pixels;
+        } catch (NoSuchFileException e) {
+            return null;  // Pas encore en cache : l'atlas est assemblé
+        } catch (IOException e) {
+            logger.warn("Failed to read texture atlas cache {}, assembling the atlas again", file, e);
+            return null;
+        }
+    }
+
+    /**
+     * Enregistre l'atlas et supprime ceux des images sources précédentes, pour que le cache reste petit.
+     */
+    private void writeCache(Path file, int[] pixels) {
+        Path temporary = null;
+        try {
+            Files.createDirectories(cacheDirectory);
+            ByteBuffer buffer = ByteBuffer.allocate(pixels.length * Integer.BYTES);
+            buffer.asIntBuffer().put(pixels);
+            // Écrit à côté puis déplacé, pour qu'un autre lancement ne lise jamais un atlas partiel
+            temporary = Files.createTempFile(cacheDirectory, file.getFileName().toString(), ".tmp");
+            Files.write(temporary, buffer.array());
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            temporary = null;
+
+            try (DirectoryStream<Path> stale = Files.newDirectoryStream(cacheDirectory,
+                                                                        CACHE_PREFIX + "*" + CACHE_EXTENSION)) {
+                for (Path old : stale) {
+                    if (!old.equals(file)) {
+                        Files.deleteIfExists(old);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // Le cache est facultatif : l'atlas sera assemblé de nouveau au prochain lancement
+            logger.warn("Failed to write texture atlas cache {}", file, e);
+            deleteQuietly(temporary);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Failed to delete {}", file, e);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.enac.enac_project.vue;
+
+import javafx.scene.shape.TriangleMesh;
+
+import java.util.Arrays;
+
+/**
+ * La classe TexturedMeshBuilder assemble des rectangles horizontaux, texturés par une région d'un
+ * {@link TextureAtlas}, en un seul maillage. Les coordonnées de texture d'une région ne bouclant pas, un rectangle
+ * sur lequel la texture se répète est découpé en carreaux couvrant chacun au plus une fois la région.
+ */
+final class TexturedMeshBuilder {
+    private float[] points = new float[4 * 3 * 16];
+    private float[] texCoords = new float[4 * 2 * 16];
+    private int[] faces = new int[2 * 6 * 16];
+    private int quads;
+
+    /**
+     * Ajoute un rectangle horizontal tourné vers le haut, entre deux coins opposés.
+     *
+     * @param x0 La plus petite coordonnée X du rectangle.
+     * @param z0 La plus petite coordonnée Z du rectangle.
+     * @param x1 La plus grande coordonnée X du rectangle.
+     * @param z1 La plus grande coordonnée Z du rectangle.
+     * @param y La coordonnée Y du rectangle.
+     * @param region La région de l'atlas qui texture le rectangle.
+     * @param textureSize Le côté couvert par une répétition de la texture, en mètres.
+     */
+    void addRectangle(double x0, double z0, double x1, double z1, double y,
+                      TextureAtlas.Region region, double textureSize) {
+        int columns = Math.max(1, (int) Math.ceil((x1 - x0) / textureSize - 1e-9));
+        int rows = Math.max(1, (int) Math.ceil((z1 - z0) / textureSize - 1e-9));
+        for (int row = 0; row < rows; row++) {
+            double zStart = z0 + row * textureSize;
+            double zEnd = Math.min(z1, zStart + textureSize);
+            for (int column = 0; column < columns; column++) {
+                double xStart = x0 + column * textureSize;
+                double xEnd = Math.min(x1, xStart + textureSize);
+                addQuad(xStart, zStart, xEnd, zEnd, y, region,
+                        (xEnd - xStart) / textureSize, (zEnd - zStart) / textureSize);
+            }
+        }
+    }
+
+    /**
+     * Retourne le nombre de carreaux ajoutés, chacun formé de deux triangles.
+     *
+     * @return Le nombre de carreaux.
+     */
+    int getQuadCount() {
+        return quads;
+    }
+
+    /**
+     * Construit le maillage des rectangles ajoutés.
+     *
+     * @return Un nouveau maillage.
+     */
+    TriangleMesh build() {
+        TriangleMesh mesh = new TriangleMesh();
+        mesh.getPoints().setAll(points, 0, quads * 4 * 3);
+        mesh.getTexCoords().setAll(texCoords, 0, quads * 4 * 2);
+        mesh.getFaces().setAll(faces, 0, quads * 2 * 6);
+        return mesh;
+    }
+
+    private void addQuad(double x0, double z0, double x1, double z1, double y,
+                         TextureAtlas.Region region, double s, double t) {
+        if ((quads + 1) * 4 * 3 > points.length) {
+            points = Arrays.copyOf(points, points.length * 2);
+            texCoords = Arrays.copyOf(texCoords, texCoords.length * 2);
+            faces = Arrays.copyOf(faces, faces.length * 2);
+        }
+        int p = quads * 4 * 3;
+        int u = quads * 4 * 2;
+        int f = quads * 2 * 6;
+        int a = quads * 4;  // Les sommets et leurs coordonnées de texture partagent le même indice
+        int b = a + 1;
+        int c = a + 2;
+        int d = a + 3;
+
+        p = putPoint(p, x0, y, z0);
+        p = putPoint(p, x1, y, z0);
+        p = putPoint(p, x0, y, z1);
+        putPoint(p, x1, y, z1);
+        texCoords[u++] = region.getU(0);
+        texCoords[u++] = region.getV(0);
+        texCoords[u++] = region.getU(s);
+        texCoords[u++] = region.getV(0);
+        texCoords[u++] = region.getU(0);
+        texCoords[u++] = region.getV(t);
+        texCoords[u++] = region.getU(s);
+        texCoords[u] = region.getV(t);
+
+        // Tournés vers le haut (Y est dirigé vers le bas)
+        f = putFace(f, a, b, c);
+        putFace(f, b, d, c);
+        quads++;
+    }
+
+    private int putFace(int index, int v0, int v1, int v2) {
+        faces[index] = v0;
+        faces[index + 1] = v0;
+        faces[index + 2] = v1;
+        faces[index + 3] = v1;
+        faces[index + 4] = v2;
+        faces[index + 5] = v2;
+        return index + 6;
+    }
+
+    private int putPoint(int index, double x, double y, double z) {
+        points[index] = (float) x;
+        points[index + 1] = (float) y;
+        points[index + 2] = (float) z;
+        return index + 3;
+    }
+}